@@ -0,0 +1,150 @@
+package com.corpdk.graphql.demo.entity_first.benchmarks;
+
+import com.corpdk.graphql.demo.entity_first.EntityFirstApplication;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The application started once per fork against an in-memory H2 database, seeded with {@link #DEPARTMENTS}
+ * departments, {@link #EMPLOYEES} employees evenly spread over them and two projects per employee on average. The result and count caches and the
+ * query cost limits are off, so that every operation goes through the whole fetcher.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    static final int DEPARTMENTS = 20;
+
+    static final int EMPLOYEES = 2000;
+
+    /**
+     * The application on an empty in-memory database, with the SQL logging off and without the incremental delivery
+     * over HTTP, as there is no web server.
+     */
+    static final Map<String, String> IN_MEMORY = properties(
+            "spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "spring.jpa.hibernate.ddl-auto", "create",
+            "spring.jpa.properties.hibernate.show_sql", "false",
+            "spring.jpa.properties.hibernate.format_sql", "false",
+            "spring.graphql.schema.inspection.enabled", "false",
+            "logging.level.root", "WARN",
+            "application.graphql.incremental-delivery.enabled", "false");
+
+    private static final Map<String, String> UNCACHED = properties(
+            "application.graphql.result-cache.enabled", "false",
+            "application.graphql.count-cache.enabled", "false",
+            "application.graphql.query-cost.enabled", "false",
+            "application.graphql.change-feed.enabled", "false");
+
+    private static final List<String> SELECTION = List.of("id", "name", "department { id name }", "projects { id projectName }");
+
+    ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        Map<String, String> properties = new LinkedHashMap<>(IN_MEMORY);
+        properties.putAll(UNCACHED);
+        this.context = start(properties);
+        new DataSeeder(this.context.getBean(JdbcTemplate.class))
+                .seed(new DataSeeder.Cardinalities(DEPARTMENTS, EMPLOYEES, 2, 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        this.context.close();
+    }
+
+    /**
+     * Starts the application without a web server. The properties are passed as command line arguments, which take
+     * precedence over {@code application.yaml}, and the {@code --name=value} arguments given override them.
+     */
+    static ConfigurableApplicationContext start(Map<String, String> properties, String... args) {
+        Map<String, String> arguments = new LinkedHashMap<>(properties);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            Assert.isTrue(arg.startsWith("--") && separator > 2, () -> "Expected --name=value but got " + arg);
+            arguments.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        // devtools only reads this one from the system properties
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(EntityFirstApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static Map<String, String> properties(String... namesAndValues) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            properties.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * An {@code EmployeeFilter} of {@code depth} levels joined by {@code and}, each excluding a name, with an
+     * {@code id} list of {@code inSize} values and a nested department filter at the innermost level.
+     */
+    static String employeeFilter(int depth, int inSize) {
+        String ids = IntStream.rangeClosed(1, inSize).mapToObj(Integer::toString).collect(Collectors.joining(", "));
+        String filter = "{id: {in: [" + ids + "]}, department: {name: {sw: \"Department\"}}}";
+        for (int level = depth - 1; level > 0; level--) {
+            filter = "{name: {ne: \"Nobody " + level + "\"}, and: " + filter + "}";
+        }
+        return filter;
+    }
+
+    /**
+     * The first {@code width} of the scalar and relationship fields of {@code Employee}.
+     */
+    static String employeeSelection(int width) {
+        return String.join(" ", SELECTION.subList(0, Math.min(width, SELECTION.size())));
+    }
+
+    static String listEmployees(int depth, int inSize, int width) {
+        return "{ listEmployees(filter: " + employeeFilter(depth, inSize) + ", first: 50) { " + employeeSelection(width) + " } }";
+    }
+
+    /**
+     * Runs the query against the application schema with the fetcher of {@code Query.listEmployees} replaced, and
+     * returns the environment that fetcher was called with, its selection set already computed.
+     */
+    DataFetchingEnvironment listEmployeesEnvironment(String query) {
+        GraphQLSchema schema = this.context.getBean(GraphQlSource.class).schema();
+        AtomicReference<DataFetchingEnvironment> captured = new AtomicReference<>();
+        DataFetcher<?> capturing = environment -> {
+            environment.getSelectionSet().getFields();
+            captured.set(environment);
+            return List.of();
+        };
+        GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry().transform(builder ->
+                builder.dataFetcher(FieldCoordinates.coordinates("Query", "listEmployees"), capturing));
+        GraphQL.newGraphQL(schema.transform(builder -> builder.codeRegistry(codeRegistry))).build().execute(query);
+        Assert.state(captured.get() != null, "listEmployees was not fetched: " + query);
+        return captured.get();
+    }
+}
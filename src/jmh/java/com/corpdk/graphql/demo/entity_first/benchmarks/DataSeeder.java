@@ -0,0 +1,217 @@
+package com.corpdk.graphql.demo.entity_first.benchmarks;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the department, employee and project tables with synthetic rows, streamed in JDBC batches over one
+ * connection and committed per batch, so the row counts are only bounded by the database. The rows are skewed like
+ * real data: employees are spread over departments and drawn from {@link #NAMES} by a Zipf distribution with the
+ * given exponent, so department 1 and the first names are the most common, and the projects per employee follow a
+ * geometric distribution, most employees having few and some many. The same random seed gives the same rows.
+ * <p>
+ * The seeded rows are referenced by their identity values, which are expected to be contiguous, as they are for a
+ * single writer.
+ */
+public class DataSeeder {
+    private static final Log logger = LogFactory.getLog(DataSeeder.class);
+
+    static final List<String> NAMES = List.of("Alice", "Bob", "Carol", "Dave", "Erin", "Frank", "Grace", "Heidi",
+            "Ivan", "Judy", "Mallory", "Niaj", "Olivia", "Peggy", "Rupert", "Sybil", "Trent", "Uma", "Victor", "Walter",
+            "Xavier", "Yolanda", "Zoe", "Arthur", "Beatrice", "Cedric", "Delia", "Edgar", "Fiona", "Gustav", "Hilda",
+            "Igor");
+
+    private static final long PROGRESS_ROWS = 1_000_000;
+
+    /**
+     * @param departments         number of departments
+     * @param employees           number of employees
+     * @param projectsPerEmployee mean number of projects per employee
+     * @param skew                exponent of the Zipf distributions, 0 spreads employees evenly
+     */
+    public record Cardinalities(int departments, long employees, double projectsPerEmployee, double skew) {
+        public Cardinalities {
+            Assert.isTrue(departments > 0, "At least one department is required");
+            Assert.isTrue(employees >= 0, "The number of employees must not be negative");
+            Assert.isTrue(projectsPerEmployee >= 0, "The projects per employee must not be negative");
+            Assert.isTrue(skew >= 0, "The skew must not be negative");
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final long randomSeed;
+
+    public DataSeeder(@NotNull JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, 5000, 42);
+    }
+
+    public DataSeeder(@NotNull JdbcTemplate jdbcTemplate, int batchSize, long randomSeed) {
+        Assert.isTrue(batchSize > 0, "The batch size must be positive");
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.randomSeed = randomSeed;
+    }
+
+    public void seed(@NotNull Cardinalities cardinalities) {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(this.randomSeed);
+        Zipf departmentSizes = new Zipf(cardinalities.departments(), cardinalities.skew());
+        Zipf names = new Zipf(NAMES.size(), cardinalities.skew());
+        double projectsPerEmployee = cardinalities.projectsPerEmployee();
+        // P(k projects) = (1 - p)^k p has the mean (1 - p) / p
+        double logOneMinusP = Math.log(projectsPerEmployee / (1 + projectsPerEmployee));
+
+        long firstDepartment = nextId("department");
+        insert("department", "insert into department (name) values (?)", cardinalities.departments(),
+                (statement, row) -> statement.setString(1, "Department " + (row + 1)));
+        checkContiguous("department", firstDepartment, cardinalities.departments());
+        long firstEmployee = nextId("employee");
+        insert("employee", "insert into employee (name, department_id) values (?, ?)", cardinalities.employees(),
+                (statement, row) -> {
+                    statement.setString(1, NAMES.get(names.sample(random)) + " " + (row + 1));
+                    statement.setLong(2, firstDepartment + departmentSizes.sample(random));
+                });
+        checkContiguous("employee", firstEmployee, cardinalities.employees());
+        long projects = insertProjects(cardinalities.employees(), firstEmployee, random, logOneMinusP);
+
+        logger.info("Seeded " + cardinalities.departments() + " departments, " + cardinalities.employees()
+                + " employees and " + projects + " projects in " + (System.nanoTime() - started) / 1_000_000 + "ms");
+    }
+
+    private long insertProjects(long employees, long firstEmployee, SplittableRandom random, double logOneMinusP) {
+        return this.jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            long rows = 0;
+            try (Batch batch = new Batch(connection, "insert into project (project_name, employee_id) values (?, ?)")) {
+                for (long employee = 0; employee < employees; employee++) {
+                    long count = (logOneMinusP == Double.NEGATIVE_INFINITY) ? 0
+                            : (long) Math.floor(Math.log(1 - random.nextDouble()) / logOneMinusP);
+                    for (long i = 0; i < count; i++) {
+                        rows++;
+                        batch.statement.setString(1, "Project " + rows);
+                        batch.statement.setLong(2, firstEmployee + employee);
+                        batch.add(rows, "project");
+                    }
+                }
+            }
+            return rows;
+        });
+    }
+
+    private void insert(String table, String sql, long rows, RowSetter setter) {
+        this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Batch batch = new Batch(connection, sql)) {
+                for (long row = 0; row < rows; row++) {
+                    setter.set(batch.statement, row);
+                    batch.add(row + 1, table);
+                }
+            }
+            return null;
+        });
+    }
+
+    private long nextId(String table) {
+        Long max = this.jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return (max != null) ? max + 1 : 1;
+    }
+
+    private void checkContiguous(String table, long first, long rows) {
+        long last = nextId(table) - 1;
+        Assert.state(rows == 0 || last == first + rows - 1, () -> "The " + table + " ids seeded are not contiguous, "
+                + "expected " + first + " to " + (first + rows - 1) + " but the last is " + last);
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement statement, long row) throws SQLException;
+    }
+
+    /**
+     * A prepared statement executed and committed every {@link #batchSize} rows, and once more on close.
+     */
+    private class Batch implements AutoCloseable {
+
+        private final Connection connection;
+
+        private final boolean autoCommit;
+
+        private final PreparedStatement statement;
+
+        private int pending;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(long rows, String table) throws SQLException {
+            this.statement.addBatch();
+            if (++this.pending == DataSeeder.this.batchSize) {
+                flush();
+            }
+            if (rows % PROGRESS_ROWS == 0) {
+                logger.info("Seeded " + rows + " rows into " + table);
+            }
+        }
+
+        private void flush() throws SQLException {
+            this.statement.executeBatch();
+            this.connection.commit();
+            this.pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (this.pending > 0) {
+                    flush();
+                }
+            } finally {
+                this.statement.close();
+                this.connection.setAutoCommit(this.autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Ranks {@code 0..n-1} with probabilities proportional to {@code 1 / (rank + 1)^exponent}, sampled by a binary
+     * search of the cumulative probabilities.
+     */
+    static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            Assert.isTrue(n > 0, "At least one rank is required");
+            this.cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                this.cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                this.cumulative[rank] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+            return Math.min((index >= 0) ? index : -index - 1, this.cumulative.length - 1);
+        }
+    }
+}
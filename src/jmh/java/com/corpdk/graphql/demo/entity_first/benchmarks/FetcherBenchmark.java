@@ -0,0 +1,75 @@
+package com.corpdk.graphql.demo.entity_first.benchmarks;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import graphql.schema.DataFetchingEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The selection dependent part of a list query, resolving the property paths to fetch, and the whole
+ * {@code listEmployees} operation executed by the application against H2, from the query text to the result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FetcherBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int filterDepth;
+
+    @Param({"1", "10", "100"})
+    public int inSize;
+
+    @Param({"1", "2", "4"})
+    public int selectionWidth;
+
+    private final TypeInformation<Employee> domainType = TypeInformation.of(Employee.class);
+
+    private DataFetchingEnvironment environment;
+
+    private ExecutionGraphQlService graphQlService;
+
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        this.query = ApplicationState.listEmployees(this.filterDepth, this.inSize, this.selectionWidth);
+        this.environment = application.listEmployeesEnvironment(this.query);
+        this.graphQlService = application.context.getBean(ExecutionGraphQlService.class);
+        Assert.state(execute().getErrors().isEmpty(), () -> "Failed: " + execute().getErrors());
+    }
+
+    @Benchmark
+    public Collection<String> propertyPaths() {
+        return Helpers.buildPropertyPaths(this.environment.getSelectionSet(), this.domainType, Employee.class);
+    }
+
+    @Benchmark
+    public ExecutionGraphQlResponse execute() {
+        return this.graphQlService.execute(new DefaultExecutionGraphQlRequest(this.query, null, Map.of(), Map.of(),
+                "benchmark", null)).block();
+    }
+}
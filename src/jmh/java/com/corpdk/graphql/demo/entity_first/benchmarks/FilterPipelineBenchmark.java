@@ -0,0 +1,111 @@
+package com.corpdk.graphql.demo.entity_first.benchmarks;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications.SpecificationGenerator;
+import com.corpdk.graphql.demo.entity_first.filters.EmployeeFilter;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import graphql.schema.DataFetchingEnvironment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.graphql.data.GraphQlArgumentBinder;
+import org.springframework.validation.BindException;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stages turning the {@code filter} argument of a list query into a JPA query: binding it to
+ * {@link EmployeeFilter}, validating it, building the {@link Specification} and turning that into a Criteria query.
+ * Each stage starts from the output of the previous one, prepared once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterPipelineBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int filterDepth;
+
+    @Param({"1", "10", "100"})
+    public int inSize;
+
+    private final GraphQlArgumentBinder argumentBinder = new GraphQlArgumentBinder();
+
+    private final ResolvableType filterType = ResolvableType.forClass(EmployeeFilter.class);
+
+    private DataFetchingEnvironment environment;
+
+    private Validator validator;
+
+    private BaseFilter<?> filter;
+
+    private Specification<Employee> specification;
+
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) throws Exception {
+        this.environment = application.listEmployeesEnvironment(ApplicationState.listEmployees(this.filterDepth, this.inSize, 1));
+        this.validator = application.context.getBean(Validator.class);
+        this.filter = bind();
+        this.specification = specification();
+        this.entityManager = application.context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.entityManager.close();
+    }
+
+    @Benchmark
+    public BaseFilter<?> bind() throws BindException {
+        return (BaseFilter<?>) this.argumentBinder.bind(this.environment, "filter", this.filterType);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BaseFilter<?>>> validate() {
+        return this.validator.validate(this.filter);
+    }
+
+    @Benchmark
+    public Specification<Employee> specification() throws IllegalAccessException {
+        return SpecificationGenerator.buildSpecification(this.filter);
+    }
+
+    /**
+     * Applies the specification to a Criteria query and creates the JPA query from it, which is where Hibernate
+     * copies and interprets the Criteria tree. The SQL itself is generated on execution, see
+     * {@link FetcherBenchmark#execute()}.
+     */
+    @Benchmark
+    public Object criteria() {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.where(this.specification.toPredicate(root, query, criteriaBuilder));
+        return this.entityManager.createQuery(query);
+    }
+}
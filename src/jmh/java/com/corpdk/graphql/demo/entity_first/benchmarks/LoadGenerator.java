@@ -0,0 +1,226 @@
+package com.corpdk.graphql.demo.entity_first.benchmarks;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import org.springframework.util.Assert;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Sends a weighted mix of operations to the application in process, at a fixed arrival rate independent of how fast
+ * the operations complete, over a fixed number of client threads.
+ * <p>
+ * Each operation has an intended start time on the arrival schedule, and its response time is measured from there,
+ * so time spent waiting for a client thread behind slow operations counts. Measuring from the actual start instead,
+ * as a closed loop client does, leaves out exactly the delays a stall causes (coordinated omission); that service
+ * time is reported next to it for comparison.
+ */
+public class LoadGenerator {
+    private static final Log logger = LogFactory.getLog(LoadGenerator.class);
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    /**
+     * An operation of the mix, picked with a probability proportional to its weight, with its document generated
+     * from the generator's random source.
+     */
+    public record Operation(String name, int weight, Function<SplittableRandom, String> document) {
+        public Operation {
+            Assert.hasText(name, "The operation needs a name");
+            Assert.isTrue(weight > 0, "The weight of " + name + " must be positive");
+        }
+    }
+
+    private final ExecutionGraphQlService graphQlService;
+
+    private final List<Operation> operations;
+
+    private final int totalWeight;
+
+    private final double rate;
+
+    private final int concurrency;
+
+    private final SplittableRandom random;
+
+    public LoadGenerator(@NotNull ExecutionGraphQlService graphQlService, @NotNull List<Operation> operations,
+                         double rate, int concurrency, long randomSeed) {
+        Assert.notEmpty(operations, "At least one operation is required");
+        Assert.isTrue(rate > 0, "The arrival rate must be positive");
+        Assert.isTrue(concurrency > 0, "At least one client thread is required");
+        this.graphQlService = graphQlService;
+        this.operations = List.copyOf(operations);
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.random = new SplittableRandom(randomSeed);
+    }
+
+    /**
+     * Runs the mix for the warmup, discarding what was recorded, and then for the duration.
+     */
+    public Report run(@NotNull Duration warmup, @NotNull Duration duration) throws InterruptedException {
+        if (!warmup.isZero()) {
+            logger.info("Warming up for " + warmup);
+            run(warmup);
+        }
+        logger.info("Measuring " + this.rate + " operations/s for " + duration);
+        return run(duration);
+    }
+
+    private Report run(Duration duration) throws InterruptedException {
+        Report report = new Report(this.operations);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / this.rate);
+        long durationNanos = duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(this.concurrency);
+        long start = System.nanoTime();
+        try {
+            for (long sent = 0; sent * interval < durationNanos; sent++) {
+                long intended = start + sent * interval;
+                for (long now = System.nanoTime(); now < intended; now = System.nanoTime()) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                Operation operation = pick();
+                String document = operation.document().apply(this.random);
+                String id = Long.toString(sent);
+                clients.execute(() -> execute(report.results.get(operation.name()), id, document, intended));
+            }
+        } finally {
+            clients.shutdown();
+        }
+        if (!clients.awaitTermination(1, TimeUnit.MINUTES)) {
+            logger.warn("Operations still running a minute after the last was sent");
+            clients.shutdownNow();
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private Operation pick() {
+        int value = this.random.nextInt(this.totalWeight);
+        for (Operation operation : this.operations) {
+            value -= operation.weight();
+            if (value < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("No operation for the weight " + value);
+    }
+
+    private void execute(Result result, String id, String document, long intended) {
+        long started = System.nanoTime();
+        boolean failed;
+        try {
+            ExecutionGraphQlResponse response = this.graphQlService.execute(
+                    new DefaultExecutionGraphQlRequest(document, null, Map.of(), Map.of(), id, null)).block();
+            failed = (response == null) || !response.getErrors().isEmpty();
+            if (failed && result.errors.sum() == 0) {
+                logger.warn("First failed " + result.name + ": " + document + " "
+                        + ((response != null) ? response.getErrors() : "no response"));
+            }
+        } catch (RuntimeException ex) {
+            failed = true;
+            logger.warn("Failed " + result.name + ": " + ex.getMessage());
+        }
+        long completed = System.nanoTime();
+        result.responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - intended));
+        result.serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - started));
+        if (failed) {
+            result.errors.increment();
+        }
+    }
+
+    /**
+     * Latencies in microseconds, recorded concurrently by the client threads.
+     */
+    static final class Result {
+
+        private final String name;
+
+        private final Histogram responseTime = new ConcurrentHistogram(3);
+
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+
+        private final LongAdder errors = new LongAdder();
+
+        Result(String name) {
+            this.name = name;
+        }
+
+        void add(Result other) {
+            this.responseTime.add(other.responseTime);
+            this.serviceTime.add(other.serviceTime);
+            this.errors.add(other.errors.sum());
+        }
+    }
+
+    /**
+     * The latency percentiles per operation and over all of them.
+     */
+    public static final class Report {
+
+        private final Map<String, Result> results = new LinkedHashMap<>();
+
+        private long elapsedNanos;
+
+        Report(List<Operation> operations) {
+            operations.forEach(operation -> this.results.put(operation.name(), new Result(operation.name())));
+        }
+
+        public void print(@NotNull PrintStream out) {
+            Result total = new Result("total");
+            this.results.values().forEach(total::add);
+            double seconds = this.elapsedNanos / 1e9;
+            out.printf("%d operations in %.1fs, %.1f operations/s, %d errors%n", total.responseTime.getTotalCount(),
+                    seconds, total.responseTime.getTotalCount() / seconds, total.errors.sum());
+            out.printf("%-16s %-9s %8s", "operation", "latency", "count");
+            for (double percentile : PERCENTILES) {
+                out.printf(" %10s", "p" + percentile);
+            }
+            out.printf(" %10s%n", "max (ms)");
+            for (Result result : this.results.values()) {
+                print(out, result);
+            }
+            print(out, total);
+        }
+
+        /**
+         * The full response time distribution of all operations, in the HdrHistogram percentile format.
+         */
+        public void printDistribution(@NotNull PrintStream out) {
+            Result total = new Result("total");
+            this.results.values().forEach(total::add);
+            total.responseTime.outputPercentileDistribution(out, 1000.0);
+        }
+
+        private static void print(PrintStream out, Result result) {
+            print(out, result.name, "response", result.responseTime);
+            print(out, "", "service", result.serviceTime);
+        }
+
+        private static void print(PrintStream out, String name, String latency, Histogram histogram) {
+            out.printf("%-16s %-9s %8d", name, latency, histogram.getTotalCount());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %10.3f", histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            out.printf(" %10.3f%n", histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.corpdk.graphql.demo.entity_first.benchmarks;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Starts the application, seeds it with {@link DataSeeder} and drives it with {@link LoadGenerator}, printing the
+ * latency percentiles. Everything is configured by {@code --name=value} arguments, which also override the
+ * application properties, by default an empty in-memory database with the caches on as configured:
+ * <pre>
+ * load.seed.enabled=true                 seed before the load, false to run against the data of the datasource
+ * load.seed.departments=100
+ * load.seed.employees=100000
+ * load.seed.projects-per-employee=2
+ * load.seed.skew=1                       Zipf exponent of the department sizes and names, 0 for even
+ * load.seed.batch-size=5000
+ * load.mix=employees:2,listEmployees:5,countEmployees:3
+ * load.rate=200                          operations started per second
+ * load.concurrency=16                    client threads
+ * load.warmup=10s
+ * load.duration=30s
+ * load.histogram=false                   also print the full response time distribution
+ * </pre>
+ * E.g. {@code mvn -Pjmh test-compile exec:exec -Djmh.main=com.corpdk.graphql.demo.entity_first.benchmarks.LoadTest
+ * -Djmh.args="--load.seed.employees=10000000 --spring.datasource.url=jdbc:h2:file:./loaddb"}, the heap of an
+ * in-memory database limits it to a few million rows.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = ApplicationState.start(ApplicationState.IN_MEMORY, args)) {
+            Environment environment = context.getEnvironment();
+            DataSeeder.Cardinalities cardinalities = new DataSeeder.Cardinalities(
+                    environment.getProperty("load.seed.departments", Integer.class, 100),
+                    environment.getProperty("load.seed.employees", Long.class, 100_000L),
+                    environment.getProperty("load.seed.projects-per-employee", Double.class, 2.0),
+                    environment.getProperty("load.seed.skew", Double.class, 1.0));
+            long randomSeed = environment.getProperty("load.random-seed", Long.class, 42L);
+            if (environment.getProperty("load.seed.enabled", Boolean.class, true)) {
+                new DataSeeder(context.getBean(JdbcTemplate.class),
+                        environment.getProperty("load.seed.batch-size", Integer.class, 5000), randomSeed)
+                        .seed(cardinalities);
+            }
+
+            LoadGenerator loadGenerator = new LoadGenerator(context.getBean(ExecutionGraphQlService.class),
+                    mix(environment.getProperty("load.mix", "employees:2,listEmployees:5,countEmployees:3"),
+                            cardinalities),
+                    environment.getProperty("load.rate", Double.class, 200.0),
+                    environment.getProperty("load.concurrency", Integer.class, 16), randomSeed);
+            LoadGenerator.Report report = loadGenerator.run(duration(environment, "load.warmup", "10s"),
+                    duration(environment, "load.duration", "30s"));
+            report.print(System.out);
+            if (environment.getProperty("load.histogram", Boolean.class, false)) {
+                report.printDistribution(System.out);
+            }
+        }
+    }
+
+    private static Duration duration(Environment environment, String name, String defaultValue) {
+        return ApplicationConversionService.getSharedInstance()
+                .convert(environment.getProperty(name, defaultValue), Duration.class);
+    }
+
+    /**
+     * The operations of {@code name:weight} pairs, with filters over the seeded data.
+     */
+    static List<LoadGenerator.Operation> mix(String mix, DataSeeder.Cardinalities cardinalities) {
+        Map<String, Function<SplittableRandom, String>> documents = documents(cardinalities);
+        List<LoadGenerator.Operation> operations = new ArrayList<>();
+        for (String entry : StringUtils.commaDelimitedListToStringArray(mix)) {
+            String[] nameAndWeight = entry.trim().split(":");
+            Assert.isTrue(nameAndWeight.length == 2, () -> "Expected name:weight but got " + entry);
+            Function<SplittableRandom, String> document = documents.get(nameAndWeight[0]);
+            Assert.notNull(document, () -> "Unknown operation " + nameAndWeight[0] + ", expected one of "
+                    + documents.keySet());
+            operations.add(new LoadGenerator.Operation(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]), document));
+        }
+        return operations;
+    }
+
+    private static Map<String, Function<SplittableRandom, String>> documents(DataSeeder.Cardinalities cardinalities) {
+        Function<SplittableRandom, String> filter = filters(cardinalities);
+        return Map.of(
+                "employees", random -> "{ employees(filter: " + filter.apply(random) + ", first: 20) "
+                        + "{ edges { node { id name department { id name } } } pageInfo { endCursor hasNextPage } totalCount } }",
+                "listEmployees", random -> "{ listEmployees(filter: " + filter.apply(random) + ", first: 50) "
+                        + "{ id name department { id name } projects { id projectName } } }",
+                "countEmployees", random -> "{ countEmployees(filter: " + filter.apply(random) + ") }");
+    }
+
+    /**
+     * Employee filters of varying selectivity: by a name prefix, by a department picked with the same skew as the
+     * employees, so the large departments are queried most, by a list of ids, and a department combined with a name.
+     */
+    private static Function<SplittableRandom, String> filters(DataSeeder.Cardinalities cardinalities) {
+        DataSeeder.Zipf departments = new DataSeeder.Zipf(cardinalities.departments(), cardinalities.skew());
+        long employees = Math.max(cardinalities.employees(), 1);
+        return random -> {
+            String name = "{name: {sw: \"" + DataSeeder.NAMES.get(random.nextInt(DataSeeder.NAMES.size())) + "\"}}";
+            String department = "{department: {id: {eq: " + (departments.sample(random) + 1) + "}}}";
+            return switch (random.nextInt(4)) {
+                case 0 -> name;
+                case 1 -> department;
+                case 2 -> "{id: {in: [" + LongStream.range(0, 1 + random.nextInt(10))
+                        .mapToObj(i -> Long.toString(1 + random.nextLong(employees)))
+                        .collect(Collectors.joining(", ")) + "]}}";
+                default -> "{and: " + department + ", " + name.substring(1);
+            };
+        };
+    }
+}
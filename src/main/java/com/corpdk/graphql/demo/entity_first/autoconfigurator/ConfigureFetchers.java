@@ -1,6 +1,5 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator;
 
-import graphql.language.FieldDefinition;
 import graphql.schema.*;
 import graphql.schema.idl.FieldWiringEnvironment;
 import graphql.schema.idl.RuntimeWiring;
@@ -9,14 +8,15 @@ import graphql.schema.idl.WiringFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 import org.springframework.lang.Nullable;
-import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Configuration
 public class ConfigureFetchers implements RuntimeWiringConfigurer {
@@ -24,9 +24,35 @@ public class ConfigureFetchers implements RuntimeWiringConfigurer {
 
     private final Map<String, DataFetcherFactory> dataFetcherFactories;
 
+    private final Map<FieldCoordinates, DataFetcher<?>> fieldFetchers;
+
+    private final Map<String, QueryField> queryFields;
+
+    @Autowired
     public ConfigureFetchers(@NotNull Map<String, DataFetcherFactory> factories) {
+        this(factories, Map.of());
+    }
+
+    /**
+     * @param fieldFetchers fetchers for the fields of non-Query types, e.g. batched entity relationships
+     */
+    public ConfigureFetchers(@NotNull Map<String, DataFetcherFactory> factories,
+                             @NotNull Map<FieldCoordinates, DataFetcher<?>> fieldFetchers) {
+        this(factories, fieldFetchers, Map.of());
+    }
+
+    /**
+     * @param fieldFetchers fetchers for the fields of non-Query types, e.g. batched entity relationships
+     * @param queryFields   the generated Query fields, wired by lookup; other Query fields are wired when they
+     *                      return an entity type or a list of one
+     */
+    public ConfigureFetchers(@NotNull Map<String, DataFetcherFactory> factories,
+                             @NotNull Map<FieldCoordinates, DataFetcher<?>> fieldFetchers,
+                             @NotNull Map<String, QueryField> queryFields) {
         logger.info("My Fetcher Configuration: " + factories.keySet().size());
         this.dataFetcherFactories = factories;
+        this.fieldFetchers = fieldFetchers;
+        this.queryFields = queryFields;
     }
 
     @Override
@@ -41,7 +67,7 @@ public class ConfigureFetchers implements RuntimeWiringConfigurer {
 
     @Override
     public void configure(@NotNull RuntimeWiring.Builder builder, @NotNull List<WiringFactory> container) {
-        container.add(new AutoRegistrationWiringFactory(builder));
+        container.add(new AutoRegistrationWiringFactory());
     }
 
     @SuppressWarnings({"rawtypes"})
@@ -55,88 +81,80 @@ public class ConfigureFetchers implements RuntimeWiringConfigurer {
         DataFetcher count();
     }
 
-    private class AutoRegistrationWiringFactory implements WiringFactory {
-
-        private final RuntimeWiring.Builder builder;
-
-        @Nullable
-        private Predicate<String> existingQueryDataFetcherPredicate;
+    public enum FetcherKind {
+        SINGLE, MANY, SCROLLABLE, COUNT;
 
-        AutoRegistrationWiringFactory(RuntimeWiring.Builder builder) {
-            this.builder = builder;
+        DataFetcher<?> create(DataFetcherFactory factory) {
+            return switch (this) {
+                case SINGLE -> factory.single();
+                case MANY -> factory.many();
+                case SCROLLABLE -> factory.scrollable();
+                case COUNT -> factory.count();
+            };
         }
+    }
 
-        @Override
-        public boolean providesDataFetcher(FieldWiringEnvironment environment) {
-            if (ConfigureFetchers.this.dataFetcherFactories.isEmpty()) {
-                return false;
-            }
-
-            if (!environment.getParentType().getName().equals("Query")) {
-                return false;
-            }
+    /**
+     * @param typeName the GraphQL type of the entity, the key of its {@link DataFetcherFactory}
+     */
+    public record QueryField(String typeName, FetcherKind kind) {
+    }
 
-            String outputTypeName = getOutputTypeName(environment);
-            logger.debug("Output Type: " + outputTypeName);
+    /**
+     * Supplies the auto-registered fetchers as the default fetchers of their fields, which graphql-java only asks for
+     * once the runtime wiring has no fetcher of its own for a field, so explicit mappings, e.g. {@code @SchemaMapping}
+     * or {@code @BatchMapping}, take precedence.
+     */
+    private class AutoRegistrationWiringFactory implements WiringFactory {
 
-            boolean result = (outputTypeName != null &&
-                    ConfigureFetchers.this.dataFetcherFactories.containsKey(outputTypeName) &&
-                    !hasDataFetcherFor(environment.getFieldDefinition()));
+        private final Map<FieldCoordinates, Optional<DataFetcher<?>>> dataFetchers = new ConcurrentHashMap<>();
 
-            if (!result) {
-                // This may be called multiples times on success, so log only rejections from here
-                logTraceMessage(environment, outputTypeName, false);
-            }
-
-            return result;
+        @Override
+        public DataFetcher<?> getDefaultDataFetcher(FieldWiringEnvironment environment) {
+            FieldCoordinates coordinates = FieldCoordinates.coordinates(
+                    environment.getParentType().getName(), environment.getFieldDefinition().getName());
+            // Combined wiring factories ask twice, for the check and for the fetcher, so create each one once
+            return this.dataFetchers.computeIfAbsent(coordinates, key -> Optional.ofNullable(createDataFetcher(environment)))
+                    .orElse(null);
         }
 
         @Nullable
-        private String getOutputTypeName(@NotNull FieldWiringEnvironment environment) {
-            GraphQLType outputType = removeNonNullWrapper(environment.getFieldType());
-
-            if (isConnectionType(outputType)) {
-                String name = ((GraphQLObjectType) outputType).getName();
-                return name.substring(0, name.length() - 10);
+        private DataFetcher<?> createDataFetcher(FieldWiringEnvironment environment) {
+            String typeName = environment.getParentType().getName();
+            String fieldName = environment.getFieldDefinition().getName();
+            if (!typeName.equals("Query")) {
+                return ConfigureFetchers.this.fieldFetchers.get(FieldCoordinates.coordinates(typeName, fieldName));
             }
 
-            if (outputType instanceof GraphQLList graphQLList) {
-                outputType = removeNonNullWrapper((graphQLList).getWrappedType());
+            QueryField queryField = ConfigureFetchers.this.queryFields.get(fieldName);
+            if (queryField == null) {
+                queryField = getEntityField(environment);
             }
+            DataFetcherFactory factory = (queryField != null) ?
+                    ConfigureFetchers.this.dataFetcherFactories.get(queryField.typeName()) : null;
+            logTraceMessage(environment, (queryField != null) ? queryField.typeName() : null, factory != null);
+            return (factory != null) ? queryField.kind().create(factory) : null;
+        }
 
-            if (outputType instanceof GraphQLNamedOutputType namedType) {
-                String outputTypeName = namedType.getName();
-                String fieldName = environment.getFieldDefinition().getName();
-                if (outputTypeName.equals("Int") && fieldName.startsWith("count")) {
-                    String parentTypeName = fieldName.substring(5, fieldName.length() - 1);
-                    logger.debug("Is Count Field of: " + parentTypeName);
-                    return parentTypeName;
-                } else {
-                    return outputTypeName;
-                }
+        /**
+         * Query fields that were not generated, e.g. {@code employee(id: ID): Employee} of the schema files, are wired
+         * when they return an entity type or a list of one.
+         */
+        @Nullable
+        private QueryField getEntityField(FieldWiringEnvironment environment) {
+            GraphQLType outputType = removeNonNullWrapper(environment.getFieldType());
+            FetcherKind kind = FetcherKind.SINGLE;
+            if (outputType instanceof GraphQLList list) {
+                outputType = removeNonNullWrapper(list.getWrappedType());
+                kind = FetcherKind.MANY;
             }
-
-            return null;
+            return (outputType instanceof GraphQLObjectType objectType) ? new QueryField(objectType.getName(), kind) : null;
         }
 
         private GraphQLType removeNonNullWrapper(GraphQLType outputType) {
             return (outputType instanceof GraphQLNonNull wrapper) ? wrapper.getWrappedType() : outputType;
         }
 
-        private boolean isConnectionType(GraphQLType type) {
-            return (type instanceof GraphQLObjectType objectType &&
-                    objectType.getName().endsWith("Connection") &&
-                    objectType.getField("edges") != null && objectType.getField("pageInfo") != null);
-        }
-
-        private boolean hasDataFetcherFor(FieldDefinition fieldDefinition) {
-            if (this.existingQueryDataFetcherPredicate == null) {
-                Map<String, ?> map = this.builder.build().getDataFetchersForType("Query");
-                this.existingQueryDataFetcherPredicate = fieldName -> map.get(fieldName) != null;
-            }
-            return this.existingQueryDataFetcherPredicate.test(fieldDefinition.getName());
-        }
-
         private void logTraceMessage(FieldWiringEnvironment environment, @Nullable String typeName, boolean match) {
             if (logger.isTraceEnabled()) {
                 String query = environment.getFieldDefinition().getName();
@@ -145,29 +163,5 @@ public class ConfigureFetchers implements RuntimeWiringConfigurer {
                         " for query '" + query + "'");
             }
         }
-
-        @Override
-        public DataFetcher<?> getDataFetcher(FieldWiringEnvironment environment) {
-            String outputTypeName = getOutputTypeName(environment);
-
-            DataFetcherFactory factory = ConfigureFetchers.this.dataFetcherFactories.get(outputTypeName);
-            Assert.notNull(factory, "Expected DataFetcher factory for typeName '" + outputTypeName + "'");
-            logger.debug("Query Name: " + environment.getFieldDefinition().getName());
-
-            GraphQLType type = removeNonNullWrapper(environment.getFieldType());
-            if (isConnectionType(type)) {
-                logTraceMessage(environment, outputTypeName, true);
-                return factory.scrollable();
-            } else if (environment.getFieldDefinition().getName().startsWith("count")) {
-                logTraceMessage(environment, "Int", true);
-                return factory.count();
-            } else if (type instanceof GraphQLList) {
-                logTraceMessage(environment, outputTypeName, true);
-                return factory.many();
-            } else {
-                logTraceMessage(environment, outputTypeName, true);
-                return factory.single();
-            }
-        }
     }
 }
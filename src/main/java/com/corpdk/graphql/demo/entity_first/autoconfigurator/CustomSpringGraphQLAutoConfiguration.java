@@ -1,53 +1,104 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator;
 
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.aot.EntityFirstRuntimeHints;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.ConnectionTotalCountConfigurer;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.DeferDirectiveConfigurer;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GeneratedSchemaConfigurer;
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GraphQLEntityTypesConfigurer;
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GraphQLFilterTypesConfigurer;
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GraphQLOperationsConfigurer;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GraphQLSubscriptionsConfigurer;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.SchemaSnapshotConfigurer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.introspection.Introspection;
+import jakarta.persistence.EntityManagerFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.graphql.GraphQlProperties;
 import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.log.LogMessage;
 import org.springframework.graphql.execution.*;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.webmvc.GraphQlSseHandler;
+import org.springframework.util.StopWatch;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Configuration
+@ImportRuntimeHints(EntityFirstRuntimeHints.class)
 public class CustomSpringGraphQLAutoConfiguration {
     private static final Log logger = LogFactory.getLog(CustomSpringGraphQLAutoConfiguration.class);
 
     @Value("${application.entity.package:}")
     private String entityBasePackage;
 
+    @Value("${application.graphql.incremental-delivery.enabled:false}")
+    private boolean incrementalDelivery;
+
+    @Value("${application.graphql.incremental-delivery.batch-window:5ms}")
+    private Duration deferredBatchWindow;
+
+    @Value("${application.graphql.change-feed.enabled:false}")
+    private boolean changeFeed;
+
+    @Value("${application.graphql.generated-schema.enabled:false}")
+    private boolean generatedSchema;
+
+    @Value("${application.graphql.schema-snapshot.enabled:false}")
+    private boolean schemaSnapshot;
+
+    @Value("${application.graphql.schema-snapshot.directory:${user.home}/.entity-first/schema-snapshots}")
+    private String schemaSnapshotDirectory;
+
     public CustomSpringGraphQLAutoConfiguration() {
         logger.info("Using CustomSpringGraphQLAutoConfiguration");
     }
 
     @Bean
-    public GraphQlSource graphQlSource(ResourcePatternResolver resourcePatternResolver, GraphQlProperties properties,
+    public EntityMetamodel entityMetamodel(EntityManagerFactory entityManagerFactory) {
+        return EntityMetamodel.of(entityManagerFactory.getMetamodel(), entityBasePackage);
+    }
+
+    @Bean
+    public GraphQlSource graphQlSource(ResourcePatternResolver resourcePatternResolver, GraphQlProperties properties, EntityMetamodel entityMetamodel,
                                        ObjectProvider<DataFetcherExceptionResolver> exceptionResolvers,
                                        ObjectProvider<SubscriptionExceptionResolver> subscriptionExceptionResolvers,
                                        ObjectProvider<Instrumentation> instrumentations, ObjectProvider<RuntimeWiringConfigurer> wiringConfigurers,
-                                       ObjectProvider<GraphQlSourceBuilderCustomizer> sourceCustomizers) {
+                                       ObjectProvider<GraphQlSourceBuilderCustomizer> sourceCustomizers,
+                                       ObjectProvider<PreparsedDocumentProvider> preparsedDocumentProvider) {
         logger.info("My GraphQL Source Bean");
         String[] schemaLocations = properties.getSchema().getLocations();
         Resource[] schemaResources = resolveSchemaResources(resourcePatternResolver, schemaLocations,
                 properties.getSchema().getFileExtensions());
+        List<DataFetcherExceptionResolver> exceptionResolverList = exceptionResolvers.orderedStream().toList();
         GraphQlSource.SchemaResourceBuilder builder = (new GraphQLSourceBuilder())
+                .preparsedDocumentProvider(preparsedDocumentProvider.getIfAvailable())
                 .schemaResources(schemaResources)
-                .exceptionResolvers(exceptionResolvers.orderedStream().toList())
+                .exceptionResolvers(exceptionResolverList)
                 .subscriptionExceptionResolvers(subscriptionExceptionResolvers.orderedStream().toList())
                 .instrumentation(instrumentations.orderedStream().toList());
         if (properties.getSchema().getInspection().isEnabled()) {
@@ -56,13 +107,117 @@ public class CustomSpringGraphQLAutoConfiguration {
         if (!properties.getSchema().getIntrospection().isEnabled()) {
             Introspection.enabledJvmWide(false);
         }
-        builder.configureTypeDefinitions(new GraphQLEntityTypesConfigurer(entityBasePackage));
-        builder.configureTypeDefinitions(new GraphQLFilterTypesConfigurer(entityBasePackage));
-        builder.configureTypeDefinitions(new GraphQLOperationsConfigurer(entityBasePackage));
-        builder.configureTypeDefinitions(new ConnectionTypeDefinitionConfigurer());
+        StopWatch stopWatch = new StopWatch("GraphQL schema");
+        Resource generated = resourcePatternResolver.getResource(GeneratedSchemaConfigurer.LOCATION);
+        if (generatedSchema && generated.exists()) {
+            if (schemaSnapshot) {
+                logger.info("Schema snapshots unused, the schema generated at compile time is loaded");
+            }
+            builder.configureTypeDefinitions(timed(stopWatch, "generated schema", new GeneratedSchemaConfigurer(generated)));
+        } else {
+            if (generatedSchema) {
+                logger.warn("No generated schema at " + GeneratedSchemaConfigurer.LOCATION + ", generating it from the entities");
+            }
+            List<TypeDefinitionConfigurer> entityConfigurers = List.of(new GraphQLEntityTypesConfigurer(entityMetamodel),
+                    new GraphQLFilterTypesConfigurer(entityMetamodel), new GraphQLOperationsConfigurer(entityMetamodel));
+            if (schemaSnapshot) {
+                builder.configureTypeDefinitions(timed(stopWatch, "schema snapshot",
+                        new SchemaSnapshotConfigurer(entityMetamodel, Path.of(schemaSnapshotDirectory), entityConfigurers)));
+            } else {
+                builder.configureTypeDefinitions(timed(stopWatch, "entity types", entityConfigurers.get(0)));
+                builder.configureTypeDefinitions(timed(stopWatch, "filter types", entityConfigurers.get(1)));
+                builder.configureTypeDefinitions(timed(stopWatch, "operations", entityConfigurers.get(2)));
+            }
+        }
+        if (changeFeed) {
+            builder.configureTypeDefinitions(timed(stopWatch, "subscriptions", new GraphQLSubscriptionsConfigurer(entityMetamodel)));
+        }
+        builder.configureTypeDefinitions(timed(stopWatch, "connections", new ConnectionTypeDefinitionConfigurer()));
+        builder.configureTypeDefinitions(new ConnectionTotalCountConfigurer());
+        if (incrementalDelivery) {
+            builder.configureTypeDefinitions(new DeferDirectiveConfigurer());
+            builder.configureGraphQl(graphQl -> graphQl.queryExecutionStrategy(new DeferredExecutionStrategy(
+                    DataFetcherExceptionResolver.createExceptionHandler(exceptionResolverList), deferredBatchWindow)));
+        }
         wiringConfigurers.orderedStream().forEach(builder::configureRuntimeWiring);
         sourceCustomizers.orderedStream().forEach(customizer -> customizer.customize(builder));
-        return builder.build();
+        long start = System.nanoTime();
+        GraphQlSource graphQlSource = builder.build();
+        logger.info("GraphQL schema built in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, of which " +
+                Arrays.stream(stopWatch.getTaskInfo())
+                        .map(task -> task.getTaskName() + " " + task.getTimeMillis() + " ms")
+                        .collect(Collectors.joining(", ")));
+        return graphQlSource;
+    }
+
+    /**
+     * Records the time spent in the configurer as a task of the given stop watch.
+     */
+    private static TypeDefinitionConfigurer timed(StopWatch stopWatch, String taskName, TypeDefinitionConfigurer configurer) {
+        return registry -> {
+            stopWatch.start(taskName);
+            try {
+                configurer.configure(registry);
+            } finally {
+                stopWatch.stop();
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.document-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PersistedDocumentCache persistedDocumentCache(@Value("${application.graphql.document-cache.max-size:512}") long maxSize,
+                                                         @Value("${application.graphql.document-cache.persisted-queries:true}") boolean persistedQueries) {
+        logger.info("Document cache enabled with max size " + maxSize + (persistedQueries ? ", automatic persisted queries" : ""));
+        return new PersistedDocumentCache(maxSize, persistedQueries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.query-cost", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public QueryCostInstrumentation queryCostInstrumentation(@Value("${application.graphql.query-cost.max-cost:10000}") long maxCost,
+                                                             @Value("${application.graphql.query-cost.max-depth:12}") int maxDepth,
+                                                             @Value("${application.graphql.query-cost.max-breadth:50}") int maxBreadth,
+                                                             @Value("${application.graphql.query-cost.max-hops:4}") int maxHops,
+                                                             @Value("${application.graphql.query-cost.enforce:false}") boolean enforce,
+                                                             @Value("${application.graphql.pagination.default-count:20}") int pageSize,
+                                                             @Value("${application.graphql.query-cost.list-size:100}") int listSize,
+                                                             @Value("${application.graphql.query-cost.relationship-fanout:10}") int relationshipFanout) {
+        QueryCostInstrumentation.Limits limits = new QueryCostInstrumentation.Limits(maxCost, maxDepth, maxBreadth, maxHops);
+        logger.info("Query cost limits " + (enforce ? "enforced" : "reported") + ": " + limits);
+        return new QueryCostInstrumentation(limits, new QueryCostInstrumentation.Estimates(pageSize, listSize, relationshipFanout), enforce);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.incremental-delivery", name = "enabled", havingValue = "true")
+    public WebGraphQlInterceptor incrementalDeliveryInterceptor() {
+        return IncrementalDeliveryHttpHandler.enableIncrementalSupport();
+    }
+
+    /**
+     * Routes requests accepting {@code multipart/mixed} ahead of the default GraphQL route.
+     */
+    @Bean
+    @Order(-1)
+    @ConditionalOnProperty(prefix = "application.graphql.incremental-delivery", name = "enabled", havingValue = "true")
+    public RouterFunction<ServerResponse> incrementalDeliveryRouterFunction(GraphQlProperties properties, WebGraphQlHandler webGraphQlHandler,
+                                                                            ObjectMapper objectMapper) {
+        logger.info("Incremental delivery of @defer fragments over multipart/mixed at " + properties.getPath());
+        IncrementalDeliveryHttpHandler handler = new IncrementalDeliveryHttpHandler(webGraphQlHandler, objectMapper);
+        return RouterFunctions.route()
+                .POST(properties.getPath(), RequestPredicates.accept(IncrementalDeliveryHttpHandler.MULTIPART_MIXED), handler::handleRequest)
+                .build();
+    }
+
+    /**
+     * Replaces the default server-sent events handler, so that only subscription streams outlive the MVC async
+     * request timeout.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.change-feed", name = "enabled", havingValue = "true")
+    public GraphQlSseHandler graphQlSseHandler(WebGraphQlHandler webGraphQlHandler,
+                                               @Value("${application.graphql.change-feed.sse-timeout:0s}") Duration sseTimeout) {
+        logger.info("Subscriptions over server-sent events with " + (sseTimeout.isPositive() ? "a timeout of " + sseTimeout : "no timeout"));
+        return new SubscriptionSseHandler(webGraphQlHandler, sseTimeout);
     }
 
     private Resource[] resolveSchemaResources(ResourcePatternResolver resolver, String[] locations,
@@ -88,6 +243,4 @@ public class CustomSpringGraphQLAutoConfiguration {
     // TODO: 1) Generate GraphQL Query For All the GraphQL Types Generated in Step 2
     // <Lowercase<Entity>>(id: ID, unique: <Entity>UniqueInput): <Entity>
     // TODO: 2) Auto Generate Entities using Hibernate Tools using CLI Script
-    // TODO: 3) Auto Generate Repository @ Compile Time based on Entity Generated by TODO: 2
-    // TODO: 4) Auto Generate Filter Models @ Compile Time based on Entity Generated by TODO: 2
 }
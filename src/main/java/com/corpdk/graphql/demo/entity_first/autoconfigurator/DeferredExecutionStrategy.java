@@ -0,0 +1,202 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import graphql.ExperimentalApi;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.DataFetcherExceptionHandler;
+import graphql.execution.DataLoaderDispatchStrategy;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.execution.FieldValueInfo;
+import graphql.execution.MergedField;
+import graphql.execution.MergedSelectionSet;
+import graphql.execution.incremental.DeferredCallContext;
+import graphql.execution.instrumentation.dataloader.EmptyDataLoaderRegistryInstance;
+import graphql.ExecutionResult;
+import graphql.schema.DataFetcher;
+import org.dataloader.DataLoaderRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes queries with {@code @defer} fragments without giving up DataLoader batching. graphql-java's per level
+ * dispatch rejects deferred fields, so the non-deferred part of the result is still dispatched per level, with the
+ * deferred fields left out of the expected calls, while the loads of deferred fragments are dispatched together
+ * once no further load was queued within the batch window. Fragments deferred at the same level are started one
+ * after the other, so their loads end up in the same batch, e.g. one query for the departments of all employees.
+ */
+public class DeferredExecutionStrategy extends AsyncExecutionStrategy {
+
+    private final Executor dispatchExecutor;
+
+    private final long batchWindow;
+
+    public DeferredExecutionStrategy(@NotNull DataFetcherExceptionHandler exceptionHandler) {
+        this(exceptionHandler, Duration.ofMillis(5));
+    }
+
+    /**
+     * @param batchWindow how long loads of deferred fragments are collected before they are dispatched
+     */
+    public DeferredExecutionStrategy(@NotNull DataFetcherExceptionHandler exceptionHandler, @NotNull Duration batchWindow) {
+        super(exceptionHandler);
+        Assert.isTrue(batchWindow.isPositive(), "batchWindow must be positive");
+        this.batchWindow = batchWindow.toNanos();
+        this.dispatchExecutor = CompletableFuture.delayedExecutor(this.batchWindow, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        DataLoaderRegistry registry = executionContext.getDataLoaderRegistry();
+        if (executionContext.getGraphQLContext().getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT) &&
+                registry != EmptyDataLoaderRegistryInstance.EMPTY_DATALOADER_REGISTRY &&
+                !(executionContext.getDataLoaderDispatcherStrategy() instanceof DeferAwareDispatchStrategy)) {
+            executionContext.setDataLoaderDispatcherStrategy(new DeferAwareDispatchStrategy(
+                    executionContext.getDataLoaderDispatcherStrategy(), registry, parameters.getDeferredCallContext(),
+                    this.dispatchExecutor, this.batchWindow));
+        }
+        return super.execute(executionContext, parameters);
+    }
+
+    /**
+     * Passes the calls of the initial result on to the per level strategy and dispatches the loads of deferred
+     * fragments, which run with a call context of their own, in batch windows.
+     */
+    private static final class DeferAwareDispatchStrategy implements DataLoaderDispatchStrategy {
+
+        private final DataLoaderDispatchStrategy delegate;
+
+        private final DataLoaderRegistry registry;
+
+        private final DeferredCallContext initialCall;
+
+        private final Executor dispatchExecutor;
+
+        private final long batchWindow;
+
+        private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+        private volatile long lastLoad;
+
+        DeferAwareDispatchStrategy(DataLoaderDispatchStrategy delegate, DataLoaderRegistry registry,
+                                   DeferredCallContext initialCall, Executor dispatchExecutor, long batchWindow) {
+            this.delegate = delegate;
+            this.registry = registry;
+            this.initialCall = initialCall;
+            this.dispatchExecutor = dispatchExecutor;
+            this.batchWindow = batchWindow;
+        }
+
+        private boolean isDeferred(ExecutionStrategyParameters parameters) {
+            return parameters.getDeferredCallContext() != this.initialCall;
+        }
+
+        /**
+         * @return the parameters without the fields deferred at this level, which the per level strategy would
+         * otherwise wait for
+         */
+        private static ExecutionStrategyParameters withoutDeferredFields(ExecutionStrategyParameters parameters) {
+            Map<String, MergedField> fields = parameters.getFields().getSubFields();
+            if (fields.values().stream().allMatch(field -> field.getDeferredExecutions().isEmpty())) {
+                return parameters;
+            }
+            Map<String, MergedField> nonDeferred = new LinkedHashMap<>();
+            fields.forEach((key, field) -> {
+                if (field.getDeferredExecutions().isEmpty()) {
+                    nonDeferred.put(key, field);
+                }
+            });
+            return parameters.transform(builder ->
+                    builder.fields(MergedSelectionSet.newMergedSelectionSet().subFields(nonDeferred).build()));
+        }
+
+        private void scheduleDispatch() {
+            this.lastLoad = System.nanoTime();
+            if (this.dispatchScheduled.compareAndSet(false, true)) {
+                this.dispatchExecutor.execute(this::dispatchWhenIdle);
+            }
+        }
+
+        /**
+         * Waits for another window while loads are still being queued, then dispatches them all. A load queued
+         * after the flag is cleared schedules the next dispatch.
+         */
+        private void dispatchWhenIdle() {
+            if (System.nanoTime() - this.lastLoad < this.batchWindow) {
+                this.dispatchExecutor.execute(this::dispatchWhenIdle);
+                return;
+            }
+            this.dispatchScheduled.set(false);
+            this.registry.dispatchAll();
+        }
+
+        @Override
+        public void executionStrategy(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+            if (!isDeferred(parameters)) {
+                this.delegate.executionStrategy(executionContext, withoutDeferredFields(parameters));
+            }
+        }
+
+        @Override
+        public void executionStrategyOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList, ExecutionStrategyParameters parameters) {
+            if (!isDeferred(parameters)) {
+                this.delegate.executionStrategyOnFieldValuesInfo(fieldValueInfoList, parameters);
+            }
+        }
+
+        @Override
+        public void executionStrategyOnFieldValuesException(Throwable t, ExecutionStrategyParameters parameters) {
+            if (!isDeferred(parameters)) {
+                this.delegate.executionStrategyOnFieldValuesException(t, parameters);
+            }
+        }
+
+        @Override
+        public void executeObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+            if (!isDeferred(parameters)) {
+                this.delegate.executeObject(executionContext, withoutDeferredFields(parameters));
+            }
+        }
+
+        @Override
+        public void executeObjectOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList, ExecutionStrategyParameters parameters) {
+            if (!isDeferred(parameters)) {
+                this.delegate.executeObjectOnFieldValuesInfo(fieldValueInfoList, parameters);
+            }
+        }
+
+        @Override
+        public void executeObjectOnFieldValuesException(Throwable t, ExecutionStrategyParameters parameters) {
+            if (!isDeferred(parameters)) {
+                this.delegate.executeObjectOnFieldValuesException(t, parameters);
+            }
+        }
+
+        @Override
+        public void fieldFetched(ExecutionContext executionContext, ExecutionStrategyParameters parameters,
+                                 DataFetcher<?> dataFetcher, Object fetchedValue) {
+            if (!isDeferred(parameters)) {
+                this.delegate.fieldFetched(executionContext, parameters, dataFetcher, fetchedValue);
+            } else if (fetchedValue instanceof CompletableFuture<?> future && !future.isDone()) {
+                scheduleDispatch();
+            }
+        }
+
+        @Override
+        public DataFetcher<?> modifyDataFetcher(DataFetcher<?> dataFetcher) {
+            return this.delegate.modifyDataFetcher(dataFetcher);
+        }
+
+        @Override
+        public void deferredField(ExecutionContext executionContext, MergedField currentField) {
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Notifies callbacks of entity inserts, updates and deletes once their transaction has committed. Changes made
+ * by bulk JPQL or native statements bypass the persistence context and are not reported.
+ */
+public class EntityCommitListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    private static final Log logger = LogFactory.getLog(EntityCommitListener.class);
+
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+
+    @FunctionalInterface
+    public interface Callback {
+        void committed(@NotNull Operation operation, @NotNull Class<?> entityType, Object entity);
+
+        /**
+         * @param entity the managed instance, which its session may still change after the commit
+         * @param state  the committed state of the entity, taken from the event
+         */
+        default void committed(@NotNull Operation operation, @NotNull Class<?> entityType, Object entity,
+                               @NotNull CommittedState state) {
+            committed(operation, entityType, entity);
+        }
+    }
+
+    /**
+     * The state of an entity as it was committed, for a delete the state that was deleted.
+     */
+    public static final class CommittedState {
+
+        private final EntityPersister persister;
+
+        private final Object id;
+
+        private final Object[] state;
+
+        @Nullable
+        private final Object[] previousState;
+
+        CommittedState(EntityPersister persister, Object id, Object[] state, @Nullable Object[] previousState) {
+            this.persister = persister;
+            this.id = id;
+            this.state = state;
+            this.previousState = previousState;
+        }
+
+        public @NotNull Object getId() {
+            return this.id;
+        }
+
+        /**
+         * @return the identifier and persistent properties by name
+         */
+        public @NotNull Map<String, Object> getState() {
+            return toMap(this.state);
+        }
+
+        /**
+         * @return the identifier and persistent properties of an updated entity before the update, by name, or
+         * {@code null} if not known
+         */
+        @Nullable
+        public Map<String, Object> getPreviousState() {
+            return (this.previousState != null) ? toMap(this.previousState) : null;
+        }
+
+        /**
+         * @return a new, detached instance holding deep copies of the identifier and the non-association
+         * properties; associations are left unset
+         */
+        public @NotNull Object toDetachedCopy() {
+            Object copy = BeanUtils.instantiateClass(this.persister.getMappedClass());
+            SessionFactoryImplementor factory = this.persister.getFactory();
+            Type[] types = this.persister.getPropertyTypes();
+            Object[] values = new Object[this.state.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = types[i].isAssociationType() ? null : types[i].deepCopy(this.state[i], factory);
+            }
+            this.persister.setValues(copy, values);
+            this.persister.setIdentifier(copy, this.persister.getIdentifierType().deepCopy(this.id, factory), null);
+            return copy;
+        }
+
+        private Map<String, Object> toMap(Object[] values) {
+            String[] propertyNames = this.persister.getPropertyNames();
+            Map<String, Object> properties = new HashMap<>();
+            for (int i = 0; i < propertyNames.length; i++) {
+                properties.put(propertyNames[i], values[i]);
+            }
+            properties.put(this.persister.getIdentifierPropertyName(), this.id);
+            return properties;
+        }
+    }
+
+    private final List<Callback> callbacks = new CopyOnWriteArrayList<>();
+
+    public EntityCommitListener(@NotNull EntityManagerFactory entityManagerFactory) {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public void addCallback(@NotNull Callback callback) {
+        this.callbacks.add(callback);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return !this.callbacks.isEmpty();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        notify(Operation.INSERT, event.getEntity(), new CommittedState(event.getPersister(), event.getId(), event.getState(), null));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        notify(Operation.UPDATE, event.getEntity(), new CommittedState(event.getPersister(), event.getId(), event.getState(), event.getOldState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        notify(Operation.DELETE, event.getEntity(), new CommittedState(event.getPersister(), event.getId(), event.getDeletedState(), null));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed
+    }
+
+    private void notify(Operation operation, Object entity, CommittedState state) {
+        Class<?> entityType = state.persister.getMappedClass();
+        for (Callback callback : this.callbacks) {
+            try {
+                callback.committed(operation, entityType, entity, state);
+            } catch (RuntimeException ex) {
+                logger.error("Commit callback failed for " + operation + " of " + entityType.getSimpleName(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The entities the schema is generated for and their fields, introspected once from the JPA {@link Metamodel} and
+ * shared by the type definition configurers and the fetcher registry. Fields are introspected in parallel, one
+ * entity per task, and entities are ordered by name so the generated schema does not depend on scan order.
+ */
+public final class EntityMetamodel {
+    private static final Log logger = LogFactory.getLog(EntityMetamodel.class);
+
+    private final Map<Class<?>, EntityDescriptor> entities;
+
+    private EntityMetamodel(Map<Class<?>, EntityDescriptor> entities) {
+        this.entities = entities;
+    }
+
+    /**
+     * @param basePackage only entities in this package or below, all managed entities if empty
+     */
+    public static EntityMetamodel of(@NotNull Metamodel metamodel, @Nullable String basePackage) {
+        long start = System.nanoTime();
+        List<Class<?>> types = new ArrayList<>();
+        for (EntityType<?> entityType : metamodel.getEntities()) {
+            Class<?> javaType = entityType.getJavaType();
+            if (javaType != null && (!StringUtils.hasText(basePackage) || javaType.getName().startsWith(basePackage + "."))) {
+                types.add(javaType);
+            }
+        }
+        long discovered = System.nanoTime();
+
+        List<EntityDescriptor> descriptors = types.parallelStream()
+                .map(EntityMetamodel::introspect)
+                .sorted(Comparator.comparing(EntityDescriptor::name))
+                .toList();
+        long introspected = System.nanoTime();
+
+        Map<Class<?>, EntityDescriptor> entities = new LinkedHashMap<>();
+        descriptors.forEach(descriptor -> entities.put(descriptor.javaType(), descriptor));
+        logger.info("Entity metamodel: " + entities.size() + " entities, " +
+                descriptors.stream().mapToInt(descriptor -> descriptor.fields().size()).sum() + " fields in " +
+                millis(start, introspected) + " ms (metamodel " + millis(start, discovered) + " ms, introspection " +
+                millis(discovered, introspected) + " ms on " + ForkJoinPool.getCommonPoolParallelism() + " threads)");
+        return new EntityMetamodel(entities);
+    }
+
+    public Collection<EntityDescriptor> getEntities() {
+        return this.entities.values();
+    }
+
+    @Nullable
+    public EntityDescriptor getEntity(@NotNull Class<?> javaType) {
+        return this.entities.get(javaType);
+    }
+
+    /**
+     * A SHA-256 over the entity names, annotations and fields, with their generic types and annotations. Equal
+     * fingerprints mean the same schema is generated from the entities.
+     */
+    public String fingerprint() {
+        MessageDigest digest = newSha256();
+        for (EntityDescriptor entity : this.entities.values()) {
+            update(digest, entity.javaType().getName());
+            Arrays.stream(entity.javaType().getDeclaredAnnotations()).forEach(annotation -> update(digest, annotation.toString()));
+            for (EntityField field : entity.fields()) {
+                update(digest, field.name());
+                update(digest, field.field().getGenericType().getTypeName());
+                Arrays.stream(field.field().getDeclaredAnnotations()).forEach(annotation -> update(digest, annotation.toString()));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static EntityDescriptor introspect(Class<?> javaType) {
+        List<EntityField> fields = new ArrayList<>();
+        String idProperty = null;
+        for (Field field : javaType.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            boolean id = field.isAnnotationPresent(Id.class);
+            boolean nonNull = isNonNull(field);
+            boolean collection = Collection.class.isAssignableFrom(field.getType());
+            Class<?> elementType = collection ? ResolvableType.forField(field).asCollection().resolveGeneric(0) : field.getType();
+            fields.add(new EntityField(field, field.getName(), field.getType(), (elementType != null) ? elementType : Object.class,
+                    collection, id, nonNull));
+            if (id && idProperty == null) {
+                idProperty = field.getName();
+            }
+        }
+        return new EntityDescriptor(javaType, javaType.getSimpleName(), idProperty, List.copyOf(fields));
+    }
+
+    /**
+     * @return whether the field is the id or a non-nullable column or join column
+     */
+    public static boolean isNonNull(@NotNull Field field) {
+        Column column = field.getAnnotation(Column.class);
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        return field.isAnnotationPresent(Id.class) ||
+                (column != null && !column.nullable()) || (joinColumn != null && !joinColumn.nullable());
+    }
+
+    private static long millis(long from, long to) {
+        return (to - from) / 1_000_000;
+    }
+
+    /**
+     * @param idProperty the name of the {@link Id} field, if declared on the entity itself
+     * @param fields     the instance fields declared on the entity, in declaration order
+     */
+    public record EntityDescriptor(Class<?> javaType, String name, @Nullable String idProperty, List<EntityField> fields) {
+    }
+
+    /**
+     * @param elementType the element type of a collection, otherwise the field type
+     * @param nonNull     whether the field is the id or a non-nullable column or join column
+     */
+    public record EntityField(Field field, String name, Class<?> type, Class<?> elementType, boolean collection,
+                              boolean id, boolean nonNull) {
+    }
+}
@@ -1,17 +1,58 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator;
 
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.AsyncFetcherSupport;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.EntityChangeFeed;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.FetcherMetrics;
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.JpaSpecificationDataFetcher;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.PageSizeLimits;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.QueryResultCache;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.RelationshipBatchLoaders;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.TotalCountSupport;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.TupleProjection;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.ApproximateCounter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.FilterCountCache;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.FilterQueryPlanCache;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.validation.Validator;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.SessionEventSettings;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.graphql.data.pagination.EncodingCursorStrategy;
+import org.springframework.graphql.data.query.ScrollSubrange;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 @Configuration
 //@AutoConfiguration(after = GraphQlAutoConfiguration.class)
@@ -23,6 +64,12 @@ public class FilterJpaSpecificationExecutorAutoConfiguration {
     @Value("${application.entity.filters:}")
     private String filtersBasePackage;
 
+    @Value("${application.graphql.pagination.keyset:false}")
+    private boolean keysetPagination;
+
+    @Value("${application.graphql.pagination.default-count:20}")
+    private int defaultScrollCount;
+
     private final Validator validator;
 
     @Autowired
@@ -31,10 +78,231 @@ public class FilterJpaSpecificationExecutorAutoConfiguration {
     }
 
     @Bean
-    public GraphQlSourceBuilderCustomizer jpaSpecificationRegistrar(ObjectProvider<JpaSpecificationExecutor<?>> executors) {
+    @ConditionalOnProperty(prefix = "application.graphql.query-plan-cache", name = "enabled", havingValue = "true")
+    public FilterQueryPlanCache filterQueryPlanCache(EntityManager entityManager,
+                                                     @Value("${application.graphql.query-plan-cache.max-size:1024}") int maxSize) {
+        logger.info("Filter query plan cache enabled with max size: " + maxSize);
+        return new FilterQueryPlanCache(entityManager, maxSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.tuple-projection", name = "enabled", havingValue = "true")
+    public TupleProjection tupleProjection(EntityManager entityManager) {
+        logger.info("Tuple projection enabled for list and connection queries");
+        return new TupleProjection(entityManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.batch-loading", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RelationshipBatchLoaders relationshipBatchLoaders(EntityManagerFactory entityManagerFactory,
+                                                             @Value("${application.graphql.batch-loading.max-batch-size:500}") int maxBatchSize) {
+        return new RelationshipBatchLoaders(entityManagerFactory, maxBatchSize);
+    }
+
+    @Bean
+    public EntityCommitListener entityCommitListener(EntityManagerFactory entityManagerFactory) {
+        return new EntityCommitListener(entityManagerFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.count-cache", name = "enabled", havingValue = "true")
+    public FilterCountCache filterCountCache(EntityManagerFactory entityManagerFactory, EntityCommitListener entityCommitListener,
+                                             @Qualifier("applicationTaskExecutor") ObjectProvider<Executor> taskExecutor,
+                                             ObjectProvider<AsyncFetcherSupport> asyncSupport,
+                                             @Value("${application.graphql.count-cache.ttl:5s}") Duration timeToLive,
+                                             @Value("${application.graphql.count-cache.stale-while-revalidate:30s}") Duration staleWhileRevalidate,
+                                             @Value("${application.graphql.count-cache.max-size:1024}") int maxSize) {
+        logger.info("Count cache enabled with ttl " + timeToLive + ", stale-while-revalidate " + staleWhileRevalidate);
+        FilterCountCache countCache = new FilterCountCache(entityManagerFactory.getMetamodel(), timeToLive, staleWhileRevalidate,
+                maxSize, connectionExecutor(asyncSupport, taskExecutor.getIfAvailable(() -> Runnable::run)));
+        entityCommitListener.addCallback((operation, entityType, entity) -> countCache.invalidate(entityType));
+        return countCache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.result-cache", name = "enabled", havingValue = "true")
+    public QueryResultCache queryResultCache(EntityManagerFactory entityManagerFactory, EntityCommitListener entityCommitListener,
+                                             @Value("${application.graphql.result-cache.max-size:1024}") long maxSize,
+                                             @Value("${application.graphql.result-cache.expire-after-write:60s}") Duration expireAfterWrite,
+                                             @Value("${application.graphql.result-cache.off-heap.enabled:false}") boolean offHeap,
+                                             @Value("${application.graphql.result-cache.off-heap.max-bytes:64MB}") DataSize offHeapMaxBytes,
+                                             @Value("${application.graphql.result-cache.off-heap.min-bytes:16KB}") DataSize offHeapMinBytes) {
+        logger.info("Result cache enabled with max size " + maxSize + ", expire after write " + expireAfterWrite +
+                (offHeap ? ", off-heap tier of " + offHeapMaxBytes + " for pages from " + offHeapMinBytes : ""));
+        QueryResultCache resultCache = new QueryResultCache(entityManagerFactory, maxSize, expireAfterWrite,
+                offHeap ? offHeapMaxBytes.toBytes() : 0, offHeapMinBytes.toBytes());
+        entityCommitListener.addCallback((operation, entityType, entity) -> resultCache.invalidate(entityType));
+        return resultCache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.change-feed", name = "enabled", havingValue = "true")
+    public EntityChangeFeed entityChangeFeed(EntityCommitListener entityCommitListener,
+                                             @Value("${application.graphql.change-feed.coalesce-window:100ms}") Duration coalesceWindow,
+                                             @Value("${application.graphql.change-feed.max-pending:1000}") int maxPending) {
+        logger.info("Change feed subscriptions enabled with coalesce window " + coalesceWindow + ", at most " + maxPending + " pending changes");
+        EntityChangeFeed changeFeed = new EntityChangeFeed(coalesceWindow, maxPending);
+        entityCommitListener.addCallback(changeFeed);
+        return changeFeed;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.approximate-count", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ApproximateCounter approximateCounter(EntityManagerFactory entityManagerFactory,
+                                                 @Value("${application.graphql.approximate-count.sample-size:1000}") int sampleSize) {
+        return new ApproximateCounter(entityManagerFactory, sampleSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.async", name = "enabled", havingValue = "true")
+    public AsyncFetcherSupport asyncFetcherSupport(PlatformTransactionManager transactionManager,
+                                                   ObjectProvider<RelationshipBatchLoaders> relationshipBatchLoaders,
+                                                   @Value("${application.graphql.async.max-connections:8}") int maxConnections,
+                                                   @Value("${application.graphql.async.report-pinning:false}") boolean reportPinning,
+                                                   @Value("${application.graphql.async.pinned-threshold:20ms}") Duration pinnedThreshold) {
+        logger.info("Asynchronous fetchers on virtual threads with at most " + maxConnections + " connections");
+        if (relationshipBatchLoaders.getIfAvailable() == null) {
+            logger.warn("Asynchronous fetchers return detached entities, lazy relationships need batch-loading enabled");
+        }
+        return new AsyncFetcherSupport(transactionManager, maxConnections, reportPinning ? pinnedThreshold : null);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.fetcher-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FetcherMetrics fetcherMetrics(MeterRegistry meterRegistry,
+                                         @Value("${application.graphql.fetcher-metrics.histogram:false}") boolean histogram) {
+        logger.info("Fetcher stage metrics enabled" + (histogram ? " with percentile histograms" : ""));
+        return new FetcherMetrics(meterRegistry, histogram);
+    }
+
+    /**
+     * Lets Hibernate report the JDBC statements of every session, for the fetcher metrics to time SQL apart from
+     * hydration. A listener that is already configured keeps running, chained before the metrics one. Static, as the
+     * entity manager factory is customized before the metrics exist.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.fetcher-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static HibernatePropertiesCustomizer fetcherMetricsStatementListener() {
+        return properties -> {
+            Object configured = properties.get(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER);
+            String listener = (configured instanceof Class<?> type) ? type.getName() : (configured != null) ? configured.toString() : null;
+            if (FetcherMetrics.StatementListener.class.getName().equals(listener) ||
+                    FetcherMetrics.ChainedStatementListener.class.getName().equals(listener)) {
+                return;
+            }
+            if (StringUtils.hasText(listener)) {
+                Class<?> listenerType = ClassUtils.resolveClassName(listener, FetcherMetrics.class.getClassLoader());
+                Assert.isAssignable(SessionEventListener.class, listenerType, "Not a session event listener: ");
+                FetcherMetrics.ChainedStatementListener.chain(listenerType.asSubclass(SessionEventListener.class));
+                logger.info("Fetcher metrics statement listener chained after " + listener);
+                properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, FetcherMetrics.ChainedStatementListener.class.getName());
+            } else {
+                properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, FetcherMetrics.StatementListener.class.getName());
+            }
+        };
+    }
+
+    /**
+     * Per entity overrides are bound from {@code application.graphql.page-size.entities.<Entity>}, each falling
+     * back to the global value it does not set. Off by default, as it bounds list fields that used to return every
+     * matching row.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.graphql.page-size", name = "enabled", havingValue = "true")
+    public PageSizeLimits pageSizeLimits(Environment environment,
+                                         @Value("${application.graphql.page-size.default-size:100}") int defaultSize,
+                                         @Value("${application.graphql.page-size.max-size:1000}") int maxSize) {
+        Map<String, EntityPageSize> overrides = Binder.get(environment).bind("application.graphql.page-size.entities",
+                Bindable.mapOf(String.class, EntityPageSize.class)).orElse(Map.of());
+        Map<String, PageSizeLimits.PageSize> entities = new HashMap<>();
+        overrides.forEach((entity, override) -> {
+            int entityMaxSize = (override.maxSize() != null) ? override.maxSize() : maxSize;
+            int entityDefaultSize = (override.defaultSize() != null) ? override.defaultSize() : Math.min(defaultSize, entityMaxSize);
+            entities.put(entity, new PageSizeLimits.PageSize(entityDefaultSize, entityMaxSize));
+        });
+        logger.info("Page size " + defaultSize + ", at most " + maxSize + ((entities.isEmpty()) ? "" : ", overridden for " + entities.keySet()));
+        return new PageSizeLimits(new PageSizeLimits.PageSize(defaultSize, maxSize), entities);
+    }
+
+    record EntityPageSize(@Nullable Integer defaultSize, @Nullable Integer maxSize) {
+    }
+
+    @Bean
+    public TotalCountSupport totalCountSupport(EntityManagerFactory entityManagerFactory,
+                                               @Qualifier("applicationTaskExecutor") ObjectProvider<Executor> taskExecutor,
+                                               ObjectProvider<AsyncFetcherSupport> asyncSupport,
+                                               @Value("${application.graphql.total-count.concurrent:true}") boolean concurrent,
+                                               @Value("${application.graphql.total-count.window-function:false}") boolean windowFunction) {
+        TotalCountSupport totalCountSupport = new TotalCountSupport(entityManagerFactory,
+                concurrent ? connectionExecutor(asyncSupport, taskExecutor.getIfAvailable()) : null, windowFunction);
+        logger.info("Connection totalCount: " + (totalCountSupport.usesWindowFunction() ? "window function" :
+                (concurrent ? "concurrent" : "sequential")) + " count query");
+        return totalCountSupport;
+    }
+
+    /**
+     * With asynchronous fetchers, work taking a connection off the request thread holds one of their connection
+     * permits, otherwise it runs on the given executor.
+     */
+    @Nullable
+    private static Executor connectionExecutor(ObjectProvider<AsyncFetcherSupport> asyncSupport, @Nullable Executor executor) {
+        AsyncFetcherSupport support = asyncSupport.getIfAvailable();
+        return (support != null) ? support.connectionExecutor() : executor;
+    }
+
+    /**
+     * Replaces the Boot default, so that the connection cursors are written with the same allowlisted keyset codec
+     * the fetchers read them back with.
+     */
+    @Bean
+    public EncodingCursorStrategy<ScrollPosition> cursorStrategy() {
+        return JpaSpecificationDataFetcher.keysetCursorStrategy();
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer jpaSpecificationRegistrar(EncodingCursorStrategy<ScrollPosition> cursorStrategy,
+                                                                    ObjectProvider<JpaSpecificationExecutor<?>> executors,
+                                                                    ObjectProvider<FilterQueryPlanCache> queryPlanCache,
+                                                                    ObjectProvider<TupleProjection> tupleProjection,
+                                                                    ObjectProvider<TotalCountSupport> totalCountSupport,
+                                                                    ObjectProvider<FilterCountCache> countCache,
+                                                                    ObjectProvider<ApproximateCounter> approximateCounter,
+                                                                    ObjectProvider<QueryResultCache> resultCache,
+                                                                    ObjectProvider<AsyncFetcherSupport> asyncSupport,
+                                                                    ObjectProvider<PageSizeLimits> pageSizeLimits,
+                                                                    ObjectProvider<FetcherMetrics> fetcherMetrics,
+                                                                    ObjectProvider<EntityChangeFeed> changeFeed,
+                                                                    ObjectProvider<EntityMetamodel> entityMetamodel,
+                                                                    ObjectProvider<RelationshipBatchLoaders> relationshipBatchLoaders,
+                                                                    ObjectProvider<BatchLoaderRegistry> batchLoaderRegistry) {
         logger.info("My GraphQlSourceBuilderCustomizer: jpaSpecificationRegistrar");
+        List<JpaSpecificationDataFetcher.JpaSpecificationBuilderCustomizer<?, ?>> customizers = new ArrayList<>();
+        queryPlanCache.ifAvailable(cache -> customizers.add(builder -> builder.queryPlanCache(cache)));
+        tupleProjection.ifAvailable(projection -> customizers.add(builder -> builder.tupleProjection(projection)));
+        totalCountSupport.ifAvailable(support -> customizers.add(builder -> builder.totalCountSupport(support)));
+        countCache.ifAvailable(cache -> customizers.add(builder -> builder.countCache(cache)));
+        approximateCounter.ifAvailable(counter -> customizers.add(builder -> builder.approximateCounter(counter)));
+        resultCache.ifAvailable(cache -> customizers.add(builder -> builder.resultCache(cache)));
+        asyncSupport.ifAvailable(support -> customizers.add(builder -> builder.asyncSupport(support)));
+        pageSizeLimits.ifAvailable(limits -> customizers.add(builder -> builder.pageSizes(limits)));
+        fetcherMetrics.ifAvailable(metrics -> customizers.add(builder -> builder.metrics(metrics)));
+
+        Map<FieldCoordinates, DataFetcher<?>> relationshipFetchers = new HashMap<>();
+        relationshipBatchLoaders.ifAvailable(loaders -> batchLoaderRegistry.ifAvailable(
+                registry -> relationshipFetchers.putAll(loaders.register(registry))));
+        logger.info("Batched relationship fields: " + relationshipFetchers.size());
+        resultCache.ifAvailable(cache -> cache.registerPropertyFields(relationshipFetchers.keySet()));
+        customizers.add(builder -> builder.relationshipFetchers(relationshipFetchers));
+        changeFeed.ifAvailable(feed -> customizers.add(builder -> builder.changeFeed(feed)));
+        entityMetamodel.ifAvailable(metamodel -> customizers.add(builder -> builder.entityMetamodel(metamodel)));
+
+        ScrollSubrange defaultScrollSubrange = ScrollSubrange.create(
+                keysetPagination ? ScrollPosition.keyset() : ScrollPosition.offset(), defaultScrollCount, true);
+        logger.info("Default scroll subrange: " + defaultScrollSubrange.position().orElse(null) + ", count " + defaultScrollCount);
+        customizers.add(builder -> builder.cursorStrategy(cursorStrategy).defaultScrollSubRange(defaultScrollSubrange));
+
         RuntimeWiringConfigurer configurer = JpaSpecificationDataFetcher
-                .autoRegistrationConfigurer(filtersBasePackage, validator, executors.orderedStream().toList());
+                .autoRegistrationConfigurer(filtersBasePackage, validator, executors.orderedStream().toList(), customizers);
         return builder -> builder.configureRuntimeWiring(configurer);
     }
 }
@@ -1,6 +1,7 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator;
 
 import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.InterfaceTypeDefinition;
 import graphql.language.SchemaDefinition;
 import graphql.language.UnionTypeDefinition;
@@ -51,6 +52,9 @@ public final class GraphQLSourceBuilder extends AbstractGraphQlSourceBuilder<Gra
     @Nullable
     private Consumer<GraphQLSchema> schemaReportRunner;
 
+    @Nullable
+    private PreparsedDocumentProvider preparsedDocumentProvider;
+
     @SuppressWarnings("rawtypes")
     private static void updateForCustomRootOperationTypeNames(
             TypeDefinitionRegistry registry, RuntimeWiring runtimeWiring) {
@@ -186,6 +190,16 @@ public final class GraphQLSourceBuilder extends AbstractGraphQlSourceBuilder<Gra
         return this;
     }
 
+    /**
+     * Provide parsed and validated documents to the {@link GraphQL} instance, e.g. from a cache or for persisted
+     * queries. A provider set through {@link #configureGraphQl} takes precedence.
+     */
+    @NotNull
+    public GraphQLSourceBuilder preparsedDocumentProvider(@Nullable PreparsedDocumentProvider preparsedDocumentProvider) {
+        this.preparsedDocumentProvider = preparsedDocumentProvider;
+        return this;
+    }
+
     private SchemaReport createSchemaReport(GraphQLSchema schema, RuntimeWiring runtimeWiring) {
         SchemaMappingInspector.Initializer initializer = SchemaMappingInspector.initializer();
 
@@ -217,6 +231,9 @@ public final class GraphQLSourceBuilder extends AbstractGraphQlSourceBuilder<Gra
 
     @Override
     protected void applyGraphQlConfigurers(@NotNull GraphQL.Builder builder) {
+        if (this.preparsedDocumentProvider != null) {
+            builder.preparsedDocumentProvider(this.preparsedDocumentProvider);
+        }
         super.applyGraphQlConfigurers(builder);
         if (this.schemaReportRunner != null) {
             GraphQLSchema schema = builder.build().getGraphQLSchema();
@@ -6,14 +6,27 @@ import graphql.schema.GraphQLNamedOutputType;
 import graphql.schema.SelectedField;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.Id;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.util.CollectionUtils;
@@ -174,6 +187,72 @@ public class Helpers {
         return Collections.emptyList();
     }
 
+    /**
+     * Converts a generated {@code orderBy} argument, a list of {@code {field, direction}} inputs, into a {@link Sort}.
+     */
+    public static Sort toSort(@NotNull List<Map<String, Object>> orderBy) {
+        List<Sort.Order> orders = new ArrayList<>(orderBy.size());
+        for (Map<String, Object> order : orderBy) {
+            Sort.Direction direction = Sort.Direction.fromOptionalString(String.valueOf(order.get("direction")))
+                    .orElse(Sort.Direction.ASC);
+            orders.add(new Sort.Order(direction, String.valueOf(order.get("field"))));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Cuts every path at its first collection-valued property, so that only to-one associations are fetched with
+     * the root. To-many associations are left to the relationship batch loaders, which keeps pagination correct.
+     */
+    public static Collection<String> toOnePropertyPaths(@NotNull TypeInformation<?> domainType, @NotNull Collection<String> paths) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String path : paths) {
+            TypeInformation<?> type = domainType;
+            int end = 0;
+            for (String segment : path.split("\\.")) {
+                TypeInformation<?> property = type.getProperty(segment);
+                if (property == null || property.isCollectionLike() || property.isMap()) {
+                    break;
+                }
+                end += (end == 0 ? 0 : 1) + segment.length();
+                type = property.getRequiredActualType();
+            }
+            if (end > 0) {
+                result.add(path.substring(0, end));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Left fetch joins for the to-one associations along the given paths, for queries that ignore fetch graphs,
+     * such as {@code FluentQuery.scroll}. Count queries are left untouched.
+     */
+    public static <T> Specification<T> fetchJoins(@NotNull Collection<String> paths) {
+        return (root, query, criteriaBuilder) -> {
+            if (paths.isEmpty() || Long.class == query.getResultType() || long.class == query.getResultType()) {
+                return null;
+            }
+            Map<String, FetchParent<?, ?>> fetches = new HashMap<>();
+            for (String path : paths) {
+                FetchParent<?, ?> parent = root;
+                ManagedType<?> type = root.getModel();
+                int end = -1;
+                for (String segment : path.split("\\.")) {
+                    Attribute<?, ?> attribute = type.getAttribute(segment);
+                    if (!attribute.isAssociation() || attribute.isCollection()) {
+                        break;
+                    }
+                    end += 1 + segment.length();
+                    FetchParent<?, ?> current = parent;
+                    parent = fetches.computeIfAbsent(path.substring(0, end), key -> current.fetch(segment, JoinType.LEFT));
+                    type = (ManagedType<?>) ((SingularAttribute<?, ?>) attribute).getType();
+                }
+            }
+            return null;
+        };
+    }
+
     @NotNull
     private static List<PropertyPath> getPropertyPaths(
             TypeInformation<?> typeInfo, @NotNull FieldSelection selection, Function<String, PropertyPath> pathFactory) {
@@ -266,6 +345,60 @@ public class Helpers {
         }
     }
 
+    /**
+     * Builds a fetch graph for the given dot-paths, equivalent to the one {@code FluentQuery.project} applies.
+     */
+    public static <T> EntityGraph<T> createEntityGraph(@NotNull EntityManager entityManager, Class<T> domainType, @NotNull Collection<String> properties) {
+        EntityGraph<T> entityGraph = entityManager.createEntityGraph(domainType);
+        Map<String, Subgraph<Object>> subgraphs = new HashMap<>();
+
+        for (String property : properties) {
+            Subgraph<Object> current = null;
+            int start = 0;
+            int end;
+            while ((end = property.indexOf('.', start)) >= 0) {
+                String segment = property.substring(start, end);
+                Subgraph<Object> parent = current;
+                current = subgraphs.computeIfAbsent(property.substring(0, end),
+                        key -> parent == null ? entityGraph.addSubgraph(segment) : parent.addSubgraph(segment));
+                start = end + 1;
+            }
+            String attribute = property.substring(start);
+            if (current == null) {
+                entityGraph.addAttributeNodes(attribute);
+            } else {
+                current.addAttributeNodes(attribute);
+            }
+        }
+
+        return entityGraph;
+    }
+
+    /**
+     * @return the given entity type and every entity type reachable from it through associations
+     */
+    public static Set<Class<?>> reachableEntityTypes(@NotNull Metamodel metamodel, @NotNull Class<?> domainType) {
+        Set<Class<?>> reachable = new HashSet<>();
+        collectEntityTypes(metamodel.managedType(domainType), reachable);
+        return Set.copyOf(reachable);
+    }
+
+    private static void collectEntityTypes(ManagedType<?> type, Set<Class<?>> reachable) {
+        if (!reachable.add(type.getJavaType())) {
+            return;
+        }
+        for (Attribute<?, ?> attribute : type.getAttributes()) {
+            jakarta.persistence.metamodel.Type<?> target = switch (attribute) {
+                case PluralAttribute<?, ?, ?> plural -> plural.getElementType();
+                case SingularAttribute<?, ?> singular -> singular.getType();
+                default -> null;
+            };
+            if (target instanceof EntityType<?> entityType) {
+                collectEntityTypes(entityType, reachable);
+            }
+        }
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static <T> Path<T> getPath(Root root, String pathString) {
         String[] segments = pathString.split("\\.");
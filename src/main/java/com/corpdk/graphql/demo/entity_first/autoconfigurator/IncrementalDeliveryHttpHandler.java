@@ -0,0 +1,107 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExperimentalApi;
+import graphql.incremental.IncrementalExecutionResult;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.webmvc.AbstractGraphQlHttpHandler;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Serves operations with {@code @defer} fragments to clients accepting {@code multipart/mixed}: the initial result
+ * is written as soon as the non-deferred fields are resolved, each deferred fragment as a further part once it is.
+ * The parts are written as an asynchronous stream, so no servlet thread waits for the deferred fragments.
+ * Results without deferred fragments are written as a single JSON response.
+ * <p>Incremental execution is only enabled for such clients, see {@link #enableIncrementalSupport()}; for others
+ * graphql-java resolves deferred fragments with the rest of the result.
+ */
+public class IncrementalDeliveryHttpHandler extends AbstractGraphQlHttpHandler {
+
+    public static final MediaType MULTIPART_MIXED = MediaType.parseMediaType("multipart/mixed");
+
+    private static final MediaType MULTIPART_MIXED_DEFER =
+            MediaType.parseMediaType("multipart/mixed;boundary=\"-\";deferSpec=20220824");
+
+    private static final byte[] PART_HEADER =
+            "\r\nContent-Type: application/json; charset=utf-8\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] DELIMITER = "\r\n---".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CLOSE_DELIMITER = "--\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectMapper objectMapper;
+
+    public IncrementalDeliveryHttpHandler(@NotNull WebGraphQlHandler graphQlHandler, @NotNull ObjectMapper objectMapper) {
+        super(graphQlHandler, new MappingJackson2HttpMessageConverter(objectMapper));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return an interceptor enabling incremental execution for requests accepting {@code multipart/mixed}
+     */
+    public static @NotNull WebGraphQlInterceptor enableIncrementalSupport() {
+        return (request, chain) -> {
+            if (request.getHeaders().getAccept().stream().anyMatch(MULTIPART_MIXED::isCompatibleWith)) {
+                request.configureExecutionInput((input, builder) ->
+                        builder.graphQLContext(Map.of(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true)).build());
+            }
+            return chain.next(request);
+        };
+    }
+
+    @Override
+    protected ServerResponse prepareResponse(ServerRequest request, Mono<WebGraphQlResponse> responseMono) {
+        return ServerResponse.async(responseMono.map(response -> {
+            if (!(response.getExecutionResult() instanceof IncrementalExecutionResult incremental)) {
+                return ServerResponse.ok()
+                        .headers(headers -> headers.putAll(response.getResponseHeaders()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .build(getWriteFunction(response.toMap(), MediaType.APPLICATION_JSON));
+            }
+            return ServerResponse.ok()
+                    .headers(headers -> headers.putAll(response.getResponseHeaders()))
+                    .contentType(MULTIPART_MIXED_DEFER)
+                    .body(parts(incremental));
+        }));
+    }
+
+    /**
+     * @return the initial result and each deferred fragment as a part, flushed one by one as they are emitted
+     */
+    private Flux<byte[]> parts(IncrementalExecutionResult result) {
+        return Flux.concat(
+                Mono.fromCallable(() -> concat(DELIMITER, part(result.toSpecification()))),
+                Flux.from(result.getIncrementalItemPublisher())
+                        .map(partialResult -> part(partialResult.toSpecification())),
+                Mono.just(CLOSE_DELIMITER));
+    }
+
+    private byte[] part(Map<String, Object> payload) {
+        try {
+            return concat(PART_HEADER, this.objectMapper.writeValueAsBytes(payload), DELIMITER);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to write incremental payload", ex);
+        }
+    }
+
+    private static byte[] concat(byte[]... chunks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (byte[] chunk : chunks) {
+            bytes.writeBytes(chunk);
+        }
+        return bytes.toByteArray();
+    }
+}
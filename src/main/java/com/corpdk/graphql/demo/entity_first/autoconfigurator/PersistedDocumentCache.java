@@ -0,0 +1,117 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of parsed and validated documents keyed by the SHA-256 hash of the query text, so repeated
+ * operations skip parsing and validation. With persisted queries enabled, the same cache backs the automatic
+ * persisted queries protocol: a client may send only the hash in {@code extensions.persistedQuery.sha256Hash}
+ * and, on a {@code PersistedQueryNotFound} error, retry once with the full query to register it.
+ * <p>Documents with parse or validation errors are not cached.
+ */
+public class PersistedDocumentCache extends ApolloPersistedQuerySupport implements MeterBinder {
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+
+    private final boolean persistedQueries;
+
+    public PersistedDocumentCache(long maxSize, boolean persistedQueries) {
+        this(createCache(maxSize), persistedQueries);
+    }
+
+    private PersistedDocumentCache(Cache<String, PreparsedDocumentEntry> documents, boolean persistedQueries) {
+        super(new CaffeinePersistedQueryCache(documents));
+        this.documents = documents;
+        this.persistedQueries = persistedQueries;
+    }
+
+    private static Cache<String, PreparsedDocumentEntry> createCache(long maxSize) {
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+        return Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (getPersistedQueryId(executionInput).isPresent()) {
+            return super.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        String hash = sha256(executionInput.getQuery());
+        PreparsedDocumentEntry entry = this.documents.getIfPresent(hash);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                this.documents.put(hash, entry);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    @Override
+    protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+        return this.persistedQueries ? super.getPersistedQueryId(executionInput) : Optional.empty();
+    }
+
+    public long size() {
+        return this.documents.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.documents, "graphql.document.cache");
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Looks up persisted queries by their hash, which is verified against the query text on a miss. A request
+     * carrying only the hash, i.e. the persisted query marker as its query, misses with {@link PersistedQueryNotFound}.
+     */
+    private record CaffeinePersistedQueryCache(Cache<String, PreparsedDocumentEntry> documents) implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+                Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss)
+                throws PersistedQueryNotFound {
+            String hash = persistedQueryId.toString();
+            PreparsedDocumentEntry entry = this.documents.getIfPresent(hash);
+            if (entry == null) {
+                if (PERSISTED_QUERY_MARKER.equals(executionInput.getQuery())) {
+                    throw new PersistedQueryNotFound(persistedQueryId);
+                }
+                entry = onCacheMiss.apply(executionInput.getQuery());
+                if (!entry.hasErrors()) {
+                    this.documents.put(hash, entry);
+                }
+            }
+            return CompletableFuture.completedFuture(entry);
+        }
+    }
+}
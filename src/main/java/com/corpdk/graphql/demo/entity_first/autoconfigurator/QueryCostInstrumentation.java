@@ -0,0 +1,286 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.incremental.IncrementalExecutionResultImpl;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Estimates the cost of an operation from its normalized fields before it executes, and rejects it when the cost,
+ * the selection depth, the widest selection or the number of relationship hops exceeds the configured limits.
+ * <p>The cost is the number of objects the operation may resolve: a Connection contributes its {@code first} or
+ * {@code last} value, or the default page size; a list at the root the assumed list size, a to-many relationship
+ * the assumed fan-out, each multiplied by the objects of its parent. A scalar at the root, e.g. a count, adds one,
+ * as does every node and every {@code in} value of a filter argument. The computed figures are attached to the response under {@code extensions.cost}.
+ * <p>Unless the limits are enforced, an operation over them still runs and its violations are only reported, under
+ * {@code extensions.cost.violations}, so limits can be tuned against the operations clients actually send.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+    private static final Log logger = LogFactory.getLog(QueryCostInstrumentation.class);
+
+    public static final String EXTENSION = "cost";
+
+    private final Limits limits;
+
+    private final Estimates estimates;
+
+    private final boolean enforce;
+
+    /**
+     * @param maxCost    maximum estimated cost of an operation
+     * @param maxDepth   maximum selection depth, counting Connection wrappers
+     * @param maxBreadth maximum number of fields selected on one object
+     * @param maxHops    maximum number of relationship fields on one path
+     */
+    public record Limits(long maxCost, int maxDepth, int maxBreadth, int maxHops) {
+    }
+
+    /**
+     * @param pageSize           objects assumed for a Connection without {@code first} or {@code last}
+     * @param listSize           objects assumed for a list at the root
+     * @param relationshipFanout objects assumed for a to-many relationship
+     */
+    public record Estimates(int pageSize, int listSize, int relationshipFanout) {
+    }
+
+    /**
+     * @param enforce reject operations over the limits, rather than only reporting them
+     */
+    public QueryCostInstrumentation(@NotNull Limits limits, @NotNull Estimates estimates, boolean enforce) {
+        Assert.isTrue(limits.maxCost() > 0, "maxCost must be greater than 0");
+        this.limits = limits;
+        this.estimates = estimates;
+        this.enforce = enforce;
+    }
+
+    @Override
+    public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+        return CompletableFuture.completedFuture(new CostState());
+    }
+
+    @Override
+    public @NotNull InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                                 InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        Cost cost = new Cost();
+        List<ExecutableNormalizedField> fields = visibleFields(executionContext.getNormalizedQueryTree().get().getTopLevelFields());
+        cost.breadth = fields.size();
+        for (ExecutableNormalizedField field : fields) {
+            analyze(field, schema, 1, 1, 0, cost);
+        }
+        ((CostState) state).cost = cost;
+
+        List<String> violations = violations(cost);
+        if (!violations.isEmpty() && !this.enforce) {
+            logger.debug("Operation " + executionContext.getOperationDefinition().getName() + " exceeds the query limits: " + violations);
+            cost.violations = violations;
+        } else if (!violations.isEmpty()) {
+            logger.debug("Rejected operation " + executionContext.getOperationDefinition().getName() + ": " + violations);
+            Map<String, Object> extensions = new LinkedHashMap<>();
+            extensions.put(EXTENSION, cost.toMap());
+            extensions.put("limits", Map.of("cost", this.limits.maxCost(), "depth", this.limits.maxDepth(),
+                    "breadth", this.limits.maxBreadth(), "hops", this.limits.maxHops()));
+            throw new AbortExecutionException(List.of(GraphqlErrorBuilder.newError()
+                    .message("Operation exceeds the query limits: " + String.join(", ", violations))
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .extensions(extensions)
+                    .build()));
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                                InstrumentationExecutionParameters parameters,
+                                                                                InstrumentationState state) {
+        Cost cost = (state instanceof CostState costState) ? costState.cost : null;
+        if (cost == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        // Extensions merged from the ExtensionsBuilder are immutable
+        Map<Object, Object> extensions = new LinkedHashMap<>();
+        if (executionResult.getExtensions() != null) {
+            extensions.putAll(executionResult.getExtensions());
+        }
+        extensions.put(EXTENSION, cost.toMap());
+        // transform() would drop the publisher of deferred results
+        if (executionResult instanceof IncrementalExecutionResult incremental) {
+            return CompletableFuture.completedFuture(IncrementalExecutionResultImpl.newIncrementalExecutionResult()
+                    .from(incremental)
+                    .incremental(incremental.getIncremental())
+                    .incrementalItemPublisher(incremental.getIncrementalItemPublisher())
+                    .extensions(extensions)
+                    .build());
+        }
+        return CompletableFuture.completedFuture(executionResult.transform(builder -> builder.extensions(extensions)));
+    }
+
+    private void analyze(ExecutableNormalizedField field, GraphQLSchema schema, int depth, long parentObjects, int hops, Cost cost) {
+        GraphQLType type = GraphQLTypeUtil.unwrapNonNull(field.getType(schema));
+        GraphQLType elementType = GraphQLTypeUtil.unwrapAll(type);
+        String parentType = field.getObjectTypeNames().iterator().next();
+
+        cost.depth = Math.max(cost.depth, depth);
+        long filterSize = filterSize(field.getResolvedArguments().get("filter"));
+        cost.filterSize = saturatedAdd(cost.filterSize, filterSize);
+        cost.cost = saturatedAdd(cost.cost, filterSize);
+        if (!(elementType instanceof GraphQLFieldsContainer container)) {
+            if (field.getLevel() == 1) {
+                cost.cost = saturatedAdd(cost.cost, 1);
+            }
+            return;
+        }
+
+        // Edges, nodes and the page info of a Connection belong to the objects counted for the Connection field
+        boolean wrapper = isConnectionWrapper(parentType);
+        long objects = parentObjects;
+        if (isConnection(container)) {
+            objects = saturatedMultiply(parentObjects, pageSize(field, this.estimates.pageSize()));
+        } else if (!wrapper && GraphQLTypeUtil.isList(type)) {
+            objects = saturatedMultiply(parentObjects, pageSize(field,
+                    (field.getLevel() == 1) ? this.estimates.listSize() : this.estimates.relationshipFanout()));
+        }
+        if (!wrapper) {
+            cost.cost = saturatedAdd(cost.cost, objects);
+            if (field.getLevel() > 1) {
+                hops++;
+            }
+        }
+        cost.hops = Math.max(cost.hops, hops);
+
+        List<ExecutableNormalizedField> children = visibleFields(field.getChildren());
+        cost.breadth = Math.max(cost.breadth, children.size());
+        for (ExecutableNormalizedField child : children) {
+            analyze(child, schema, depth + 1, objects, hops, cost);
+        }
+    }
+
+    private List<String> violations(Cost cost) {
+        List<String> violations = new ArrayList<>();
+        if (cost.cost > this.limits.maxCost()) {
+            violations.add("cost " + cost.cost + " > " + this.limits.maxCost());
+        }
+        if (cost.depth > this.limits.maxDepth()) {
+            violations.add("depth " + cost.depth + " > " + this.limits.maxDepth());
+        }
+        if (cost.breadth > this.limits.maxBreadth()) {
+            violations.add("breadth " + cost.breadth + " > " + this.limits.maxBreadth());
+        }
+        if (cost.hops > this.limits.maxHops()) {
+            violations.add("relationship hops " + cost.hops + " > " + this.limits.maxHops());
+        }
+        return violations;
+    }
+
+    private static List<ExecutableNormalizedField> visibleFields(List<ExecutableNormalizedField> fields) {
+        return fields.stream().filter(field -> !field.getName().startsWith("__")).toList();
+    }
+
+    private static boolean isConnection(GraphQLFieldsContainer type) {
+        return type.getName().endsWith("Connection") && type.getFieldDefinition("edges") != null &&
+                type.getFieldDefinition("pageInfo") != null;
+    }
+
+    private static boolean isConnectionWrapper(String typeName) {
+        return typeName.endsWith("Connection") || typeName.endsWith("Edge");
+    }
+
+    private static long pageSize(ExecutableNormalizedField field, int defaultSize) {
+        Object size = field.getResolvedArguments().get("first");
+        if (size == null) {
+            size = field.getResolvedArguments().get("last");
+        }
+        return (size instanceof Number number) ? Math.max(0, number.longValue()) : defaultSize;
+    }
+
+    /**
+     * @return the number of nodes of a filter argument, counting each value of a list
+     */
+    private static long filterSize(Object filter) {
+        if (filter instanceof Map<?, ?> map) {
+            long size = 0;
+            for (Object value : map.values()) {
+                size = saturatedAdd(size, (value instanceof Map<?, ?> || value instanceof Collection<?>) ? filterSize(value) : 1);
+            }
+            return size;
+        }
+        if (filter instanceof Collection<?> values) {
+            long size = 0;
+            for (Object value : values) {
+                size = saturatedAdd(size, (value instanceof Map<?, ?>) ? filterSize(value) : 1);
+            }
+            return size;
+        }
+        return 0;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        return (result < 0) ? Long.MAX_VALUE : result;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long result = a * b;
+        return (high != 0 || result < 0) ? Long.MAX_VALUE : result;
+    }
+
+    private static final class CostState implements InstrumentationState {
+
+        private Cost cost;
+    }
+
+    private static final class Cost {
+
+        private long cost;
+
+        private int depth;
+
+        private int breadth;
+
+        private int hops;
+
+        private long filterSize;
+
+        private List<String> violations = List.of();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("cost", this.cost);
+            map.put("depth", this.depth);
+            map.put("breadth", this.breadth);
+            map.put("hops", this.hops);
+            map.put("filterSize", this.filterSize);
+            if (!this.violations.isEmpty()) {
+                map.put("violations", this.violations);
+            }
+            return map;
+        }
+    }
+}
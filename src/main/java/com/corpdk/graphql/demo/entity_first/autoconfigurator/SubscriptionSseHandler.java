@@ -0,0 +1,83 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.webmvc.GraphQlSseHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Serves subscriptions over server-sent events with an async timeout of their own, so that subscriptions waiting
+ * for the next change can stay open without lifting the timeout of every other async request.
+ */
+public class SubscriptionSseHandler extends GraphQlSseHandler {
+
+    private final long timeout;
+
+    /**
+     * @param timeout how long a subscription stream may stay open, zero or negative for no limit
+     */
+    public SubscriptionSseHandler(@NotNull WebGraphQlHandler graphQlHandler, @NotNull Duration timeout) {
+        super(graphQlHandler);
+        this.timeout = timeout.isPositive() ? timeout.toMillis() : 0;
+    }
+
+    @Override
+    protected ServerResponse prepareResponse(ServerRequest request, Mono<WebGraphQlResponse> responseMono) {
+        return new TimeoutResponse(super.prepareResponse(request, responseMono), this.timeout);
+    }
+
+    /**
+     * Sets the timeout of the async request the event stream was started in, before the container applies it.
+     */
+    private record TimeoutResponse(ServerResponse delegate, long timeout) implements ServerResponse {
+
+        @Override
+        public @NotNull HttpStatusCode statusCode() {
+            return this.delegate.statusCode();
+        }
+
+        /**
+         * Still part of {@link ServerResponse} until it is removed, only delegates.
+         */
+        @Override
+        @Deprecated
+        @SuppressWarnings("removal")
+        public int rawStatusCode() {
+            return this.delegate.statusCode().value();
+        }
+
+        @Override
+        public @NotNull HttpHeaders headers() {
+            return this.delegate.headers();
+        }
+
+        @Override
+        public @NotNull MultiValueMap<String, Cookie> cookies() {
+            return this.delegate.cookies();
+        }
+
+        @Override
+        public ModelAndView writeTo(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                                    @NotNull Context context) throws ServletException, IOException {
+            ModelAndView modelAndView = this.delegate.writeTo(request, response, context);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().setTimeout(this.timeout);
+            }
+            return modelAndView;
+        }
+    }
+}
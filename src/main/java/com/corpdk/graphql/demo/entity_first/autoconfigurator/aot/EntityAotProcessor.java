@@ -0,0 +1,68 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.aot;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the entities of {@code application.entity.package} at build time and registers what the autoconfigurator
+ * reflects on at runtime: the entity fields and getters, for the metamodel, {@code PropertyDataFetcher} and change
+ * feed filters, and the {@code <Entity>Filter} class of {@code application.entity.filters}, resolved by name and bound
+ * from GraphQL arguments. Repositories, generated or not, are contributed by Spring Data's own AOT processing.
+ */
+class EntityAotProcessor implements BeanFactoryInitializationAotProcessor {
+    private static final Log logger = LogFactory.getLog(EntityAotProcessor.class);
+
+    @Override
+    @Nullable
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Environment environment = beanFactory.getBean(Environment.class);
+        List<String> entityPackages = entityPackages(beanFactory, environment.getProperty("application.entity.package"));
+        String filtersPackage = environment.getProperty("application.entity.filters");
+
+        Set<Class<?>> entities = new LinkedHashSet<>();
+        entityPackages.forEach(entityPackage -> Helpers.scanForEntities(entityPackage).stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .forEach(entities::add));
+        if (entities.isEmpty()) {
+            return null;
+        }
+        logger.info("Registering native hints for " + entities.size() + " entities in " + entityPackages);
+
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        return (generationContext, code) -> {
+            ReflectionHints reflection = generationContext.getRuntimeHints().reflection();
+            for (Class<?> entity : entities) {
+                reflection.registerType(entity, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+                String filterName = filtersPackage + "." + entity.getSimpleName() + "Filter";
+                if (StringUtils.hasText(filtersPackage) && ClassUtils.isPresent(filterName, classLoader)) {
+                    reflection.registerType(ClassUtils.resolveClassName(filterName, classLoader),
+                            EntityFirstRuntimeHints.FILTER_BINDING);
+                }
+            }
+        };
+    }
+
+    private static List<String> entityPackages(ConfigurableListableBeanFactory beanFactory, @Nullable String entityPackage) {
+        if (StringUtils.hasText(entityPackage)) {
+            return List.of(entityPackage);
+        }
+        return AutoConfigurationPackages.has(beanFactory) ? AutoConfigurationPackages.get(beanFactory) : List.of();
+    }
+}
@@ -0,0 +1,80 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.aot;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.EntityChange;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.FetcherMetrics;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.QueryResultCache;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BooleanFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.FilterAccessPlan;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.IDFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.NumericFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.StringFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.validators.FilterValidator;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GeneratedSchemaConfigurer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Hints for running the autoconfigurator in a native image: the schema and access plans generated at compile time,
+ * the filter types bound from GraphQL arguments and validated, and the types of pages serialized by the result cache.
+ * The generated access plans are loaded here, at build time, to register their filter types.
+ */
+public class EntityFirstRuntimeHints implements RuntimeHintsRegistrar {
+    private static final Log logger = LogFactory.getLog(EntityFirstRuntimeHints.class);
+
+    /**
+     * What {@code GraphQlArgumentBinder}, {@code FilterProperties} and the filter validator use on a filter type.
+     */
+    static final MemberCategory[] FILTER_BINDING = {MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS};
+
+    private static final List<Class<?>> DEFAULT_FILTERS = List.of(BaseFilter.class, StringFilter.class, IDFilter.class,
+            NumericFilter.class, BooleanFilter.class);
+
+    private static final List<Class<? extends Serializable>> CACHED_VALUE_TYPES = List.of(ArrayList.class,
+            LinkedHashMap.class, String.class, Boolean.class, Number.class, Integer.class, Long.class, Float.class,
+            Double.class, BigInteger.class, BigDecimal.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, @Nullable ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern(GeneratedSchemaConfigurer.LOCATION.substring("classpath:".length()))
+                .registerPattern("META-INF/services/" + FilterAccessPlan.class.getName());
+
+        DEFAULT_FILTERS.forEach(filterType -> hints.reflection().registerType(filterType, FILTER_BINDING));
+        hints.reflection().registerType(FilterValidator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        try {
+            for (FilterAccessPlan accessPlan : ServiceLoader.load(FilterAccessPlan.class, classLoader)) {
+                hints.reflection().registerType(accessPlan.getClass(), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+                hints.reflection().registerType(accessPlan.filterType(), FILTER_BINDING);
+            }
+        } catch (ServiceConfigurationError ex) {
+            logger.warn("Cannot load filter access plans: " + ex.getMessage());
+        }
+
+        // subscription events are resolved by PropertyDataFetcher, through the record accessors
+        hints.reflection().registerType(EntityChange.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        // instantiated by Hibernate per session, from hibernate.session.events.auto
+        hints.reflection().registerType(FetcherMetrics.StatementListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        String fetchers = QueryResultCache.class.getPackageName();
+        hints.serialization()
+                .registerType(TypeReference.of(fetchers + ".CachedPage"))
+                .registerType(TypeReference.of(fetchers + ".PageTruncation"));
+        CACHED_VALUE_TYPES.forEach(type -> hints.serialization().registerType(type));
+    }
+}
@@ -0,0 +1,222 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.ResolvableType;
+import org.springframework.graphql.execution.SelfDescribingDataFetcher;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Runs fetchers on virtual threads, so that independent root fields of an operation are queried concurrently.
+ * Each fetch runs in its own read-only transaction, and with it its own connection; the number of fetches holding
+ * a connection at the same time is limited, leaving the rest of the pool to the request threads. Other work that
+ * takes a connection off the request thread, such as concurrent total counts and count cache refreshes, is run
+ * through {@link #connectionExecutor()} to hold one of the same permits.
+ * <p>Entities returned this way are detached once their transaction has completed, so their lazy associations
+ * are resolved by the batched relationship fetchers, see {@link RelationshipBatchLoaders}.
+ * <p>Pinning of fetcher threads, e.g. blocking inside a {@code synchronized} JDBC driver call, is reported from
+ * the {@code jdk.VirtualThreadPinned} JFR event.
+ */
+public class AsyncFetcherSupport implements MeterBinder, AutoCloseable {
+    private static final Log logger = LogFactory.getLog(AsyncFetcherSupport.class);
+
+    private static final String THREAD_PREFIX = "graphql-fetcher-";
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name(THREAD_PREFIX, 0).factory());
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Semaphore connections;
+
+    private final int maxConnections;
+
+    @Nullable
+    private final RecordingStream pinnedEvents;
+
+    private final LongAdder pinned = new LongAdder();
+
+    /**
+     * @param maxConnections  fetches that may hold a connection at the same time
+     * @param pinnedThreshold minimum duration of a pinned fetcher thread to report, or {@code null} not to report
+     */
+    public AsyncFetcherSupport(@NotNull PlatformTransactionManager transactionManager, int maxConnections,
+                               @Nullable Duration pinnedThreshold) {
+        Assert.isTrue(maxConnections > 0, "maxConnections must be greater than 0");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.connections = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.pinnedEvents = (pinnedThreshold != null) ? reportPinning(pinnedThreshold) : null;
+    }
+
+    /**
+     * @return a fetcher returning the result of the given one as a {@link CompletableFuture} on a virtual thread
+     */
+    public <V> @NotNull SelfDescribingDataFetcher<CompletableFuture<V>> decorate(@NotNull SelfDescribingDataFetcher<V> fetcher) {
+        return new AsyncDataFetcher<>(fetcher);
+    }
+
+    /**
+     * @return an executor running each task on a virtual thread while it holds one of the connection permits
+     */
+    public @NotNull Executor connectionExecutor() {
+        return task -> this.executor.execute(() -> {
+            this.connections.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                this.connections.release();
+            }
+        });
+    }
+
+    private <V> V fetch(SelfDescribingDataFetcher<V> fetcher, DataFetchingEnvironment environment) throws Exception {
+        this.connections.acquire();
+        try {
+            return this.transactionTemplate.execute(status -> {
+                try {
+                    return fetcher.get(environment);
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new AsyncFetchException(ex);
+                }
+            });
+        } catch (AsyncFetchException ex) {
+            throw (Exception) ex.getCause();
+        } finally {
+            this.connections.release();
+        }
+    }
+
+    @Nullable
+    private RecordingStream reportPinning(Duration threshold) {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            stream.startAsync();
+            return stream;
+        } catch (RuntimeException ex) {
+            logger.warn("Virtual thread pinning is not reported, JFR is not available: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        if (thread == null || thread.getJavaName() == null || !thread.getJavaName().startsWith(THREAD_PREFIX)) {
+            return;
+        }
+        this.pinned.increment();
+        if (logger.isWarnEnabled()) {
+            RecordedStackTrace stackTrace = event.getStackTrace();
+            String frames = (stackTrace == null) ? "" : stackTrace.getFrames().stream()
+                    .limit(8)
+                    .map(AsyncFetcherSupport::describe)
+                    .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+            logger.warn("Fetcher thread " + thread.getJavaName() + " pinned for " + event.getDuration().toMillis() + "ms" + frames);
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    public long getPinnedCount() {
+        return this.pinned.sum();
+    }
+
+    public int getActiveConnections() {
+        return this.maxConnections - this.connections.availablePermits();
+    }
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        FunctionCounter.builder("graphql.async.pinned", this, AsyncFetcherSupport::getPinnedCount)
+                .description("Fetcher virtual threads pinned to their carrier beyond the threshold").register(registry);
+        Gauge.builder("graphql.async.connections.active", this, AsyncFetcherSupport::getActiveConnections)
+                .description("Asynchronous fetches holding a connection").register(registry);
+        Gauge.builder("graphql.async.connections.waiting", this.connections, Semaphore::getQueueLength)
+                .description("Asynchronous fetches waiting for a connection").register(registry);
+    }
+
+    @Override
+    public void close() {
+        if (this.pinnedEvents != null) {
+            this.pinnedEvents.close();
+        }
+        this.executor.shutdown();
+    }
+
+    private static final class AsyncFetchException extends RuntimeException {
+
+        AsyncFetchException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private class AsyncDataFetcher<V> implements SelfDescribingDataFetcher<CompletableFuture<V>> {
+
+        private final SelfDescribingDataFetcher<V> delegate;
+
+        AsyncDataFetcher(SelfDescribingDataFetcher<V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Async" + this.delegate.getDescription();
+        }
+
+        @Override
+        public ResolvableType getReturnType() {
+            return this.delegate.getReturnType();
+        }
+
+        @Override
+        public Map<String, ResolvableType> getArguments() {
+            return this.delegate.getArguments();
+        }
+
+        @Override
+        public CompletableFuture<V> get(DataFetchingEnvironment environment) {
+            CompletableFuture<V> result = new CompletableFuture<>();
+            AsyncFetcherSupport.this.executor.execute(() -> {
+                try {
+                    result.complete(fetch(this.delegate, environment));
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+            return result;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import org.springframework.lang.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fetcher result reduced to plain data: one map of the selected properties per row, nested the same way for
+ * selected associations. Safe to share between requests and to move into the off-heap tier row by row.
+ *
+ * @param rows       the materialized rows, at most one for single results
+ * @param cursors    the cursor of each row for Connection results, otherwise {@code null}
+ * @param hasNext    whether a Connection window has a next page
+ * @param totalCount the total count of a Connection, when it was selected
+ * @param truncation  the truncation of a list or Connection by the maximum page size, if any
+ */
+record CachedPage(List<Object> rows, @Nullable List<String> cursors, boolean hasNext,
+                  @Nullable Long totalCount, @Nullable PageTruncation truncation) {
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter("java.base/*;!*");
+
+    CachedPage withTotalCount(@Nullable Long totalCount) {
+        return new CachedPage(this.rows, this.cursors, this.hasNext, totalCount, this.truncation);
+    }
+
+    CachedPage withTruncation(@Nullable PageTruncation truncation) {
+        return new CachedPage(this.rows, this.cursors, this.hasNext, this.totalCount, truncation);
+    }
+
+    /**
+     * Rough heap footprint of the rows and cursors in bytes, from a walk over the values rather than serializing
+     * them, to decide which pages go off-heap.
+     */
+    long estimatedSize() {
+        long size = estimatedSize(this.rows);
+        if (this.cursors != null) {
+            size += estimatedSize(this.cursors);
+        }
+        return size;
+    }
+
+    private static long estimatedSize(@Nullable Object value) {
+        return switch (value) {
+            case null -> 8;
+            case CharSequence text -> 48 + 2L * text.length();
+            case Map<?, ?> map -> {
+                long size = 64;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    size += 40 + estimatedSize(entry.getKey()) + estimatedSize(entry.getValue());
+                }
+                yield size;
+            }
+            case Iterable<?> elements -> {
+                long size = 48;
+                for (Object element : elements) {
+                    size += 8 + estimatedSize(element);
+                }
+                yield size;
+            }
+            default -> 32;
+        };
+    }
+
+    private static boolean isJavaBase(@Nullable Object value) {
+        return switch (value) {
+            case null -> true;
+            case Map<?, ?> map -> map.entrySet().stream().allMatch(entry -> isJavaBase(entry.getKey()) && isJavaBase(entry.getValue()));
+            case List<?> elements -> elements.stream().allMatch(CachedPage::isJavaBase);
+            default -> value.getClass().getModule() == Object.class.getModule() && value instanceof Serializable;
+        };
+    }
+
+    /**
+     * @return the page with each row serialized on its own into one direct buffer, or {@code null} if a property
+     * value is not a serializable {@code java.base} type
+     */
+    @Nullable
+    OffHeap toOffHeap() {
+        if (!isJavaBase(this.rows)) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE, estimatedSize()));
+        int[] offsets = new int[this.rows.size() + 1];
+        try {
+            for (int i = 0; i < this.rows.size(); i++) {
+                offsets[i] = bytes.size();
+                try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+                    output.writeObject(this.rows.get(i));
+                }
+            }
+        } catch (IOException ex) {
+            return null;
+        }
+        offsets[this.rows.size()] = bytes.size();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size()).put(bytes.toByteArray()).flip();
+        return new OffHeap(buffer, offsets, this.cursors, this.hasNext, this.totalCount, this.truncation);
+    }
+
+    /**
+     * A page whose rows stay serialized in a direct buffer. Its rows are read back one at a time as they are
+     * resolved, so a hit only allocates short-lived copies of the rows and never the whole page at once.
+     *
+     * @param offsets the start of each row in the buffer, followed by the end of the last row
+     */
+    record OffHeap(ByteBuffer buffer, int[] offsets, @Nullable List<String> cursors, boolean hasNext,
+                   @Nullable Long totalCount, @Nullable PageTruncation truncation) {
+
+        int size() {
+            return this.buffer.capacity();
+        }
+
+        CachedPage toPage() {
+            List<Object> rows = new AbstractList<>() {
+                @Override
+                public Object get(int index) {
+                    return readRow(index);
+                }
+
+                @Override
+                public int size() {
+                    return offsets.length - 1;
+                }
+            };
+            return new CachedPage(rows, this.cursors, this.hasNext, this.totalCount, this.truncation);
+        }
+
+        private Object readRow(int index) {
+            byte[] bytes = new byte[this.offsets[index + 1] - this.offsets[index]];
+            this.buffer.get(this.offsets[index], bytes);
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                input.setObjectInputFilter(FILTER);
+                return input.readObject();
+            } catch (IOException | ClassNotFoundException ex) {
+                throw new IllegalStateException("Cannot read cached row", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityCommitListener;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A committed change delivered to a change feed subscriber, the value of the generated {@code <Entity>Change} type.
+ *
+ * @param operation {@code INSERT} if the entity entered the subscriber's filter, {@code DELETE} if it left it
+ * @param id        the identifier of the entity
+ * @param entity    a detached copy of the entity as committed, without its associations, or {@code null} for a
+ *                  {@code DELETE}
+ */
+public record EntityChange(@NotNull EntityCommitListener.Operation operation, @NotNull Object id, @Nullable Object entity) {
+
+    /**
+     * @return the change replacing this pending one when {@code next} follows it, or {@code null} if they cancel out
+     */
+    EntityChange coalesce(@NotNull EntityChange next) {
+        return switch (this.operation) {
+            case INSERT -> (next.operation == EntityCommitListener.Operation.DELETE) ? null :
+                    new EntityChange(EntityCommitListener.Operation.INSERT, this.id, next.entity);
+            case DELETE -> (next.operation == EntityCommitListener.Operation.INSERT) ?
+                    new EntityChange(EntityCommitListener.Operation.UPDATE, this.id, next.entity) : next;
+            case UPDATE -> next;
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityCommitListener;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications.FilterMatcher;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes committed inserts, updates and deletes to subscribers of an entity type, see {@link EntityCommitListener}.
+ * <p>Each subscriber's filter is evaluated in memory against the committed state, see {@link FilterMatcher}: an
+ * update is delivered as {@code INSERT} if it moved the entity into the filter, as {@code DELETE} if it moved it out.
+ * Changes are held per subscriber by entity id for the coalescing window and until the subscriber requests them, so
+ * that a burst of writes to the same rows reaches it as one change per row. A subscriber holding more than the
+ * maximum pending changes is terminated with an error instead of slowing down the committing transactions.
+ */
+public class EntityChangeFeed implements EntityCommitListener.Callback {
+    private static final Log logger = LogFactory.getLog(EntityChangeFeed.class);
+
+    private final Duration coalesceWindow;
+
+    private final int maxPending;
+
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    private final Map<Class<?>, Set<ChangeSubscription>> subscriptions = new ConcurrentHashMap<>();
+
+    public EntityChangeFeed(@NotNull Duration coalesceWindow, int maxPending) {
+        Assert.isTrue(!coalesceWindow.isNegative(), "coalesceWindow must not be negative");
+        Assert.isTrue(maxPending > 0, "maxPending must be greater than 0");
+        this.coalesceWindow = coalesceWindow;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @return the changes of the given entity type matching the filter, committed after the subscription
+     */
+    public Flux<EntityChange> subscribe(@NotNull Class<?> entityType, @Nullable BaseFilter<?> filter) {
+        FilterMatcher matcher = FilterMatcher.of(filter);
+        return Flux.create(sink -> {
+            ChangeSubscription subscription = new ChangeSubscription(matcher, sink);
+            Set<ChangeSubscription> subscribers = this.subscriptions.computeIfAbsent(entityType, type -> ConcurrentHashMap.newKeySet());
+            subscribers.add(subscription);
+            sink.onRequest(n -> subscription.drain());
+            sink.onDispose(() -> subscribers.remove(subscription));
+            logger.debug("Subscribed to changes of " + entityType.getSimpleName() + ", subscribers: " + subscribers.size());
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    public int getSubscriberCount(@NotNull Class<?> entityType) {
+        Set<ChangeSubscription> subscribers = this.subscriptions.get(entityType);
+        return (subscribers != null) ? subscribers.size() : 0;
+    }
+
+    @Override
+    public void committed(@NotNull EntityCommitListener.Operation operation, @NotNull Class<?> entityType, Object entity) {
+        // Changes are only published with their committed state
+    }
+
+    /**
+     * Matches the committed state against the filters on the committing thread, and delivers a detached copy of
+     * it, as the managed entity may still change once handed to the subscribers' threads.
+     */
+    @Override
+    public void committed(@NotNull EntityCommitListener.Operation operation, @NotNull Class<?> entityType, Object entity,
+                          @NotNull EntityCommitListener.CommittedState state) {
+        Set<ChangeSubscription> subscribers = this.subscriptions.get(entityType);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> properties = state.getState();
+        Map<String, Object> previousProperties = state.getPreviousState();
+        Object copy = null;
+        for (ChangeSubscription subscription : subscribers) {
+            EntityCommitListener.Operation delivered = subscription.transition(operation, entityType, properties, previousProperties);
+            if (delivered == null) {
+                continue;
+            }
+            if (copy == null && delivered != EntityCommitListener.Operation.DELETE) {
+                copy = state.toDetachedCopy();
+            }
+            subscription.offer(new EntityChange(delivered, state.getId(),
+                    (delivered != EntityCommitListener.Operation.DELETE) ? copy : null));
+        }
+    }
+
+    private final class ChangeSubscription {
+
+        private final FilterMatcher matcher;
+
+        private final FluxSink<EntityChange> sink;
+
+        private final Map<Object, EntityChange> pending = new LinkedHashMap<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        ChangeSubscription(FilterMatcher matcher, FluxSink<EntityChange> sink) {
+            this.matcher = matcher;
+            this.sink = sink;
+        }
+
+        /**
+         * @return the operation as seen through the filter, or {@code null} if the entity was not and is not in it
+         */
+        @Nullable
+        EntityCommitListener.Operation transition(EntityCommitListener.Operation operation, Class<?> entityType,
+                                                  Map<String, Object> properties, @Nullable Map<String, Object> previousProperties) {
+            try {
+                boolean matches = this.matcher.matches(properties::get);
+                if (operation != EntityCommitListener.Operation.UPDATE) {
+                    return matches ? operation : null;
+                }
+                boolean matched = (previousProperties != null) ? this.matcher.matches(previousProperties::get) : matches;
+                if (matches) {
+                    return matched ? EntityCommitListener.Operation.UPDATE : EntityCommitListener.Operation.INSERT;
+                }
+                return matched ? EntityCommitListener.Operation.DELETE : null;
+            } catch (RuntimeException ex) {
+                logger.warn("Could not match " + operation + " of " + entityType.getSimpleName() + " against a change filter", ex);
+                return null;
+            }
+        }
+
+        void offer(EntityChange change) {
+            int size;
+            synchronized (this.pending) {
+                EntityChange previous = this.pending.remove(change.id());
+                EntityChange coalesced = (previous != null) ? previous.coalesce(change) : change;
+                if (coalesced != null) {
+                    this.pending.put(change.id(), coalesced);
+                }
+                size = this.pending.size();
+            }
+            if (size > EntityChangeFeed.this.maxPending) {
+                this.sink.error(new IllegalStateException("Change subscriber fell behind by more than " +
+                        EntityChangeFeed.this.maxPending + " changes"));
+                return;
+            }
+            if (this.scheduled.compareAndSet(false, true)) {
+                EntityChangeFeed.this.scheduler.schedule(() -> {
+                    this.scheduled.set(false);
+                    drain();
+                }, EntityChangeFeed.this.coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void drain() {
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (this.sink.requestedFromDownstream() > 0 && !this.sink.isCancelled()) {
+                    EntityChange change = poll();
+                    if (change == null) {
+                        break;
+                    }
+                    this.sink.next(change);
+                }
+                missed = this.wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        @Nullable
+        private EntityChange poll() {
+            synchronized (this.pending) {
+                Iterator<EntityChange> iterator = this.pending.values().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                EntityChange change = iterator.next();
+                iterator.remove();
+                return change;
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import jakarta.persistence.Id;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.buildPropertyPaths;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.toOnePropertyPaths;
+
+/**
+ * Everything the fetchers of one domain type need that does not change between requests: the resolved filter
+ * class and its {@link ResolvableType}, plus a memo of property and fetch paths per distinct selection-set shape.
+ */
+public final class FetcherMetadata<T> {
+    private static final Log logger = LogFactory.getLog(FetcherMetadata.class);
+
+    static final int MAX_SELECTION_SHAPES = 512;
+
+    private static final String CONNECTION_EDGES = "edges";
+
+    private static final String CONNECTION_NODE_FIELDS = "edges/node/*";
+
+    private final TypeInformation<T> domainType;
+
+    @Nullable
+    private final Class<?> filterClass;
+
+    @Nullable
+    private final ResolvableType filterType;
+
+    private final String filterClassName;
+
+    @Nullable
+    private final String idProperty;
+
+    private final Map<List<String>, SelectionPaths> selectionPaths = new ConcurrentHashMap<>();
+
+    private final Map<String, Boolean> nullableProperties = new ConcurrentHashMap<>();
+
+    private FetcherMetadata(TypeInformation<T> domainType, String filterClassName, @Nullable Class<?> filterClass,
+                            @Nullable String idProperty) {
+        this.domainType = domainType;
+        this.filterClassName = filterClassName;
+        this.filterClass = filterClass;
+        this.filterType = (filterClass != null) ? ResolvableType.forClass(filterClass) : null;
+        this.idProperty = idProperty;
+    }
+
+    public static <T> @NotNull FetcherMetadata<T> resolve(@NotNull TypeInformation<T> domainType, String filtersBasePackage) {
+        return resolve(domainType, filtersBasePackage, null);
+    }
+
+    /**
+     * @param entity the introspected entity, saves looking up its id property again
+     */
+    public static <T> @NotNull FetcherMetadata<T> resolve(@NotNull TypeInformation<T> domainType, String filtersBasePackage,
+                                                          @Nullable EntityMetamodel.EntityDescriptor entity) {
+        Class<T> domainClass = domainType.getType();
+        String filterClassName = filtersBasePackage + "." + domainClass.getSimpleName() + "Filter";
+        Class<?> filterClass = null;
+        try {
+            filterClass = ClassUtils.forName(filterClassName, domainClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError ex) {
+            logger.warn("No filter class '" + filterClassName + "' found for " + domainClass.getName());
+        }
+        String idProperty = (entity != null && entity.idProperty() != null) ? entity.idProperty() : findIdProperty(domainClass);
+        return new FetcherMetadata<>(domainType, filterClassName, filterClass, idProperty);
+    }
+
+    public TypeInformation<T> getDomainType() {
+        return this.domainType;
+    }
+
+    @Nullable
+    public Class<?> getFilterClass() {
+        return this.filterClass;
+    }
+
+    public @NotNull ResolvableType getFilterType() throws ClassNotFoundException {
+        if (this.filterType == null) {
+            throw new ClassNotFoundException(this.filterClassName);
+        }
+        return this.filterType;
+    }
+
+    /**
+     * @return the name of the {@link Id} property, used as the tiebreaker of every scroll sort
+     */
+    @Nullable
+    public String getIdProperty() {
+        return this.idProperty;
+    }
+
+    /**
+     * Whether the value of a (dotted) sort property can be null: unless every field on the path is primitive, the
+     * id, or a non-nullable column or join column. Unknown properties count as nullable.
+     */
+    public boolean isNullable(@NotNull String propertyPath) {
+        return this.nullableProperties.computeIfAbsent(propertyPath, path -> {
+            Class<?> type = this.domainType.getType();
+            for (String property : StringUtils.tokenizeToStringArray(path, ".")) {
+                Field field = ReflectionUtils.findField(type, property);
+                if (field == null || !(field.getType().isPrimitive() || EntityMetamodel.isNonNull(field))) {
+                    return true;
+                }
+                type = field.getType();
+            }
+            return false;
+        });
+    }
+
+    public boolean requiresProjection(@NotNull Class<?> resultType) {
+        return Helpers.requiresProjection(this.domainType, resultType);
+    }
+
+    /**
+     * Property paths for the selection, memoized by the shape (fully qualified field names) of the selection set.
+     * Only meaningful for fetchers that do not project, i.e. whose result type is the domain type.
+     */
+    public Collection<String> getPropertyPaths(@NotNull DataFetchingFieldSelectionSet selectionSet) {
+        return getSelectionPaths(selectionSet).properties();
+    }
+
+    /**
+     * The selected property paths cut back to their to-one associations, i.e. what can be fetched together with
+     * the root without multiplying its rows.
+     */
+    public Collection<String> getFetchPaths(@NotNull DataFetchingFieldSelectionSet selectionSet) {
+        return getSelectionPaths(selectionSet).fetches();
+    }
+
+    /**
+     * The selected columns when the selection, or the connection node selection, consists of root properties
+     * only; otherwise {@code null}. Used by {@link TupleProjection}.
+     */
+    @Nullable
+    public List<String> getScalarColumns(@NotNull DataFetchingFieldSelectionSet selectionSet) {
+        return getSelectionPaths(selectionSet).columns();
+    }
+
+    private SelectionPaths getSelectionPaths(@NotNull DataFetchingFieldSelectionSet selectionSet) {
+        List<SelectedField> fields = selectionSet.getFields();
+        String[] shape = new String[fields.size()];
+        for (int i = 0; i < shape.length; i++) {
+            shape[i] = fields.get(i).getFullyQualifiedName();
+        }
+        List<String> key = List.of(shape);
+
+        SelectionPaths paths = this.selectionPaths.get(key);
+        if (paths == null) {
+            Collection<String> properties = buildPropertyPaths(selectionSet, this.domainType, this.domainType.getType());
+            paths = new SelectionPaths(properties, toOnePropertyPaths(this.domainType, properties),
+                    scalarColumns(selectionSet, properties));
+            if (this.selectionPaths.size() < MAX_SELECTION_SHAPES) {
+                this.selectionPaths.putIfAbsent(key, paths);
+            }
+        }
+        return paths;
+    }
+
+    @Nullable
+    private static String findIdProperty(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    return field.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static List<String> scalarColumns(DataFetchingFieldSelectionSet selectionSet, Collection<String> properties) {
+        List<SelectedField> fields = selectionSet.contains(CONNECTION_EDGES) ?
+                selectionSet.getFields(CONNECTION_NODE_FIELDS) : selectionSet.getImmediateFields();
+        Set<String> columns = new LinkedHashSet<>();
+        for (SelectedField field : fields) {
+            if (field.getName().startsWith("__")) {
+                continue;
+            }
+            if (!properties.contains(field.getName())) {
+                return null;
+            }
+            columns.add(field.getName());
+        }
+        return columns.isEmpty() ? null : List.copyOf(columns);
+    }
+
+    private record SelectionPaths(Collection<String> properties, Collection<String> fetches, @Nullable List<String> columns) {
+    }
+}
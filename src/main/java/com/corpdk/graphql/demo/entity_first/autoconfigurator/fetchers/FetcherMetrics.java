@@ -0,0 +1,282 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.ConfigureFetchers;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.internal.SessionEventListenerManagerImpl;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times the stages of the generated fetchers, as {@code graphql.fetcher.stage} timers tagged by entity, fetcher kind
+ * and stage, and counts the rows they return in the {@code graphql.fetcher.rows} summary.
+ * <p>
+ * Binding, validating and building the Specification are timed where they happen. The rest of a fetch is split by
+ * the JDBC statements Hibernate reports to {@link StatementListener}: up to the first statement the query is created
+ * and rendered, then the statements are prepared and executed, and after the first the rows are read and turned
+ * into entities or tuples. A fetch that runs no statement was answered from a cache and is timed as a whole as
+ * {@link Stage#CACHE}. Statements only count towards the fetch on the thread that runs it: the count query that
+ * computes the {@code totalCount} of a Connection concurrently runs on another thread and is timed as a whole as
+ * {@link Stage#TOTAL_COUNT}, see {@link #offThread}. The meters are resolved once per fetcher, recording is a
+ * {@link System#nanoTime()} per stage and a thread local lookup per statement.
+ */
+public class FetcherMetrics {
+
+    public enum Stage {
+        /** binding the filter argument */
+        BIND,
+        /** validating the bound filter */
+        VALIDATION,
+        /** building the Specification, or binding the cached query plan, from the filter */
+        SPECIFICATION,
+        /** creating the JPA query and rendering its SQL, up to the first statement */
+        QUERY,
+        /** preparing and executing the JDBC statements */
+        SQL,
+        /** reading the rows and turning them into entities, projections or tuples */
+        HYDRATION,
+        /** answering without a statement, e.g. from the result or count cache */
+        CACHE,
+        /** the concurrent count query of a Connection's {@code totalCount}, on its own thread */
+        TOTAL_COUNT;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final ThreadLocal<Fetch> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    private final boolean histogram;
+
+    /**
+     * @param histogram publish percentile histograms, for the percentiles to be aggregated across instances, at the
+     *                  cost of one time series per bucket and stage
+     */
+    public FetcherMetrics(@NotNull MeterRegistry registry, boolean histogram) {
+        this.registry = registry;
+        this.histogram = histogram;
+    }
+
+    public @NotNull Recorder recorder(@NotNull Class<?> entityType, @NotNull ConfigureFetchers.FetcherKind kind) {
+        String entity = entityType.getSimpleName();
+        String kindTag = kind.name().toLowerCase(Locale.ROOT);
+        Timer[] timers = new Timer[Stage.values().length];
+        for (Stage stage : Stage.values()) {
+            timers[stage.ordinal()] = Timer.builder("graphql.fetcher.stage")
+                    .description("Time spent in a stage of the generated data fetchers")
+                    .tags("entity", entity, "kind", kindTag, "stage", stage.tag)
+                    .publishPercentileHistogram(this.histogram)
+                    .minimumExpectedValue(Duration.ofNanos(1000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(this.registry);
+        }
+        DistributionSummary rows = (kind == ConfigureFetchers.FetcherKind.COUNT) ? null :
+                DistributionSummary.builder("graphql.fetcher.rows")
+                        .description("Rows returned by the generated data fetchers")
+                        .baseUnit("rows")
+                        .tags("entity", entity, "kind", kindTag)
+                        .publishPercentileHistogram(this.histogram)
+                        .maximumExpectedValue(1e6)
+                        .register(this.registry);
+        return new Recorder(timers, rows);
+    }
+
+    /**
+     * Wraps a query that runs on another thread on behalf of the fetch in progress on the calling thread, so its time
+     * is recorded as the given stage of that fetch rather than lost.
+     */
+    static <V> @NotNull Supplier<V> offThread(@NotNull Stage stage, @NotNull Supplier<V> query) {
+        Fetch fetch = CURRENT.get();
+        if (fetch == null) {
+            return query;
+        }
+        Timer timer = fetch.recorder.timers[stage.ordinal()];
+        return () -> {
+            long started = System.nanoTime();
+            try {
+                return query.get();
+            } finally {
+                timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /**
+     * The meters of one fetcher.
+     */
+    public static final class Recorder {
+
+        private final Timer[] timers;
+
+        @Nullable
+        private final DistributionSummary rows;
+
+        private Recorder(Timer[] timers, @Nullable DistributionSummary rows) {
+            this.timers = timers;
+            this.rows = rows;
+        }
+
+        /**
+         * Records a stage timed by the fetcher, which the enclosing fetch does not count towards the query stage.
+         */
+        void record(Stage stage, long nanos) {
+            this.timers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            Fetch fetch = CURRENT.get();
+            if (fetch != null) {
+                fetch.timed += nanos;
+            }
+        }
+
+        /**
+         * Starts a fetch on the current thread, to be stopped by the same thread.
+         */
+        Fetch start() {
+            Fetch fetch = new Fetch(this, CURRENT.get());
+            CURRENT.set(fetch);
+            return fetch;
+        }
+    }
+
+    /**
+     * The statements and timed stages of a fetch in progress on the current thread.
+     */
+    static final class Fetch {
+
+        private final Recorder recorder;
+
+        @Nullable
+        private final Fetch outer;
+
+        private final long started = System.nanoTime();
+
+        private long timed;
+
+        private long firstStatement = -1;
+
+        private long statementStarted;
+
+        private long sql;
+
+        private Fetch(Recorder recorder, @Nullable Fetch outer) {
+            this.recorder = recorder;
+            this.outer = outer;
+        }
+
+        private void statementStarted() {
+            this.statementStarted = System.nanoTime();
+            if (this.firstStatement < 0) {
+                this.firstStatement = this.statementStarted;
+            }
+        }
+
+        private void statementEnded() {
+            this.sql += System.nanoTime() - this.statementStarted;
+        }
+
+        /**
+         * @param result the result of the fetch, {@code null} counting as no rows
+         */
+        void stop(@Nullable Object result) {
+            stop();
+            if (this.recorder.rows != null) {
+                this.recorder.rows.record(rows(result));
+            }
+        }
+
+        /**
+         * Stops a fetch that failed, recording its stages but no rows.
+         */
+        void stop() {
+            long stopped = System.nanoTime();
+            CURRENT.set(this.outer);
+            Timer[] timers = this.recorder.timers;
+            if (this.firstStatement < 0) {
+                timers[Stage.CACHE.ordinal()].record(Math.max(stopped - this.started - this.timed, 0), TimeUnit.NANOSECONDS);
+            } else {
+                timers[Stage.QUERY.ordinal()].record(Math.max(this.firstStatement - this.started - this.timed, 0), TimeUnit.NANOSECONDS);
+                timers[Stage.SQL.ordinal()].record(this.sql, TimeUnit.NANOSECONDS);
+                timers[Stage.HYDRATION.ordinal()].record(Math.max(stopped - this.firstStatement - this.sql, 0), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private static long rows(@Nullable Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Window<?> window) {
+                return window.size();
+            }
+            return (result instanceof Collection<?> collection) ? collection.size() : 1;
+        }
+    }
+
+    /**
+     * Reports the JDBC statements of a Hibernate session to the fetch in progress on the thread, if any. Registered
+     * as {@code hibernate.session.events.auto}, Hibernate creates one per session.
+     */
+    public static class StatementListener implements SessionEventListener {
+
+        @Override
+        public void jdbcPrepareStatementStart() {
+            Fetch fetch = CURRENT.get();
+            if (fetch != null) {
+                fetch.statementStarted();
+            }
+        }
+
+        @Override
+        public void jdbcPrepareStatementEnd() {
+            Fetch fetch = CURRENT.get();
+            if (fetch != null) {
+                fetch.statementEnded();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            jdbcPrepareStatementStart();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            jdbcPrepareStatementEnd();
+        }
+    }
+
+    /**
+     * Runs the listener that was already configured as {@code hibernate.session.events.auto}, which takes a single
+     * class, followed by a {@link StatementListener}. Hibernate creates one per session with the no-arg constructor,
+     * so the configured listener class is set once, while the entity manager factory is configured.
+     */
+    public static class ChainedStatementListener extends SessionEventListenerManagerImpl {
+
+        @Nullable
+        private static volatile Class<? extends SessionEventListener> chained;
+
+        public ChainedStatementListener() {
+            super(BeanUtils.instantiateClass(chained()), new StatementListener());
+        }
+
+        public static void chain(@NotNull Class<? extends SessionEventListener> listenerType) {
+            chained = listenerType;
+        }
+
+        private static Class<? extends SessionEventListener> chained() {
+            Class<? extends SessionEventListener> listenerType = chained;
+            Assert.state(listenerType != null, "No session event listener to chain");
+            return listenerType;
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
 
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.ConfigureFetchers;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GraphQLOperationsConfigurer;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.ApproximateCounter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.BoundJpqlQuery;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.FilterCountCache;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.FilterFingerprint;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.FilterQueryPlanCache;
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications.SpecificationGenerator;
+import graphql.extensions.ExtensionsBuilder;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
@@ -15,6 +26,8 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
 import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Window;
@@ -30,6 +43,7 @@ import org.springframework.graphql.data.GraphQlArgumentBinder;
 import org.springframework.graphql.data.GraphQlRepository;
 import org.springframework.graphql.data.pagination.CursorEncoder;
 import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.graphql.data.pagination.EncodingCursorStrategy;
 import org.springframework.graphql.data.query.ScrollPositionCursorStrategy;
 import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
@@ -38,22 +52,37 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindException;
+import reactor.core.publisher.Flux;
 
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
-import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.buildPropertyPaths;
-import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.requiresProjection;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.createEntityGraph;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.fetchJoins;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.toSort;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.ConnectionTotalCountConfigurer.TOTAL_COUNT;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GraphQLSubscriptionsConfigurer.CHANGES;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.GraphQLSubscriptionsConfigurer.SUBSCRIPTION;
 
 public abstract class JpaSpecificationDataFetcher<T> {
     private static final Log logger = LogFactory.getLog(JpaSpecificationDataFetcher.class);
 
-    private final String filtersBasePackage;
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private static final String ORDER_BY = "orderBy";
+
+    private static final CursorStrategy<ScrollPosition> DEFAULT_CURSOR_STRATEGY = keysetCursorStrategy();
+
+    private final FetcherMetadata<T> metadata;
 
     private final TypeInformation<T> domainType;
 
@@ -61,11 +90,20 @@ public abstract class JpaSpecificationDataFetcher<T> {
 
     private final Validator validator;
 
-    JpaSpecificationDataFetcher(TypeInformation<T> domainType, String filtersBasePackage, Validator validator) {
-        this.domainType = domainType;
+    @Nullable
+    private final FilterQueryPlanCache queryPlanCache;
+
+    @Nullable
+    private final FetcherMetrics.Recorder metrics;
+
+    JpaSpecificationDataFetcher(FetcherMetadata<T> metadata, Validator validator, @Nullable FilterQueryPlanCache queryPlanCache,
+                                @Nullable FetcherMetrics.Recorder metrics) {
+        this.metadata = metadata;
+        this.domainType = metadata.getDomainType();
         this.argumentBinder = new GraphQlArgumentBinder();
-        this.filtersBasePackage = filtersBasePackage;
         this.validator = validator;
+        this.queryPlanCache = queryPlanCache;
+        this.metrics = metrics;
     }
 
     @Nullable
@@ -110,35 +148,29 @@ public abstract class JpaSpecificationDataFetcher<T> {
         return new Builder<>(executor, getDomainType(executor));
     }
 
-    public static @NotNull RuntimeWiringConfigurer autoRegistrationConfigurer(
-            String filtersBasePackage, Validator validator, @NotNull List<JpaSpecificationExecutor<?>> executors) {
-        logger.info("No of Executors: " + executors.size());
-        return autoRegistrationConfigurer(filtersBasePackage, validator, executors, null, null);
-    }
-
+    /**
+     * Wires the generated fetchers of every executor whose repository is a {@link GraphQlRepository}.
+     *
+     * @param customizers applied to the builder of every executor, before the executor's own customization, e.g. to
+     *                    add caches, relationship fetchers or the change feed
+     */
     public static @NotNull RuntimeWiringConfigurer autoRegistrationConfigurer(
             String filtersBasePackage, Validator validator, @NotNull List<JpaSpecificationExecutor<?>> executors,
-            @Nullable CursorStrategy<ScrollPosition> cursorStrategy,
-            @Nullable ScrollSubrange defaultScrollSubrange) {
+            @NotNull List<JpaSpecificationBuilderCustomizer<?, ?>> customizers) {
+        logger.info("No of Executors: " + executors.size());
 
         Map<String, ConfigureFetchers.DataFetcherFactory> factories = new HashMap<>();
+        Map<FieldCoordinates, DataFetcher<?>> fieldFetchers = new HashMap<>();
+        Map<String, ConfigureFetchers.QueryField> queryFields = new HashMap<>();
 
         for (JpaSpecificationExecutor<?> executor : executors) {
             String typeName = getGraphQlTypeName(executor);
             if (typeName != null) {
-                Builder<?, ?> builder = customize(executor, builder(executor)
+                Builder<?, ?> customized = customize(executor, customizers, builder(executor)
                         .filtersBasePackage(filtersBasePackage)
-                        .validator(validator)
-                        .cursorStrategy(cursorStrategy)
-                        .defaultScrollSubRange(20, next -> {
-                            AtomicReference<ScrollPosition> scrollPosition = new AtomicReference<>();
-                            if (defaultScrollSubrange != null) {
-                                defaultScrollSubrange.position().ifPresent(scrollPosition::set);
-                            } else {
-                                scrollPosition.set(null);
-                            }
-                            return scrollPosition.get();
-                        }));
+                        .validator(validator));
+                // Resolved once, for the fetchers of every kind to share
+                Builder<?, ?> builder = customized.withResolvedMetadata();
                 factories.put(typeName, new ConfigureFetchers.DataFetcherFactory() {
                     @Override
                     public DataFetcher<?> single() {
@@ -160,6 +192,15 @@ public abstract class JpaSpecificationDataFetcher<T> {
                         return builder.count();
                     }
                 });
+                fieldFetchers.putAll(builder.settings.relationshipFetchers);
+                if (builder.settings.changeFeed != null) {
+                    fieldFetchers.put(FieldCoordinates.coordinates(SUBSCRIPTION, typeName.toLowerCase() + CHANGES),
+                            builder.changes(builder.settings.changeFeed));
+                }
+                EntityMetamodel.EntityDescriptor entity = builder.getEntity();
+                if (entity != null) {
+                    queryFields.putAll(GraphQLOperationsConfigurer.queryFields(entity));
+                }
             }
         }
 
@@ -167,17 +208,49 @@ public abstract class JpaSpecificationDataFetcher<T> {
             logger.trace("Auto-registration candidate typeNames " + factories.keySet());
         }
 
-        return new ConfigureFetchers(factories);
+        DataFetcher<?> totalCountFetcher = new TotalCountDataFetcher();
+        factories.keySet().forEach(typeName ->
+                fieldFetchers.put(FieldCoordinates.coordinates(typeName + "Connection", TOTAL_COUNT), totalCountFetcher));
+
+        return new ConfigureFetchers(factories, fieldFetchers, queryFields);
+    }
+
+    /**
+     * Base64 cursors of offset and keyset positions, with the keys written by {@link TypedKeysetCursorStrategy} so
+     * that a cursor can only ever be read back into an allowlisted scalar type.
+     */
+    public static @NotNull EncodingCursorStrategy<ScrollPosition> keysetCursorStrategy() {
+        return CursorStrategy.withEncoder(new ScrollPositionCursorStrategy(new TypedKeysetCursorStrategy()), CursorEncoder.base64());
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static Builder customize(JpaSpecificationExecutor<?> executor, Builder builder) {
+    private static Builder customize(JpaSpecificationExecutor<?> executor, List<JpaSpecificationBuilderCustomizer<?, ?>> customizers, Builder builder) {
+        for (JpaSpecificationBuilderCustomizer customizer : customizers) {
+            builder = customizer.customize(builder);
+        }
         if (executor instanceof JpaSpecificationDataFetcher.JpaSpecificationBuilderCustomizer<?, ?> customizer) {
             return customizer.customize(builder);
         }
         return builder;
     }
 
+    /**
+     * Entity query from the cached plan of the filter's shape, with a fetch graph for the selected to-one paths.
+     */
+    protected TypedQuery<T> createTypedQuery(@NotNull DataFetchingEnvironment environment, Sort sort) throws BindException, ClassNotFoundException {
+        EntityManager entityManager = getQueryPlanCache().getEntityManager();
+        TypedQuery<T> query = createQueryFromFilter(environment).createQuery(entityManager, this.domainType.getType(), sort);
+        Collection<String> paths = this.metadata.getFetchPaths(environment.getSelectionSet());
+        if (!paths.isEmpty()) {
+            query.setHint(FETCH_GRAPH_HINT, createEntityGraph(entityManager, this.domainType.getType(), paths));
+        }
+        return query;
+    }
+
+    protected FetcherMetadata<T> getMetadata() {
+        return this.metadata;
+    }
+
     public String getDescription() {
         return "JpaSpecificationDataFetcher<" + this.domainType.getType().getName() + ">";
     }
@@ -188,30 +261,112 @@ public abstract class JpaSpecificationDataFetcher<T> {
     }
 
     public Specification<T> createSpecificationFromFilter(@NotNull DataFetchingEnvironment environment) throws BindException, ClassNotFoundException, IllegalAccessException {
-        logger.info("Input Query: " + environment.getDocument());
-        if (!environment.containsArgument("filter")) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Input Query: " + environment.getDocument());
+        }
+        return createSpecification(bindFilter(environment));
+    }
+
+    protected Specification<T> createSpecification(@Nullable BaseFilter<?> filter) throws IllegalAccessException {
+        if (filter == null) {
             return (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
         }
-        logger.info("Filters Base Package: " + filtersBasePackage);
-        ResolvableType targetType = ResolvableType.forClass(Class.forName(this.filtersBasePackage + "." + domainType.getType().getSimpleName() + "Filter"));
+        long start = startTiming();
+        Specification<T> specification = SpecificationGenerator.buildSpecification(filter);
+        stopTiming(FetcherMetrics.Stage.SPECIFICATION, start);
+        logger.debug("Specification Created: " + specification);
+        return specification;
+    }
+
+    /**
+     * @return the fingerprint of the bound filter argument, identifying the rows it selects
+     */
+    public FilterFingerprint getFilterFingerprint(@NotNull DataFetchingEnvironment environment) throws BindException, ClassNotFoundException {
+        return FilterFingerprint.of(this.domainType.getType(), bindFilter(environment));
+    }
+
+    /**
+     * Binds the filter argument against the cached query plan of its shape, as an alternative to building a
+     * {@link Specification}. Only available when the fetcher was built with a {@link FilterQueryPlanCache}.
+     */
+    public BoundJpqlQuery createQueryFromFilter(@NotNull DataFetchingEnvironment environment) throws BindException, ClassNotFoundException {
+        Assert.state(this.queryPlanCache != null, "No FilterQueryPlanCache configured");
+        BaseFilter<?> filter = bindFilter(environment);
+        long start = startTiming();
+        BoundJpqlQuery query = this.queryPlanCache.bind(this.domainType.getType(), filter);
+        stopTiming(FetcherMetrics.Stage.SPECIFICATION, start);
+        return query;
+    }
+
+    protected boolean usesQueryPlans() {
+        return this.queryPlanCache != null;
+    }
+
+    @Nullable
+    protected FilterQueryPlanCache getQueryPlanCache() {
+        return this.queryPlanCache;
+    }
+
+    /**
+     * @return the validated filter argument, or {@code null} if there is none
+     */
+    @Nullable
+    protected BaseFilter<?> bindFilter(@NotNull DataFetchingEnvironment environment) throws BindException, ClassNotFoundException {
+        if (!environment.containsArgument("filter")) {
+            return null;
+        }
+        ResolvableType targetType = this.metadata.getFilterType();
+        long start = startTiming();
         Object bind = this.argumentBinder.bind(environment, "filter", targetType);
+        start = stopTiming(FetcherMetrics.Stage.BIND, start);
         Assert.notNull(bind, "bind must not be null");
         Class<?> clazz = bind.getClass();
         logger.trace(clazz.getSimpleName());
         logger.trace(bind.toString());
         Set<ConstraintViolation<Object>> violations = validator.validate(bind);
+        stopTiming(FetcherMetrics.Stage.VALIDATION, start);
         violations.forEach(violation -> logger.error("Violation: " + violation));
         if (!violations.isEmpty()) {
             throw new ConstraintViolationException(violations);
         }
 
-        if (bind instanceof BaseFilter<?> baseFilter) {
-            Specification<T> specification = SpecificationGenerator.buildSpecification(baseFilter);
-            logger.debug("Specification Created: " + specification);
-            return specification;
-        } else {
-            return (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+        return (bind instanceof BaseFilter<?> baseFilter) ? baseFilter : null;
+    }
+
+    /**
+     * Runs the fetch, timing its query, SQL and hydration stages and counting the rows it returns when the fetcher
+     * has metrics, see {@link FetcherMetrics}.
+     */
+    protected <V> V measure(@NotNull Callable<V> fetch) throws Exception {
+        if (this.metrics == null) {
+            return fetch.call();
+        }
+        FetcherMetrics.Fetch measured = this.metrics.start();
+        V result;
+        try {
+            result = fetch.call();
+        } catch (Exception ex) {
+            measured.stop();
+            throw ex;
+        }
+        measured.stop(result);
+        return result;
+    }
+
+    private long startTiming() {
+        return (this.metrics != null) ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @return the end of the stage, to start the next one from
+     */
+    private long stopTiming(FetcherMetrics.Stage stage, long start) {
+        if (this.metrics == null) {
+            return 0;
         }
+        long now = System.nanoTime();
+        this.metrics.record(stage, now - start);
+        return now;
     }
 
     public interface JpaSpecificationBuilderCustomizer<T, R extends T> {
@@ -228,97 +383,323 @@ public abstract class JpaSpecificationDataFetcher<T> {
 
         private final Class<R> resultType;
 
-        private final String filtersBasePackage;
-
-        @Nullable
-        private final CursorStrategy<ScrollPosition> cursorStrategy;
-
-        @Nullable
-        private final Integer defaultScrollCount;
-
-        @Nullable
-        private final Function<Boolean, ScrollPosition> defaultScrollPosition;
-
-        private final Sort sort;
-
-        private final Validator validator;
+        private final Settings<T> settings;
 
         @SuppressWarnings("unchecked")
         Builder(JpaSpecificationExecutor<T> executor, Class<R> domainType) {
-            this(executor, TypeInformation.of((Class<T>) domainType), domainType, null, null, null, null, null, Sort.unsorted());
+            this(executor, TypeInformation.of((Class<T>) domainType), domainType, new Settings<>());
         }
 
-        Builder(JpaSpecificationExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType, String filtersBasePackage, Validator validator,
-                @Nullable CursorStrategy<ScrollPosition> cursorStrategy,
-                @Nullable Integer defaultScrollCount, @Nullable Function<Boolean, ScrollPosition> defaultScrollPosition,
-                Sort sort) {
-            this.filtersBasePackage = filtersBasePackage;
-            this.validator = validator;
+        Builder(JpaSpecificationExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType, Settings<T> settings) {
             this.executor = executor;
             this.domainType = domainType;
             this.resultType = resultType;
-            this.cursorStrategy = cursorStrategy;
-            this.defaultScrollCount = defaultScrollCount;
-            logger.debug("Data Fetcher Builder Default Scroll Position: " + defaultScrollPosition);
-            this.defaultScrollPosition = defaultScrollPosition;
-            this.sort = sort;
+            this.settings = settings;
+        }
+
+        /**
+         * @return a new builder with a copy of the settings, changed by the given callback
+         */
+        private Builder<T, R> with(Consumer<Settings<T>> change) {
+            Settings<T> settings = new Settings<>(this.settings);
+            change.accept(settings);
+            return new Builder<>(this.executor, this.domainType, this.resultType, settings);
         }
 
         public <P> Builder<T, P> projectAs(Class<P> projectionType) {
             Assert.notNull(projectionType, "Projection type must not be null");
-            return new Builder<>(this.executor, this.domainType, projectionType, this.filtersBasePackage, this.validator,
-                    this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort);
+            return new Builder<>(this.executor, this.domainType, projectionType, this.settings);
         }
 
         public Builder<T, R> cursorStrategy(@Nullable CursorStrategy<ScrollPosition> cursorStrategy) {
-            return new Builder<>(this.executor, this.domainType, this.resultType, this.filtersBasePackage, this.validator,
-                    cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort);
+            return with(settings -> settings.cursorStrategy = cursorStrategy);
         }
 
         public Builder<T, R> defaultScrollSubRange(
                 int defaultCount, Function<Boolean, ScrollPosition> defaultPosition) {
-            return new Builder<>(this.executor, this.domainType,
-                    this.resultType, this.filtersBasePackage, this.validator, this.cursorStrategy, defaultCount, defaultPosition, this.sort);
+            logger.debug("Data Fetcher Builder Default Scroll Position: " + defaultPosition);
+            return with(settings -> {
+                settings.defaultScrollCount = defaultCount;
+                settings.defaultScrollPosition = defaultPosition;
+            });
+        }
+
+        /**
+         * Scrolls with the count and from the position of the given subrange when none is requested; backward,
+         * keyset positions are read from the end.
+         */
+        public Builder<T, R> defaultScrollSubRange(@NotNull ScrollSubrange defaultScrollSubrange) {
+            ScrollPosition position = defaultScrollSubrange.position().orElse(null);
+            return defaultScrollSubRange(defaultScrollSubrange.count().orElse(20),
+                    forward -> (!forward && position instanceof KeysetScrollPosition keyset) ? keyset.backward() : position);
         }
 
         public Builder<T, R> sortBy(Sort sort) {
             Assert.notNull(sort, "Sort must not be null");
-            return new Builder<>(this.executor, this.domainType, this.resultType, this.filtersBasePackage, this.validator,
-                    this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, sort);
+            return with(settings -> settings.sort = sort);
         }
 
         public Builder<T, R> filtersBasePackage(String filtersBasePackage) {
             Assert.notNull(filtersBasePackage, "filtersBasePackage must not be null");
-            return new Builder<>(this.executor, this.domainType, this.resultType, filtersBasePackage, this.validator,
-                    this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, sort);
+            return with(settings -> settings.filtersBasePackage = filtersBasePackage);
         }
 
         public Builder<T, R> validator(Validator validator) {
-            Assert.notNull(filtersBasePackage, "filtersBasePackage must not be null");
-            return new Builder<>(this.executor, this.domainType, this.resultType, this.filtersBasePackage, validator,
-                    this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, sort);
+            Assert.notNull(validator, "validator must not be null");
+            return with(settings -> settings.validator = validator);
         }
 
-        public DataFetcher<R> single() {
-            return new FilterSingleEntityDataFetcher<>(this.filtersBasePackage, this.validator, this.executor, this.domainType, this.resultType, this.sort);
+        public Builder<T, R> metadata(FetcherMetadata<T> metadata) {
+            Assert.notNull(metadata, "metadata must not be null");
+            return with(settings -> settings.metadata = metadata);
         }
 
-        public DataFetcher<Iterable<R>> many() {
-            return new FilterManyEntityDataFetcher<>(this.filtersBasePackage, this.validator, this.executor, this.domainType, this.resultType, this.sort);
+        /**
+         * Resolves the metadata from the introspected entity shared with the schema generation, and wires the
+         * generated Query fields of the entity by lookup, see {@link GraphQLOperationsConfigurer#queryFields}.
+         */
+        public Builder<T, R> entityMetamodel(@Nullable EntityMetamodel entityMetamodel) {
+            return with(settings -> settings.entityMetamodel = entityMetamodel);
+        }
+
+        /**
+         * Fetchers for entity relationship fields, wired together with the fetchers of this builder, see
+         * {@link RelationshipBatchLoaders}.
+         */
+        public Builder<T, R> relationshipFetchers(@NotNull Map<FieldCoordinates, DataFetcher<?>> relationshipFetchers) {
+            return with(settings -> settings.relationshipFetchers = relationshipFetchers);
         }
 
-        public DataFetcher<Iterable<R>> scrollable() {
-            logger.debug("Scrollable Data Fetcher Builder Default Scroll Position: " + this.defaultScrollPosition);
-            return new FilterScrollableEntityDataFetcher<>(this.filtersBasePackage, this.validator,
-                    this.executor, this.domainType, this.resultType,
-                    (this.cursorStrategy != null) ? this.cursorStrategy : CursorStrategy.withEncoder(new ScrollPositionCursorStrategy(), CursorEncoder.base64()),
-                    (this.defaultScrollCount != null) ? this.defaultScrollCount : 20,
-                    (this.defaultScrollPosition != null) ? this.defaultScrollPosition : forward -> ScrollPosition.offset(),
-                    this.sort);
+        /**
+         * Feeds the {@code Subscription.<entity>Changes} field of the entity, see {@link #changes}.
+         */
+        public Builder<T, R> changeFeed(@Nullable EntityChangeFeed changeFeed) {
+            return with(settings -> settings.changeFeed = changeFeed);
+        }
+
+        /**
+         * Switches the single, many and count fetchers to cached, parameterized JPQL plans keyed by filter shape.
+         */
+        public Builder<T, R> queryPlanCache(@Nullable FilterQueryPlanCache queryPlanCache) {
+            return with(settings -> settings.queryPlanCache = queryPlanCache);
+        }
+
+        /**
+         * Lets the many and scrollable fetchers select only the requested scalar columns, see {@link TupleProjection}.
+         */
+        public Builder<T, R> tupleProjection(@Nullable TupleProjection tupleProjection) {
+            return with(settings -> settings.tupleProjection = tupleProjection);
+        }
+
+        /**
+         * Computes the {@code totalCount} of Connections concurrently or in the page query, see {@link TotalCountSupport}.
+         */
+        public Builder<T, R> totalCountSupport(@Nullable TotalCountSupport totalCountSupport) {
+            return with(settings -> settings.totalCountSupport = totalCountSupport);
+        }
+
+        /**
+         * Lets the count fetcher serve repeated counts of the same filter from the given cache.
+         */
+        public Builder<T, R> countCache(@Nullable FilterCountCache countCache) {
+            return with(settings -> settings.countCache = countCache);
+        }
+
+        /**
+         * Answers counts requested with {@code approximate: true} from an estimate, see {@link ApproximateCounter}.
+         */
+        public Builder<T, R> approximateCounter(@Nullable ApproximateCounter approximateCounter) {
+            return with(settings -> settings.approximateCounter = approximateCounter);
+        }
+
+        /**
+         * Serves repeated single, many and scrollable queries from the given cache, see {@link QueryResultCache}.
+         */
+        public Builder<T, R> resultCache(@Nullable QueryResultCache resultCache) {
+            return with(settings -> settings.resultCache = resultCache);
+        }
+
+        /**
+         * Runs every fetcher on a virtual thread in its own transaction, see {@link AsyncFetcherSupport}.
+         */
+        public Builder<T, R> asyncSupport(@Nullable AsyncFetcherSupport asyncSupport) {
+            return with(settings -> settings.asyncSupport = asyncSupport);
+        }
+
+        /**
+         * Bounds the rows of the many and scrollable fetchers, see {@link PageSizeLimits}.
+         */
+        public Builder<T, R> pageSizes(@Nullable PageSizeLimits pageSizes) {
+            return with(settings -> settings.pageSizes = pageSizes);
+        }
+
+        /**
+         * Times the stages of the single, many, scrollable and count fetchers and counts the rows they return, see
+         * {@link FetcherMetrics}.
+         */
+        public Builder<T, R> metrics(@Nullable FetcherMetrics metrics) {
+            return with(settings -> settings.metrics = metrics);
+        }
+
+        @Nullable
+        private FetcherMetrics.Recorder recorder(ConfigureFetchers.FetcherKind kind) {
+            return (this.settings.metrics != null) ? this.settings.metrics.recorder(this.domainType.getType(), kind) : null;
+        }
+
+        @Nullable
+        private EntityMetamodel.EntityDescriptor getEntity() {
+            return (this.settings.entityMetamodel != null) ? this.settings.entityMetamodel.getEntity(this.domainType.getType()) : null;
+        }
+
+        private FetcherMetadata<T> resolveMetadata() {
+            return (this.settings.metadata != null) ? this.settings.metadata :
+                    FetcherMetadata.resolve(this.domainType, this.settings.filtersBasePackage, getEntity());
+        }
+
+        private Builder<T, R> withResolvedMetadata() {
+            return (this.settings.metadata != null) ? this : metadata(resolveMetadata());
+        }
+
+        private <V> SelfDescribingDataFetcher<?> decorate(SelfDescribingDataFetcher<V> fetcher) {
+            return (this.settings.asyncSupport != null) ? this.settings.asyncSupport.decorate(fetcher) : fetcher;
+        }
+
+        public DataFetcher<?> single() {
+            FilterSingleEntityDataFetcher<T, R> fetcher = new FilterSingleEntityDataFetcher<>(resolveMetadata(), this.settings.validator,
+                    this.settings.queryPlanCache, this.executor, this.resultType, this.settings.sort, recorder(ConfigureFetchers.FetcherKind.SINGLE));
+            return decorate((this.settings.resultCache != null) ? this.settings.resultCache.decorate(fetcher, QueryResultCache.Kind.SINGLE, null) : fetcher);
+        }
+
+        private CursorStrategy<ScrollPosition> resolveCursorStrategy() {
+            return (this.settings.cursorStrategy != null) ? this.settings.cursorStrategy : DEFAULT_CURSOR_STRATEGY;
+        }
+
+        private Function<Boolean, ScrollPosition> resolveDefaultScrollPosition() {
+            return (this.settings.defaultScrollPosition != null) ? this.settings.defaultScrollPosition : forward -> ScrollPosition.offset();
+        }
+
+        /**
+         * Lists start at the first offset unless scrolled backward, so that they can be read with query plans and tuples.
+         */
+        public DataFetcher<?> many() {
+            Function<Boolean, ScrollPosition> defaultPosition = resolveDefaultScrollPosition();
+            FilterManyEntityDataFetcher<T, R> fetcher = new FilterManyEntityDataFetcher<>(resolveMetadata(), this.settings.validator,
+                    this.settings.queryPlanCache, this.settings.tupleProjection, this.executor, this.resultType,
+                    (this.settings.pageSizes != null) ? this.settings.pageSizes.forType(this.domainType.getType()) : null, resolveCursorStrategy(),
+                    forward -> forward ? ScrollPosition.offset() : defaultPosition.apply(false), this.settings.sort,
+                    recorder(ConfigureFetchers.FetcherKind.MANY));
+            return decorate((this.settings.resultCache != null) ? this.settings.resultCache.decorate(fetcher, QueryResultCache.Kind.MANY, null) : fetcher);
+        }
+
+        public DataFetcher<?> scrollable() {
+            logger.debug("Scrollable Data Fetcher Builder Default Scroll Position: " + this.settings.defaultScrollPosition);
+            CursorStrategy<ScrollPosition> cursorStrategy = resolveCursorStrategy();
+            int maxSize = (this.settings.pageSizes != null) ? this.settings.pageSizes.forType(this.domainType.getType()).maxSize() : Integer.MAX_VALUE;
+            int defaultCount = (this.settings.defaultScrollCount != null) ? this.settings.defaultScrollCount : 20;
+            FilterScrollableEntityDataFetcher<T, R> fetcher = new FilterScrollableEntityDataFetcher<>(resolveMetadata(), this.settings.validator,
+                    this.settings.tupleProjection, this.settings.totalCountSupport, this.executor, this.resultType, cursorStrategy,
+                    new PageSizeLimits.PageSize(Math.min(defaultCount, maxSize), maxSize), resolveDefaultScrollPosition(), this.settings.sort,
+                    recorder(ConfigureFetchers.FetcherKind.SCROLLABLE));
+            return decorate((this.settings.resultCache != null) ?
+                    this.settings.resultCache.decorate(fetcher, QueryResultCache.Kind.SCROLLABLE, cursorStrategy) : fetcher);
+        }
+
+        public DataFetcher<?> count() {
+            return decorate(new FilterCountDataFetcher<>(resolveMetadata(), this.settings.validator, this.settings.queryPlanCache, this.settings.countCache,
+                    this.settings.approximateCounter, this.executor, recorder(ConfigureFetchers.FetcherKind.COUNT)));
+        }
+
+        /**
+         * Subscription fetcher publishing the committed changes matching the filter argument, see {@link EntityChangeFeed}.
+         */
+        public DataFetcher<?> changes(@NotNull EntityChangeFeed changeFeed) {
+            return new FilterChangesDataFetcher<>(resolveMetadata(), this.settings.validator, changeFeed);
+        }
+    }
+
+
+    /**
+     * The configuration of a {@link Builder} besides the repository and the types. Each builder method copies it
+     * once, so that builders stay immutable and can be shared by customizers.
+     */
+    static final class Settings<T> {
+
+        private String filtersBasePackage;
+
+        private Validator validator;
+
+        @Nullable
+        private FetcherMetadata<T> metadata;
+
+        @Nullable
+        private FilterQueryPlanCache queryPlanCache;
+
+        @Nullable
+        private TupleProjection tupleProjection;
+
+        @Nullable
+        private TotalCountSupport totalCountSupport;
+
+        @Nullable
+        private FilterCountCache countCache;
+
+        @Nullable
+        private ApproximateCounter approximateCounter;
+
+        @Nullable
+        private QueryResultCache resultCache;
+
+        @Nullable
+        private AsyncFetcherSupport asyncSupport;
+
+        @Nullable
+        private CursorStrategy<ScrollPosition> cursorStrategy;
+
+        @Nullable
+        private Integer defaultScrollCount;
+
+        @Nullable
+        private Function<Boolean, ScrollPosition> defaultScrollPosition;
+
+        @Nullable
+        private PageSizeLimits pageSizes;
+
+        @Nullable
+        private FetcherMetrics metrics;
+
+        @Nullable
+        private EntityMetamodel entityMetamodel;
+
+        private Map<FieldCoordinates, DataFetcher<?>> relationshipFetchers = Map.of();
+
+        @Nullable
+        private EntityChangeFeed changeFeed;
+
+        private Sort sort = Sort.unsorted();
+
+        Settings() {
         }
 
-        public DataFetcher<Long> count() {
-            return new FilterCountDataFetcher<>(this.filtersBasePackage, this.validator, this.executor, this.domainType);
+        Settings(Settings<T> other) {
+            this.filtersBasePackage = other.filtersBasePackage;
+            this.validator = other.validator;
+            this.metadata = other.metadata;
+            this.queryPlanCache = other.queryPlanCache;
+            this.tupleProjection = other.tupleProjection;
+            this.totalCountSupport = other.totalCountSupport;
+            this.countCache = other.countCache;
+            this.approximateCounter = other.approximateCounter;
+            this.resultCache = other.resultCache;
+            this.asyncSupport = other.asyncSupport;
+            this.cursorStrategy = other.cursorStrategy;
+            this.defaultScrollCount = other.defaultScrollCount;
+            this.defaultScrollPosition = other.defaultScrollPosition;
+            this.pageSizes = other.pageSizes;
+            this.metrics = other.metrics;
+            this.entityMetamodel = other.entityMetamodel;
+            this.relationshipFetchers = other.relationshipFetchers;
+            this.changeFeed = other.changeFeed;
+            this.sort = other.sort;
         }
     }
 
@@ -332,13 +713,17 @@ public abstract class JpaSpecificationDataFetcher<T> {
 
         private final Sort sort;
 
-        public FilterSingleEntityDataFetcher(String filtersBasePackage, Validator validator,
-                                             JpaSpecificationExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType, Sort sort) {
-            super(domainType, filtersBasePackage, validator);
-            this.domainType = domainType;
+        private final boolean projection;
+
+        public FilterSingleEntityDataFetcher(FetcherMetadata<T> metadata, Validator validator, @Nullable FilterQueryPlanCache queryPlanCache,
+                                             JpaSpecificationExecutor<T> executor, Class<R> resultType, Sort sort,
+                                             @Nullable FetcherMetrics.Recorder metrics) {
+            super(metadata, validator, queryPlanCache, metrics);
+            this.domainType = metadata.getDomainType();
             this.executor = executor;
             this.resultType = resultType;
             this.sort = sort;
+            this.projection = metadata.requiresProjection(resultType);
         }
 
         @Override
@@ -352,8 +737,16 @@ public abstract class JpaSpecificationDataFetcher<T> {
         }
 
         @Override
-        @SuppressWarnings({"unchecked"})
         public R get(DataFetchingEnvironment environment) throws Exception {
+            return measure(() -> fetch(environment));
+        }
+
+        @SuppressWarnings({"unchecked"})
+        private R fetch(DataFetchingEnvironment environment) throws Exception {
+            if (usesQueryPlans() && !this.projection) {
+                List<T> result = createTypedQuery(environment, this.sort).setMaxResults(1).getResultList();
+                return result.isEmpty() ? null : (R) result.get(0);
+            }
             Specification<T> specification = createSpecificationFromFilter(environment);
             return this.executor.findBy(specification, query -> {
                 FluentQuery.FetchableFluentQuery<R> queryToUse = (FluentQuery.FetchableFluentQuery<R>) query;
@@ -362,11 +755,10 @@ public abstract class JpaSpecificationDataFetcher<T> {
                     queryToUse = queryToUse.sortBy(this.sort);
                 }
 
-                Class<R> finalResultType = this.resultType;
-                if (requiresProjection(this.domainType, finalResultType)) {
-                    queryToUse = queryToUse.as(finalResultType);
+                if (this.projection) {
+                    queryToUse = queryToUse.as(this.resultType);
                 } else {
-                    queryToUse = queryToUse.project(buildPropertyPaths(environment.getSelectionSet(), this.domainType, finalResultType));
+                    queryToUse = queryToUse.project(getMetadata().getFetchPaths(environment.getSelectionSet()));
                 }
 
                 return queryToUse.first();
@@ -374,6 +766,11 @@ public abstract class JpaSpecificationDataFetcher<T> {
         }
     }
 
+    /**
+     * Fetches the entities matching the filter. Without a {@link PageSizeLimits.PageSize} all of them are returned;
+     * with one, {@code first}/{@code after} or {@code last}/{@code before} select the rows like for a Connection,
+     * and a list cut short by the maximum page size is reported in the {@code truncated} response extension.
+     */
     public static class FilterManyEntityDataFetcher<T, R> extends JpaSpecificationDataFetcher<T> implements SelfDescribingDataFetcher<Iterable<R>> {
 
         private final JpaSpecificationExecutor<T> executor;
@@ -384,13 +781,43 @@ public abstract class JpaSpecificationDataFetcher<T> {
 
         private final Sort sort;
 
-        public FilterManyEntityDataFetcher(String filtersBasePackage, Validator validator,
-                                           JpaSpecificationExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType, Sort sort) {
-            super(domainType, filtersBasePackage, validator);
-            this.domainType = domainType;
+        private final boolean projection;
+
+        @Nullable
+        private final TupleProjection tupleProjection;
+
+        @Nullable
+        private final PageSizeLimits.PageSize pageSize;
+
+        @Nullable
+        private final CursorStrategy<ScrollPosition> cursorStrategy;
+
+        private final Function<Boolean, ScrollPosition> defaultPosition;
+
+        /**
+         * @param pageSize        the default and maximum number of rows, or {@code null} to return all rows
+         * @param cursorStrategy  reads the {@code after} and {@code before} cursors
+         * @param defaultPosition the position to scroll from without a cursor, by direction
+         * @param metrics         times the stages of the fetcher, if not {@code null}
+         */
+        public FilterManyEntityDataFetcher(FetcherMetadata<T> metadata, Validator validator, @Nullable FilterQueryPlanCache queryPlanCache,
+                                           @Nullable TupleProjection tupleProjection,
+                                           JpaSpecificationExecutor<T> executor, Class<R> resultType,
+                                           @Nullable PageSizeLimits.PageSize pageSize,
+                                           @Nullable CursorStrategy<ScrollPosition> cursorStrategy,
+                                           Function<Boolean, ScrollPosition> defaultPosition, Sort sort,
+                                           @Nullable FetcherMetrics.Recorder metrics) {
+            super(metadata, validator, queryPlanCache, metrics);
+            Assert.notNull(defaultPosition, "'defaultPosition' is required");
+            this.domainType = metadata.getDomainType();
             this.resultType = resultType;
             this.executor = executor;
             this.sort = sort;
+            this.projection = metadata.requiresProjection(resultType);
+            this.tupleProjection = tupleProjection;
+            this.pageSize = pageSize;
+            this.cursorStrategy = cursorStrategy;
+            this.defaultPosition = defaultPosition;
         }
 
         @Override
@@ -404,55 +831,226 @@ public abstract class JpaSpecificationDataFetcher<T> {
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public Iterable<R> get(DataFetchingEnvironment environment) throws Exception {
-            Specification<T> specification = createSpecificationFromFilter(environment);
-            return this.executor.findBy(specification, query -> {
+            return measure(() -> fetch(environment));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Iterable<R> fetch(DataFetchingEnvironment environment) throws Exception {
+            List<String> columns = getTupleColumns(environment);
+            if (columns == null && usesQueryPlans() && !this.projection) {
+                if (this.pageSize == null) {
+                    return (Iterable<R>) createTypedQuery(environment, resolveSort(environment)).getResultList();
+                }
+                ScrollSubrange range = getScrollSubrange(environment);
+                Sort sort = resolveSort(environment);
+                if (getScrollPosition(range, sort) instanceof OffsetScrollPosition offsetPosition) {
+                    TypedQuery<T> query = createTypedQuery(environment, sort);
+                    return (Iterable<R>) toResult(environment, scroll(query, offsetPosition, getLimit(range)), range);
+                }
+            }
+            return get(environment, createSpecificationFromFilter(environment), columns);
+        }
+
+        /**
+         * @param columns the scalar columns to select as tuples, or {@code null} to load entities
+         */
+        @SuppressWarnings("unchecked")
+        protected Iterable<R> get(@NotNull DataFetchingEnvironment environment, Specification<T> specification,
+                                  @Nullable List<String> columns) throws Exception {
+            if (columns != null) {
+                Iterable<?> rows = getTupleResult(this.tupleProjection, columns, specification, environment);
+                if (rows != null) {
+                    return (Iterable<R>) rows;
+                }
+            }
+            return this.executor.findBy(withFetches(specification, environment), query -> {
                 FluentQuery.FetchableFluentQuery<R> queryToUse = (FluentQuery.FetchableFluentQuery<R>) query;
 
-                if (this.sort.isSorted()) {
-                    queryToUse = queryToUse.sortBy(this.sort);
+                Sort sort = resolveSort(environment);
+                if (sort.isSorted()) {
+                    queryToUse = queryToUse.sortBy(sort);
                 }
 
-                if (requiresProjection(this.domainType, this.resultType)) {
+                if (this.projection) {
                     queryToUse = queryToUse.as(this.resultType);
                 } else {
-                    queryToUse = queryToUse.project(buildPropertyPaths(environment.getSelectionSet(), this.domainType, this.resultType));
+                    queryToUse = queryToUse.project(getMetadata().getFetchPaths(environment.getSelectionSet()));
                 }
 
                 return getResult(queryToUse, environment);
             });
         }
 
+        protected boolean isProjection() {
+            return this.projection;
+        }
+
+        protected JpaSpecificationExecutor<T> getExecutor() {
+            return this.executor;
+        }
+
+        @Nullable
+        private List<String> getTupleColumns(@NotNull DataFetchingEnvironment environment) {
+            if (this.tupleProjection == null || this.projection) {
+                return null;
+            }
+            List<String> columns = getMetadata().getScalarColumns(environment.getSelectionSet());
+            return (columns != null && this.tupleProjection.supports(this.domainType.getType(), columns)) ? columns : null;
+        }
+
+        /**
+         * @return the sort given by the {@code orderBy} argument, or the configured sort if there is none. When the
+         * rows are paged, it always ends with the id property, so that ties are broken deterministically and keyset
+         * cursors are unique.
+         */
+        protected Sort resolveSort(@NotNull DataFetchingEnvironment environment) {
+            List<Map<String, Object>> orderBy = environment.getArgument(ORDER_BY);
+            Sort sort = (orderBy == null || orderBy.isEmpty()) ? this.sort : toSort(orderBy);
+            if (this.pageSize == null) {
+                return sort;
+            }
+            String idProperty = getMetadata().getIdProperty();
+            return (idProperty == null || sort.getOrderFor(idProperty) != null) ? sort : sort.and(Sort.by(idProperty));
+        }
+
+        /**
+         * Rows of the selected scalar columns as maps, or {@code null} to fall back to loading entities. Only offset
+         * positions are scrolled with tuples, keyset positions need the sort keys of loaded entities.
+         */
+        @Nullable
+        protected Iterable<?> getTupleResult(@NotNull TupleProjection tupleProjection, @NotNull List<String> columns,
+                                             Specification<T> specification, @NotNull DataFetchingEnvironment environment) {
+            if (this.pageSize == null) {
+                return tupleProjection.findAll(this.domainType.getType(), specification, columns, resolveSort(environment));
+            }
+            ScrollSubrange range = getScrollSubrange(environment);
+            Sort sort = resolveSort(environment);
+            if (!(getScrollPosition(range, sort) instanceof OffsetScrollPosition offsetPosition)) {
+                return null;
+            }
+            return toResult(environment, tupleProjection.scroll(this.domainType.getType(), specification,
+                    columns, sort, offsetPosition, getLimit(range)), range);
+        }
+
+        /**
+         * Overridden in scrollable implementation, where the fetch graph set by {@code project} is not applied
+         */
+        protected Specification<T> withFetches(Specification<T> specification, @NotNull DataFetchingEnvironment environment) {
+            return specification;
+        }
+
+        @SuppressWarnings("unchecked")
+        protected Iterable<R> getResult(@NotNull FluentQuery.FetchableFluentQuery<R> queryToUse, @NotNull DataFetchingEnvironment environment) {
+            if (this.pageSize == null) {
+                return queryToUse.all();
+            }
+            ScrollSubrange range = getScrollSubrange(environment);
+            logger.debug("Input ScrollPosition: " + range.position());
+            ScrollPosition position = getScrollPosition(range, resolveSort(environment));
+            logger.debug("Current ScrollPosition: " + position);
+            return (Iterable<R>) toResult(environment, queryToUse.limit(getLimit(range)).scroll(position), range);
+        }
+
+        /**
+         * The rows of the window, reported as truncated when more rows exist than the maximum page size let through,
+         * or when nothing was requested and the default page size did.
+         */
+        protected Iterable<?> toResult(@NotNull DataFetchingEnvironment environment, @NotNull Window<?> window,
+                                       @NotNull ScrollSubrange range) {
+            int limit = getLimit(range);
+            Integer requested = range.count().isPresent() ? range.count().getAsInt() : null;
+            if (window.hasNext() && (requested == null || requested > limit)) {
+                new PageTruncation(requested, limit, window.size()).report(environment);
+            }
+            return window.getContent();
+        }
+
         /**
-         * @param environment This {@link DataFetchingEnvironment} variable is overridden in scrollable implementation
+         * @return the requested count, else the default page size, at most the maximum page size
          */
-        protected Iterable<R> getResult(@NotNull FluentQuery.FetchableFluentQuery<R> queryToUse, DataFetchingEnvironment environment) {
-            return queryToUse.all();
+        protected int getLimit(@NotNull ScrollSubrange range) {
+            Assert.state(this.pageSize != null, "No page size configured");
+            return Math.min(range.count().orElse(this.pageSize.defaultSize()), this.pageSize.maxSize());
+        }
+
+        protected ScrollSubrange getScrollSubrange(@NotNull DataFetchingEnvironment environment) {
+            boolean forward = true;
+            String cursor = environment.getArgument("after");
+            Integer count = environment.getArgument("first");
+            if (cursor == null && count == null) {
+                cursor = environment.getArgument("before");
+                count = environment.getArgument("last");
+                if (cursor != null || count != null) {
+                    forward = false;
+                }
+            }
+            Assert.state(cursor == null || this.cursorStrategy != null, "No CursorStrategy configured");
+            ScrollPosition pos = (cursor != null) ? this.cursorStrategy.fromCursor(cursor) : null;
+            return ScrollSubrange.create(pos, count, forward);
+        }
+
+        /**
+         * The position from the cursor, else the configured default position for the direction, else the first offset.
+         * A keyset cannot seek past null keys, so a sort on a nullable property scrolls by offset and rejects
+         * keyset cursors.
+         */
+        protected ScrollPosition getScrollPosition(@NotNull ScrollSubrange range, @NotNull Sort sort) {
+            String nullableProperty = sort.stream().map(Sort.Order::getProperty)
+                    .filter(getMetadata()::isNullable).findFirst().orElse(null);
+            if (range.position().isPresent()) {
+                ScrollPosition position = range.position().get();
+                if (nullableProperty != null && position instanceof KeysetScrollPosition) {
+                    throw new IllegalArgumentException("Keyset cursors cannot be used to sort by the nullable property '" +
+                            nullableProperty + "'");
+                }
+                return position;
+            }
+            ScrollPosition position = this.defaultPosition.apply(range.forward());
+            if (position == null || (nullableProperty != null && position instanceof KeysetScrollPosition)) {
+                return ScrollPosition.offset();
+            }
+            return position;
+        }
+
+        /**
+         * Offset based scrolling equivalent to {@code FluentQuery.scroll}: one row beyond the limit is read to
+         * tell whether there is a next page.
+         */
+        private static <T> Window<T> scroll(TypedQuery<T> query, OffsetScrollPosition position, int limit) {
+            if (!position.isInitial()) {
+                query.setFirstResult(Math.toIntExact(position.getOffset()) + 1);
+            }
+            query.setMaxResults(limit + 1);
+            List<T> rows = query.getResultList();
+            boolean hasNext = rows.size() > limit;
+            return Window.from(hasNext ? rows.subList(0, limit) : rows, position.positionFunction(), hasNext);
         }
     }
 
+    /**
+     * Fetches a Connection page; the requested count is bounded by the maximum page size, but without a requested
+     * count the page simply ends at the default count, with a next page to scroll to.
+     */
     public static class FilterScrollableEntityDataFetcher<T, R> extends FilterManyEntityDataFetcher<T, R> {
 
-        private final CursorStrategy<ScrollPosition> cursorStrategy;
-
-        private final int defaultCount;
+        @Nullable
+        private final TotalCountSupport totalCountSupport;
 
         private final ResolvableType scrollableResultType;
 
-        public FilterScrollableEntityDataFetcher(String filtersBasePackage, Validator validator,
-                                                 JpaSpecificationExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType, CursorStrategy<ScrollPosition> cursorStrategy,
-                                                 int defaultCount,
+        public FilterScrollableEntityDataFetcher(FetcherMetadata<T> metadata, Validator validator, @Nullable TupleProjection tupleProjection,
+                                                 @Nullable TotalCountSupport totalCountSupport, JpaSpecificationExecutor<T> executor, Class<R> resultType, CursorStrategy<ScrollPosition> cursorStrategy,
+                                                 PageSizeLimits.PageSize pageSize,
                                                  Function<Boolean, ScrollPosition> defaultPosition,
-                                                 Sort sort) {
-            super(filtersBasePackage, validator, executor, domainType, resultType, sort);
+                                                 Sort sort, @Nullable FetcherMetrics.Recorder metrics) {
+            super(metadata, validator, null, tupleProjection, executor, resultType, pageSize, cursorStrategy, defaultPosition, sort, metrics);
 
             Assert.notNull(cursorStrategy, "CursorStrategy is required");
-            Assert.notNull(defaultPosition, "'defaultPosition' is required");
+            Assert.notNull(pageSize, "PageSize is required");
 
-            this.cursorStrategy = cursorStrategy;
-            this.defaultCount = defaultCount;
-            this.scrollableResultType = ResolvableType.forClassWithGenerics(Window.class, domainType.getType());
+            this.totalCountSupport = totalCountSupport;
+            this.scrollableResultType = ResolvableType.forClassWithGenerics(Window.class, metadata.getDomainType().getType());
         }
 
         @Override
@@ -461,39 +1059,111 @@ public abstract class JpaSpecificationDataFetcher<T> {
         }
 
         @Override
-        protected Iterable<R> getResult(@NotNull FluentQuery.FetchableFluentQuery<R> queryToUse, @NotNull DataFetchingEnvironment environment) {
-            boolean forward = true;
-            String cursor = environment.getArgument("after");
-            Integer count = environment.getArgument("first");
-            if (cursor == null && count == null) {
-                cursor = environment.getArgument("before");
-                count = environment.getArgument("last");
-                if (cursor != null || count != null) {
-                    forward = false;
-                }
+        protected Specification<T> withFetches(Specification<T> specification, @NotNull DataFetchingEnvironment environment) {
+            if (isProjection()) {
+                return specification;
             }
-            ScrollPosition pos = (cursor != null) ? cursorStrategy.fromCursor(cursor) : null;
-            ScrollSubrange range = ScrollSubrange.create(pos, count, forward);
-            count = range.count().orElse(this.defaultCount);
-            logger.debug("Input ScrollPosition: " + range.position());
-            AtomicReference<ScrollPosition> position = new AtomicReference<>();
-            range.position().ifPresentOrElse(position::set, () -> position.set(ScrollPosition.offset()));
-            logger.debug("Current ScrollPosition: " + position.get());
-            return queryToUse.limit(count).scroll(position.get());
+            return specification.and(fetchJoins(getMetadata().getFetchPaths(environment.getSelectionSet())));
+        }
+
+        /**
+         * Starts the {@code totalCount} of the Connection, when selected, before the page is queried.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Iterable<R> get(@NotNull DataFetchingEnvironment environment, Specification<T> specification,
+                                  @Nullable List<String> columns) throws Exception {
+            if (!environment.getSelectionSet().contains(TOTAL_COUNT)) {
+                return super.get(environment, specification, columns);
+            }
+
+            if (this.totalCountSupport == null) {
+                TotalCountDataFetcher.register(environment, CompletableFuture.completedFuture(getExecutor().count(specification)));
+                return super.get(environment, specification, columns);
+            }
+
+            ScrollSubrange range = getScrollSubrange(environment);
+            Sort sort = resolveSort(environment);
+            if (this.totalCountSupport.usesWindowFunction() && columns == null && !isProjection() &&
+                    getScrollPosition(range, sort) instanceof OffsetScrollPosition offsetPosition) {
+                CompletableFuture<Long> totalCount = new CompletableFuture<>();
+                TotalCountDataFetcher.register(environment, totalCount);
+                return (Iterable<R>) toResult(environment, this.totalCountSupport.scroll(getExecutor(), getMetadata().getDomainType().getType(),
+                        withFetches(specification, environment), sort, offsetPosition,
+                        getLimit(range), totalCount), range);
+            }
+
+            TotalCountDataFetcher.register(environment, this.totalCountSupport.count(getExecutor(), specification));
+            return super.get(environment, specification, columns);
+        }
+
+        /**
+         * The window itself, reported as truncated only when the requested count exceeded the maximum page size.
+         */
+        @Override
+        protected Iterable<?> toResult(@NotNull DataFetchingEnvironment environment, @NotNull Window<?> window,
+                                       @NotNull ScrollSubrange range) {
+            int limit = getLimit(range);
+            Integer requested = range.count().isPresent() ? range.count().getAsInt() : null;
+            if (window.hasNext() && requested != null && requested > limit) {
+                new PageTruncation(requested, limit, window.size()).report(environment);
+            }
+            return window;
+        }
+    }
+
+    public static class FilterChangesDataFetcher<T> extends JpaSpecificationDataFetcher<T> implements SelfDescribingDataFetcher<Flux<EntityChange>> {
+
+        private final TypeInformation<T> domainType;
+
+        private final EntityChangeFeed changeFeed;
+
+        public FilterChangesDataFetcher(FetcherMetadata<T> metadata, Validator validator, EntityChangeFeed changeFeed) {
+            super(metadata, validator, null, null);
+            this.domainType = metadata.getDomainType();
+            this.changeFeed = changeFeed;
+        }
+
+        @Override
+        public @NotNull String getDescription() {
+            return this.getClass().getSimpleName() + "<" + this.domainType.getType().getName() + ">";
+        }
+
+        @Override
+        public @NotNull ResolvableType getReturnType() {
+            return ResolvableType.forClassWithGenerics(Flux.class, EntityChange.class);
+        }
+
+        @Override
+        public Flux<EntityChange> get(DataFetchingEnvironment environment) throws Exception {
+            return this.changeFeed.subscribe(this.domainType.getType(), bindFilter(environment));
         }
     }
 
     public static class FilterCountDataFetcher<T> extends JpaSpecificationDataFetcher<T> implements SelfDescribingDataFetcher<Long> {
 
+        private static final String APPROXIMATE = "approximate";
+
+        private static final String COUNT_ESTIMATES = "countEstimates";
+
         private final JpaSpecificationExecutor<T> executor;
 
         private final TypeInformation<T> domainType;
 
-        public FilterCountDataFetcher(String filtersBasePackage, Validator validator,
-                                      JpaSpecificationExecutor<T> executor, TypeInformation<T> domainType) {
-            super(domainType, filtersBasePackage, validator);
-            this.domainType = domainType;
+        @Nullable
+        private final FilterCountCache countCache;
+
+        @Nullable
+        private final ApproximateCounter approximateCounter;
+
+        public FilterCountDataFetcher(FetcherMetadata<T> metadata, Validator validator, @Nullable FilterQueryPlanCache queryPlanCache,
+                                      @Nullable FilterCountCache countCache, @Nullable ApproximateCounter approximateCounter,
+                                      JpaSpecificationExecutor<T> executor, @Nullable FetcherMetrics.Recorder metrics) {
+            super(metadata, validator, queryPlanCache, metrics);
+            this.domainType = metadata.getDomainType();
             this.executor = executor;
+            this.countCache = countCache;
+            this.approximateCounter = approximateCounter;
         }
 
         @Override
@@ -508,8 +1178,58 @@ public abstract class JpaSpecificationDataFetcher<T> {
 
         @Override
         public Long get(DataFetchingEnvironment environment) throws Exception {
-            Specification<T> specification = createSpecificationFromFilter(environment);
-            return this.executor.findBy(specification, FluentQuery.FetchableFluentQuery::count);
+            return measure(() -> fetch(environment));
+        }
+
+        private Long fetch(DataFetchingEnvironment environment) throws Exception {
+            BaseFilter<?> filter = bindFilter(environment);
+            Class<T> type = this.domainType.getType();
+            FilterFingerprint fingerprint = FilterFingerprint.of(type, filter);
+
+            if (this.approximateCounter != null && Boolean.TRUE.equals(environment.getArgument(APPROXIMATE))) {
+                ApproximateCounter.Estimate estimate = this.approximateCounter.estimate(this.executor, type,
+                        createSpecification(filter), !fingerprint.isEmpty());
+                addEstimateExtension(environment, estimate);
+                return estimate.count();
+            }
+
+            if (this.countCache == null) {
+                return count(filter);
+            }
+            Specification<T> specification = usesQueryPlans() ? null : createSpecification(filter);
+            return this.countCache.get(type, fingerprint, () -> (specification != null) ?
+                    this.executor.count(specification) : countFromQueryPlan(filter));
+        }
+
+        private long count(@Nullable BaseFilter<?> filter) throws IllegalAccessException {
+            if (usesQueryPlans()) {
+                return countFromQueryPlan(filter);
+            }
+            return this.executor.findBy(createSpecification(filter), FluentQuery.FetchableFluentQuery::count);
+        }
+
+        private long countFromQueryPlan(@Nullable BaseFilter<?> filter) {
+            FilterQueryPlanCache queryPlanCache = getQueryPlanCache();
+            return queryPlanCache.bind(this.domainType.getType(), filter)
+                    .createCountQuery(queryPlanCache.getEntityManager()).getSingleResult();
+        }
+
+        /**
+         * States how the count was estimated in the {@code countEstimates} response extension, keyed by field. The
+         * error bound and its confidence are left out for estimates without one, i.e. from table statistics.
+         */
+        private static void addEstimateExtension(DataFetchingEnvironment environment, ApproximateCounter.Estimate estimate) {
+            ExtensionsBuilder extensions = environment.getGraphQlContext().get(ExtensionsBuilder.class);
+            if (extensions == null) {
+                return;
+            }
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("method", estimate.method());
+            if (estimate.errorBound() != null) {
+                details.put("errorBound", estimate.errorBound());
+                details.put("confidence", estimate.confidence());
+            }
+            extensions.addValue(COUNT_ESTIMATES, Map.of(environment.getExecutionStepInfo().getResultKey(), details));
         }
     }
 }
@@ -0,0 +1,49 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+
+/**
+ * The number of rows list fields return without {@code first} or {@code last}, and the most rows list and
+ * Connection fields return at all, with overrides per entity type keyed by its simple name.
+ */
+public class PageSizeLimits {
+
+    private final PageSize defaults;
+
+    private final Map<String, PageSize> entities;
+
+    /**
+     * @param defaultSize rows returned when no count is requested
+     * @param maxSize     rows returned at most, larger requests are truncated
+     */
+    public record PageSize(int defaultSize, int maxSize) {
+
+        public PageSize {
+            Assert.isTrue(defaultSize > 0, "defaultSize must be greater than 0");
+            Assert.isTrue(maxSize >= defaultSize, "maxSize must not be less than defaultSize");
+        }
+    }
+
+    public PageSizeLimits(@NotNull PageSize defaults, @NotNull Map<String, PageSize> entities) {
+        Assert.notNull(defaults, "defaults must not be null");
+        this.defaults = defaults;
+        this.entities = Map.copyOf(entities);
+    }
+
+    @Contract("_, _ -> new")
+    public static @NotNull PageSizeLimits of(int defaultSize, int maxSize) {
+        return new PageSizeLimits(new PageSize(defaultSize, maxSize), Map.of());
+    }
+
+    public @NotNull PageSize getDefaults() {
+        return this.defaults;
+    }
+
+    public @NotNull PageSize forType(@NotNull Class<?> domainType) {
+        return this.entities.getOrDefault(domainType.getSimpleName(), this.defaults);
+    }
+}
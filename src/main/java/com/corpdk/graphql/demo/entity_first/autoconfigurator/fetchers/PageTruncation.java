@@ -0,0 +1,51 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import graphql.execution.ResultPath;
+import graphql.extensions.ExtensionsBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A list or Connection cut short by the maximum page size, reported in the {@code truncated} response extension
+ * keyed by the path of the field, so that aliases and nested fields of the same name are told apart. Also published in the request's {@link graphql.GraphQLContext} by field path, so that a cached
+ * page can report it again.
+ *
+ * @param requested the requested count, or {@code null} if none was requested
+ * @param limit     the number of rows returned at most
+ * @param returned  the number of rows returned
+ */
+record PageTruncation(@Nullable Integer requested, int limit, int returned) implements Serializable {
+
+    static final String EXTENSION = "truncated";
+
+    void report(@NotNull DataFetchingEnvironment environment) {
+        environment.getGraphQlContext().put(new Key(environment.getExecutionStepInfo().getPath()), this);
+        ExtensionsBuilder extensions = environment.getGraphQlContext().get(ExtensionsBuilder.class);
+        if (extensions == null) {
+            return;
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (this.requested != null) {
+            details.put("requested", this.requested);
+        }
+        details.put("limit", this.limit);
+        details.put("returned", this.returned);
+        extensions.addValue(EXTENSION, Map.of(environment.getExecutionStepInfo().getPath().toString(), details));
+    }
+
+    /**
+     * @return the truncation reported for the field being fetched, if any
+     */
+    @Nullable
+    static PageTruncation lookup(@NotNull DataFetchingEnvironment environment) {
+        return environment.getGraphQlContext().get(new Key(environment.getExecutionStepInfo().getPath()));
+    }
+
+    private record Key(ResultPath path) {
+    }
+}
@@ -0,0 +1,367 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.FilterFingerprint;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.TrivialDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.SelectedField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.Metamodel;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.graphql.execution.SelfDescribingDataFetcher;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.reachableEntityTypes;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.generators.ConnectionTotalCountConfigurer.TOTAL_COUNT;
+
+/**
+ * Result cache in front of the single, many and scrollable fetchers, keyed by domain type, filter fingerprint,
+ * selection shape and the remaining arguments, i.e. the page window and order. Results are stored as
+ * {@link CachedPage}s of plain data, so only selections that can be read from loaded state are cached; a result
+ * reaching into an uninitialized association or a field with a non-trivial data fetcher is returned uncached.
+ * <p>Both tiers are bounded Caffeine caches with W-TinyLFU eviction. With the off-heap tier enabled, pages whose
+ * estimated size reaches the threshold are kept row by row in direct {@link ByteBuffer}s, weighed by their size.
+ * Entries are dropped once a change to an entity reachable from their domain type has been committed through
+ * Hibernate. Bulk JPQL updates, native SQL and writes by other applications are not seen, results can then be
+ * stale for up to the expire-after-write time.
+ */
+public class QueryResultCache implements MeterBinder {
+    enum Kind {
+        SINGLE, MANY, SCROLLABLE
+    }
+
+    private final Metamodel metamodel;
+
+    private final PersistenceUnitUtil persistenceUnitUtil;
+
+    private final Cache<Key, CachedPage> pages;
+
+    @Nullable
+    private final Cache<Key, CachedPage.OffHeap> offHeapPages;
+
+    private final long offHeapThreshold;
+
+    private final Map<Class<?>, Set<Class<?>>> reachableEntities = new ConcurrentHashMap<>();
+
+    private final Set<FieldCoordinates> propertyFields = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Incremented on every invalidation, so that a result queried concurrently with a commit is not stored.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param offHeapMaxBytes  capacity of the off-heap tier in bytes, or {@code 0} to disable it
+     * @param offHeapThreshold estimated size from which a page is stored off-heap
+     */
+    public QueryResultCache(@NotNull EntityManagerFactory entityManagerFactory, long maxSize, @NotNull Duration expireAfterWrite,
+                            long offHeapMaxBytes, long offHeapThreshold) {
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+        this.metamodel = entityManagerFactory.getMetamodel();
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.offHeapPages = (offHeapMaxBytes > 0) ? Caffeine.newBuilder()
+                .maximumWeight(offHeapMaxBytes)
+                .weigher((Key key, CachedPage.OffHeap page) -> page.size())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build() : null;
+        this.offHeapThreshold = offHeapThreshold;
+    }
+
+    /**
+     * Declare fields that have a data fetcher of their own, but resolve the same value from a plain map source as
+     * from the entity, e.g. the batched relationship fields.
+     */
+    public void registerPropertyFields(@NotNull Collection<FieldCoordinates> coordinates) {
+        this.propertyFields.addAll(coordinates);
+    }
+
+    /**
+     * Drop every result that depends on the given entity type.
+     */
+    public void invalidate(@NotNull Class<?> entityType) {
+        this.generation.incrementAndGet();
+        this.pages.asMap().keySet().removeIf(key -> dependsOn(key, entityType));
+        if (this.offHeapPages != null) {
+            this.offHeapPages.asMap().keySet().removeIf(key -> dependsOn(key, entityType));
+        }
+    }
+
+    <F extends JpaSpecificationDataFetcher<?> & SelfDescribingDataFetcher<V>, V> SelfDescribingDataFetcher<V> decorate(
+            @NotNull F fetcher, @NotNull Kind kind, @Nullable CursorStrategy<ScrollPosition> cursorStrategy) {
+        Assert.isTrue(kind != Kind.SCROLLABLE || cursorStrategy != null, "CursorStrategy is required");
+        return new CachingDataFetcher<>(fetcher, kind, cursorStrategy);
+    }
+
+    private boolean dependsOn(Key key, Class<?> entityType) {
+        return this.reachableEntities.computeIfAbsent(key.domainType(), type -> reachableEntityTypes(this.metamodel, type))
+                .stream().anyMatch(type -> type.isAssignableFrom(entityType));
+    }
+
+    @Nullable
+    private CachedPage get(Key key) {
+        CachedPage page = this.pages.getIfPresent(key);
+        if (page == null && this.offHeapPages != null) {
+            CachedPage.OffHeap offHeap = this.offHeapPages.getIfPresent(key);
+            if (offHeap != null) {
+                page = offHeap.toPage();
+            }
+        }
+        return page;
+    }
+
+    private void put(Key key, CachedPage page, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        if (this.offHeapPages != null && page.estimatedSize() >= this.offHeapThreshold) {
+            CachedPage.OffHeap offHeap = page.toOffHeap();
+            if (offHeap != null) {
+                this.offHeapPages.put(key, offHeap);
+                this.pages.invalidate(key);
+                return;
+            }
+        }
+        this.pages.put(key, page);
+    }
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.pages, "graphql.result.cache");
+        if (this.offHeapPages != null) {
+            CaffeineCacheMetrics.monitor(registry, this.offHeapPages, "graphql.result.cache.offheap");
+        }
+    }
+
+    private record Key(Kind kind, Class<?> domainType, FilterFingerprint filter, String selection,
+                       Map<String, Object> arguments) {
+    }
+
+    private class CachingDataFetcher<F extends JpaSpecificationDataFetcher<?> & SelfDescribingDataFetcher<V>, V>
+            implements SelfDescribingDataFetcher<V> {
+
+        private final F delegate;
+
+        private final Kind kind;
+
+        @Nullable
+        private final CursorStrategy<ScrollPosition> cursorStrategy;
+
+        CachingDataFetcher(F delegate, Kind kind, @Nullable CursorStrategy<ScrollPosition> cursorStrategy) {
+            this.delegate = delegate;
+            this.kind = kind;
+            this.cursorStrategy = cursorStrategy;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Caching" + this.delegate.getDescription();
+        }
+
+        @Override
+        public ResolvableType getReturnType() {
+            return this.delegate.getReturnType();
+        }
+
+        @Override
+        public Map<String, ResolvableType> getArguments() {
+            return this.delegate.getArguments();
+        }
+
+        @Override
+        public V get(DataFetchingEnvironment environment) throws Exception {
+            Map<String, Object> arguments = new TreeMap<>(environment.getArguments());
+            arguments.remove("filter");
+            Key key = new Key(this.kind, this.delegate.getMetadata().getDomainType().getType(),
+                    this.delegate.getFilterFingerprint(environment), selectionShape(environment.getSelectionSet()), arguments);
+
+            CachedPage page = QueryResultCache.this.get(key);
+            if (page != null) {
+                CachedPage hit = page;
+                return this.delegate.measure(() -> restore(hit, environment));
+            }
+
+            long generation = QueryResultCache.this.generation.get();
+            V result = this.delegate.get(environment);
+            page = materialize(result, environment);
+            if (page != null) {
+                page = page.withTruncation(PageTruncation.lookup(environment));
+                CompletableFuture<Long> totalCount = (this.kind == Kind.SCROLLABLE) ? TotalCountDataFetcher.lookup(environment) : null;
+                if (totalCount == null) {
+                    put(key, page, generation);
+                } else {
+                    CachedPage withoutCount = page;
+                    totalCount.thenAccept(count -> put(key, withoutCount.withTotalCount(count), generation));
+                }
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V restore(CachedPage page, DataFetchingEnvironment environment) {
+            if (page.truncation() != null) {
+                page.truncation().report(environment);
+            }
+            return switch (this.kind) {
+                case SINGLE -> page.rows().isEmpty() ? null : (V) page.rows().get(0);
+                case MANY -> (V) page.rows();
+                case SCROLLABLE -> {
+                    List<String> cursors = page.cursors();
+                    if (page.totalCount() != null) {
+                        TotalCountDataFetcher.register(environment, CompletableFuture.completedFuture(page.totalCount()));
+                    }
+                    yield (V) Window.from(page.rows(), index -> this.cursorStrategy.fromCursor(cursors.get(index)), page.hasNext());
+                }
+            };
+        }
+
+        @Nullable
+        private CachedPage materialize(@Nullable V result, DataFetchingEnvironment environment) {
+            GraphQLCodeRegistry codeRegistry = environment.getGraphQLSchema().getCodeRegistry();
+            DataFetchingFieldSelectionSet selectionSet = environment.getSelectionSet();
+            switch (this.kind) {
+                case SINGLE -> {
+                    if (result == null) {
+                        return new CachedPage(List.of(), null, false, null, null);
+                    }
+                    Map<String, Object> row = materialize(result, selectionSet.getImmediateFields(), codeRegistry);
+                    return (row != null) ? new CachedPage(List.of(row), null, false, null, null) : null;
+                }
+                case MANY -> {
+                    List<Object> rows = materialize((Iterable<?>) result, selectionSet.getImmediateFields(), codeRegistry);
+                    return (rows != null) ? new CachedPage(rows, null, false, null, null) : null;
+                }
+                default -> {
+                    if (!(result instanceof Window<?> window)) {
+                        return null;
+                    }
+                    List<SelectedField> nodes = selectionSet.getFields("edges/node");
+                    List<SelectedField> fields = nodes.isEmpty() ? List.of() : nodes.get(0).getSelectionSet().getImmediateFields();
+                    List<Object> rows = materialize(window, fields, codeRegistry);
+                    if (rows == null) {
+                        return null;
+                    }
+                    List<String> cursors = new ArrayList<>(rows.size());
+                    for (int i = 0; i < rows.size(); i++) {
+                        cursors.add(this.cursorStrategy.toCursor(window.positionAt(i)));
+                    }
+                    return new CachedPage(rows, cursors, window.hasNext(), null, null);
+                }
+            }
+        }
+
+        @Nullable
+        private List<Object> materialize(Iterable<?> sources, List<SelectedField> fields, GraphQLCodeRegistry codeRegistry) {
+            List<Object> rows = new ArrayList<>();
+            for (Object source : sources) {
+                Map<String, Object> row = (source != null) ? materialize(source, fields, codeRegistry) : null;
+                if (source != null && row == null) {
+                    return null;
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        /**
+         * The selected properties of the source, keyed by field name as the property data fetchers read them back.
+         * A field selected several times under different aliases is read once, with the union of their selections.
+         *
+         * @return the row, or {@code null} if it cannot all be read from loaded state, or the aliases of a field
+         * differ in their arguments
+         */
+        @Nullable
+        private Map<String, Object> materialize(Object source, List<SelectedField> fields, GraphQLCodeRegistry codeRegistry) {
+            Map<String, List<SelectedField>> fieldsByName = new LinkedHashMap<>();
+            for (SelectedField field : fields) {
+                if (!field.getName().startsWith("__")) {
+                    fieldsByName.computeIfAbsent(field.getName(), name -> new ArrayList<>()).add(field);
+                }
+            }
+            BeanWrapper wrapper = (source instanceof Map<?, ?>) ? null : PropertyAccessorFactory.forBeanPropertyAccess(source);
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (Map.Entry<String, List<SelectedField>> selected : fieldsByName.entrySet()) {
+                String name = selected.getKey();
+                SelectedField field = selected.getValue().get(0);
+                if (selected.getValue().stream().anyMatch(alias -> !alias.getArguments().equals(field.getArguments()))) {
+                    return null;
+                }
+                FieldCoordinates coordinates = FieldCoordinates.coordinates(field.getObjectTypeNames().get(0), name);
+                DataFetcher<?> fetcher = codeRegistry.getDataFetcher(coordinates, field.getFieldDefinitions().get(0));
+                if (!(fetcher instanceof TrivialDataFetcher<?>) && !QueryResultCache.this.propertyFields.contains(coordinates)) {
+                    return null;
+                }
+
+                Object value;
+                if (wrapper == null) {
+                    Map<?, ?> map = (Map<?, ?>) source;
+                    if (!map.containsKey(name)) {
+                        return null;
+                    }
+                    value = map.get(name);
+                } else {
+                    if (!wrapper.isReadableProperty(name) || !QueryResultCache.this.persistenceUnitUtil.isLoaded(source, name)) {
+                        return null;
+                    }
+                    value = wrapper.getPropertyValue(name);
+                }
+
+                List<SelectedField> nested = selected.getValue().stream()
+                        .flatMap(alias -> alias.getSelectionSet().getImmediateFields().stream()).toList();
+                if (value == null || nested.isEmpty()) {
+                    row.put(name, value);
+                } else if (value instanceof Iterable<?> elements) {
+                    List<Object> rows = materialize(elements, nested, codeRegistry);
+                    if (rows == null) {
+                        return null;
+                    }
+                    row.put(name, rows);
+                } else {
+                    Map<String, Object> nestedRow = materialize(value, nested, codeRegistry);
+                    if (nestedRow == null) {
+                        return null;
+                    }
+                    row.put(name, nestedRow);
+                }
+            }
+            return row;
+        }
+
+        private static String selectionShape(DataFetchingFieldSelectionSet selectionSet) {
+            return selectionSet.getFields().stream()
+                    .map(field -> field.getArguments().isEmpty() ? field.getQualifiedName() :
+                            field.getQualifiedName() + new TreeMap<>(field.getArguments()))
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+    }
+}
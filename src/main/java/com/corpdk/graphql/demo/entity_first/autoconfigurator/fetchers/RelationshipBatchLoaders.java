@@ -0,0 +1,188 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.PropertyDataFetcher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.dataloader.DataLoader;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+
+/**
+ * Registers one {@link DataLoader} per entity association and provides the matching {@link DataFetcher}s.
+ * Parent ids are collected per execution level and each association is resolved with a single {@code IN} query,
+ * instead of one lazy load per parent. Associations already initialized on the parent (e.g. by a fetch graph)
+ * are returned as they are. Without a DataLoader, e.g. in subscription events, the same query
+ * is run for the one parent, since the parent may be detached.
+ * <p>
+ * The ids of a batch are bound in {@code IN} lists of at most the maximum batch size, each padded to a power of two
+ * by repeating its last id, so that large batches stay within the bind parameter limits of the database, e.g. 1000
+ * on Oracle and 2100 on SQL Server, and each association is only ever queried with a few distinct statements.
+ */
+public class RelationshipBatchLoaders {
+    private static final Log logger = LogFactory.getLog(RelationshipBatchLoaders.class);
+
+    private final EntityManager entityManager;
+
+    private final PersistenceUnitUtil persistenceUnitUtil;
+
+    private final int maxBatchSize;
+
+    public RelationshipBatchLoaders(@NotNull EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, 500);
+    }
+
+    /**
+     * @param maxBatchSize the most ids bound in one query
+     */
+    public RelationshipBatchLoaders(@NotNull EntityManagerFactory entityManagerFactory, int maxBatchSize) {
+        Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Register a batch loader for every association of every managed entity.
+     *
+     * @return the data fetcher for each association, keyed by the coordinates of its GraphQL field
+     */
+    public Map<FieldCoordinates, DataFetcher<?>> register(@NotNull BatchLoaderRegistry registry) {
+        Map<FieldCoordinates, DataFetcher<?>> fetchers = new HashMap<>();
+
+        for (EntityType<?> entityType : this.entityManager.getMetamodel().getEntities()) {
+            Class<?> javaType = entityType.getJavaType();
+            if (javaType == null || !entityType.hasSingleIdAttribute()) {
+                continue;
+            }
+            String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+
+            for (Attribute<?, ?> attribute : entityType.getAttributes()) {
+                if (!attribute.isAssociation()) {
+                    continue;
+                }
+                FieldCoordinates coordinates = FieldCoordinates.coordinates(javaType.getSimpleName(), attribute.getName());
+                String loaderName = javaType.getSimpleName() + "." + attribute.getName();
+                String query = "select p." + idName + ", c from " + entityType.getName() + " p join p." +
+                        attribute.getName() + " c where p." + idName + " in :keys";
+
+                if (attribute.isCollection()) {
+                    registry.<Object, List<Object>>forName(loaderName)
+                            .registerMappedBatchLoader((keys, environment) -> Mono.fromCallable(() -> loadMany(query, keys)));
+                } else {
+                    registry.<Object, Object>forName(loaderName)
+                            .registerMappedBatchLoader((keys, environment) -> Mono.fromCallable(() -> loadOne(query, keys)));
+                }
+                fetchers.put(coordinates, new RelationshipDataFetcher(javaType, attribute.getName(), loaderName, query,
+                        attribute.isCollection()));
+                logger.debug("Registered batch loader: " + loaderName);
+            }
+        }
+
+        return fetchers;
+    }
+
+    private List<Object[]> load(String query, Set<Object> keys) {
+        List<Object[]> rows = new ArrayList<>();
+        for (List<Object> chunk : chunks(keys, this.maxBatchSize)) {
+            rows.addAll(this.entityManager.createQuery(query, Object[].class)
+                    .setParameter("keys", chunk)
+                    .getResultList());
+        }
+        return rows;
+    }
+
+    /**
+     * Splits the keys into lists of at most {@code maxSize}, each padded to the next power of two, or to
+     * {@code maxSize}, by repeating its last key.
+     */
+    static List<List<Object>> chunks(Collection<Object> keys, int maxSize) {
+        List<Object> all = new ArrayList<>(keys);
+        List<List<Object>> chunks = new ArrayList<>((all.size() + maxSize - 1) / maxSize);
+        for (int from = 0; from < all.size(); from += maxSize) {
+            List<Object> chunk = new ArrayList<>(all.subList(from, Math.min(from + maxSize, all.size())));
+            int padded = (chunk.size() <= 1) ? chunk.size() : Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, maxSize);
+            Object last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < padded) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private Map<Object, Object> loadOne(String query, Set<Object> keys) {
+        Map<Object, Object> result = new HashMap<>(keys.size());
+        for (Object[] row : load(query, keys)) {
+            result.put(row[0], row[1]);
+        }
+        return result;
+    }
+
+    private Map<Object, List<Object>> loadMany(String query, Set<Object> keys) {
+        Map<Object, List<Object>> result = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            result.put(key, new ArrayList<>());
+        }
+        for (Object[] row : load(query, keys)) {
+            result.get(row[0]).add(row[1]);
+        }
+        return result;
+    }
+
+    private class RelationshipDataFetcher implements DataFetcher<Object> {
+
+        private final Class<?> entityType;
+
+        private final String attributeName;
+
+        private final String loaderName;
+
+        private final String query;
+
+        private final boolean collection;
+
+        private final DataFetcher<?> propertyFetcher;
+
+        RelationshipDataFetcher(Class<?> entityType, String attributeName, String loaderName, String query, boolean collection) {
+            this.entityType = entityType;
+            this.attributeName = attributeName;
+            this.loaderName = loaderName;
+            this.query = query;
+            this.collection = collection;
+            this.propertyFetcher = PropertyDataFetcher.fetching(attributeName);
+        }
+
+        @Override
+        public Object get(DataFetchingEnvironment environment) throws Exception {
+            Object source = environment.getSource();
+            // Subscription events carry a copy of the committed entity without its associations, see EntityChange
+            boolean subscription = environment.getOperationDefinition().getOperation() == OperationDefinition.Operation.SUBSCRIPTION;
+            if (!this.entityType.isInstance(source) ||
+                    (!subscription && RelationshipBatchLoaders.this.persistenceUnitUtil.isLoaded(source, this.attributeName))) {
+                return this.propertyFetcher.get(environment);
+            }
+
+            Object id = RelationshipBatchLoaders.this.persistenceUnitUtil.getIdentifier(source);
+            // DataLoaders are not dispatched for subscription events, which resolve one entity at a time anyway
+            DataLoader<Object, Object> loader = subscription ? null : environment.getDataLoader(this.loaderName);
+            if (loader == null) {
+                return this.collection ? loadMany(this.query, Set.of(id)).get(id) : loadOne(this.query, Set.of(id)).get(id);
+            }
+            return loader.load(id);
+        }
+    }
+}
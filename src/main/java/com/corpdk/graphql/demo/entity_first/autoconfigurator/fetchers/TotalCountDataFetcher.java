@@ -0,0 +1,45 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.ResultPath;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolves the {@code totalCount} field of a Connection from the count started by the fetcher of the Connection
+ * field itself, which shares the request's {@link graphql.GraphQLContext} keyed by the Connection field path.
+ */
+public class TotalCountDataFetcher implements DataFetcher<CompletableFuture<Long>> {
+
+    /**
+     * Publish the total count of the Connection field being fetched.
+     */
+    static void register(@NotNull DataFetchingEnvironment environment, @NotNull CompletableFuture<Long> totalCount) {
+        environment.getGraphQlContext().put(new Key(environment.getExecutionStepInfo().getPath()), totalCount);
+    }
+
+    /**
+     * @return the total count published for the Connection field being fetched, if any
+     */
+    @Nullable
+    static CompletableFuture<Long> lookup(@NotNull DataFetchingEnvironment environment) {
+        return environment.getGraphQlContext().get(new Key(environment.getExecutionStepInfo().getPath()));
+    }
+
+    @Override
+    public CompletableFuture<Long> get(DataFetchingEnvironment environment) {
+        ExecutionStepInfo connection = environment.getExecutionStepInfo().getParent();
+        if (connection == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Long> totalCount = environment.getGraphQlContext().get(new Key(connection.getPath()));
+        return (totalCount != null) ? totalCount : CompletableFuture.completedFuture(null);
+    }
+
+    private record Key(ResultPath path) {
+    }
+}
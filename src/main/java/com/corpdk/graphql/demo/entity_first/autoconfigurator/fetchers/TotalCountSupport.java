@@ -0,0 +1,114 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Computes the {@code totalCount} of Connection fields, either with a count query that runs on the given
+ * {@link Executor}, and thus on its own connection, concurrently with the page query, or together with an offset
+ * page in a single statement using {@code count(...) over ()}.
+ */
+public class TotalCountSupport {
+
+    private final EntityManager entityManager;
+
+    @Nullable
+    private final Executor executor;
+
+    private final boolean windowFunction;
+
+    /**
+     * @param executor       runs the count queries, or {@code null} to count on the calling thread
+     * @param windowFunction whether offset pages are counted with a window function, if the dialect supports it
+     */
+    public TotalCountSupport(@NotNull EntityManagerFactory entityManagerFactory, @Nullable Executor executor, boolean windowFunction) {
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.executor = executor;
+        this.windowFunction = windowFunction && entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().supportsWindowFunctions();
+    }
+
+    public boolean usesWindowFunction() {
+        return this.windowFunction;
+    }
+
+    public <T> CompletableFuture<Long> count(@NotNull JpaSpecificationExecutor<T> executor, Specification<T> specification) {
+        if (this.executor == null) {
+            return CompletableFuture.completedFuture(executor.count(specification));
+        }
+        return CompletableFuture.supplyAsync(FetcherMetrics.offThread(FetcherMetrics.Stage.TOTAL_COUNT,
+                () -> executor.count(specification)), this.executor);
+    }
+
+    /**
+     * Offset based scrolling equivalent to {@code FluentQuery.scroll}, where every row also carries the number of
+     * rows matching the specification. The count completes {@code totalCount}; it is only queried separately when
+     * the window is empty.
+     */
+    public <T> Window<T> scroll(@NotNull JpaSpecificationExecutor<T> executor, @NotNull Class<T> domainType,
+                                Specification<T> specification, Sort sort, @NotNull OffsetScrollPosition position,
+                                int limit, @NotNull CompletableFuture<Long> totalCount) {
+        HibernateCriteriaBuilder criteriaBuilder = (HibernateCriteriaBuilder) this.entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(domainType);
+
+        query.multiselect(root, criteriaBuilder.count(root, criteriaBuilder.createWindow()));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        TypedQuery<Tuple> typedQuery = this.entityManager.createQuery(query);
+        if (!position.isInitial()) {
+            typedQuery.setFirstResult(Math.toIntExact(position.getOffset()) + 1);
+        }
+        typedQuery.setMaxResults(limit + 1);
+
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<T> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(domainType.cast(tuple.get(0)));
+        }
+
+        if (!tuples.isEmpty()) {
+            totalCount.complete(tuples.get(0).get(1, Long.class));
+        } else if (position.isInitial()) {
+            totalCount.complete(0L);
+        } else {
+            count(executor, specification).whenComplete((count, ex) -> {
+                if (ex != null) {
+                    totalCount.completeExceptionally(ex);
+                } else {
+                    totalCount.complete(count);
+                }
+            });
+        }
+
+        boolean hasNext = rows.size() > limit;
+        return Window.from(hasNext ? rows.subList(0, limit) : rows, position.positionFunction(), hasNext);
+    }
+}
@@ -0,0 +1,102 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in projection mode that selects only the requested scalar columns with a Criteria tuple query and returns
+ * each row as a map keyed by property name, so no entity is hydrated or added to the persistence context.
+ */
+public class TupleProjection {
+
+    private final EntityManager entityManager;
+
+    public TupleProjection(@NotNull EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @return whether every column is a basic attribute of the domain type
+     */
+    public boolean supports(@NotNull Class<?> domainType, @NotNull List<String> columns) {
+        EntityType<?> entityType = this.entityManager.getMetamodel().entity(domainType);
+        for (String column : columns) {
+            Attribute<?, ?> attribute = entityType.getAttribute(column);
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public <T> List<Map<String, Object>> findAll(@NotNull Class<T> domainType, Specification<T> specification,
+                                                 @NotNull List<String> columns, Sort sort) {
+        return toMaps(createQuery(domainType, specification, columns, sort).getResultList());
+    }
+
+    /**
+     * Offset based scrolling equivalent to {@code FluentQuery.scroll}: one row beyond the limit is read to
+     * determine whether there is a next window.
+     */
+    public <T> Window<Map<String, Object>> scroll(@NotNull Class<T> domainType, Specification<T> specification,
+                                                  @NotNull List<String> columns, Sort sort,
+                                                  @NotNull OffsetScrollPosition position, int limit) {
+        TypedQuery<Tuple> query = createQuery(domainType, specification, columns, sort);
+        if (!position.isInitial()) {
+            query.setFirstResult(Math.toIntExact(position.getOffset()) + 1);
+        }
+        query.setMaxResults(limit + 1);
+
+        List<Map<String, Object>> rows = toMaps(query.getResultList());
+        boolean hasNext = rows.size() > limit;
+        return Window.from(hasNext ? rows.subList(0, limit) : rows, position.positionFunction(), hasNext);
+    }
+
+    private <T> TypedQuery<Tuple> createQuery(Class<T> domainType, Specification<T> specification, List<String> columns, Sort sort) {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(domainType);
+
+        query.multiselect(columns.stream().<Selection<?>>map(column -> root.get(column).alias(column)).toList());
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return this.entityManager.createQuery(query);
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> tuples) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,137 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encodes the keys of a keyset scroll position as a JSON object of {@code "property": ["Type", value]} pairs,
+ * without Jackson's default typing. The type is a tag from {@link #TYPES}, and a cursor is only read back into
+ * exactly those classes, so a cursor sent by a client can never make the server instantiate any other type.
+ * Null keys are rejected, as a keyset cannot seek past them.
+ */
+public class TypedKeysetCursorStrategy implements CursorStrategy<Map<String, Object>> {
+
+    static final int MAX_KEYS = 16;
+
+    private static final Map<String, Class<?>> TYPES = Map.ofEntries(
+            Map.entry("String", String.class),
+            Map.entry("Boolean", Boolean.class),
+            Map.entry("Byte", Byte.class),
+            Map.entry("Short", Short.class),
+            Map.entry("Integer", Integer.class),
+            Map.entry("Long", Long.class),
+            Map.entry("Float", Float.class),
+            Map.entry("Double", Double.class),
+            Map.entry("BigInteger", BigInteger.class),
+            Map.entry("BigDecimal", BigDecimal.class),
+            Map.entry("UUID", UUID.class),
+            Map.entry("LocalDate", LocalDate.class),
+            Map.entry("LocalTime", LocalTime.class),
+            Map.entry("LocalDateTime", LocalDateTime.class),
+            Map.entry("Instant", Instant.class),
+            Map.entry("OffsetDateTime", OffsetDateTime.class),
+            Map.entry("ZonedDateTime", ZonedDateTime.class));
+
+    private static final Map<Class<?>, String> TAGS = new HashMap<>();
+
+    static {
+        TYPES.forEach((tag, type) -> TAGS.put(type, tag));
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public TypedKeysetCursorStrategy() {
+        this(Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+                .postConfigurer(mapper -> mapper.setNodeFactory(JsonNodeFactory.withExactBigDecimals(true)))
+                .build());
+    }
+
+    /**
+     * @param objectMapper writes and reads the values, must not have default typing enabled
+     */
+    public TypedKeysetCursorStrategy(@NotNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(@NotNull Class<?> targetType) {
+        return Map.class.isAssignableFrom(targetType);
+    }
+
+    @Override
+    public @NotNull String toCursor(@NotNull Map<String, Object> keys) {
+        ObjectNode cursor = this.objectMapper.createObjectNode();
+        keys.forEach((property, value) -> {
+            if (value == null) {
+                throw new IllegalArgumentException("Keyset cursors cannot hold the null value of '" + property + "'");
+            }
+            String tag = TAGS.get(value.getClass());
+            if (tag == null) {
+                throw new IllegalArgumentException("Keyset cursors cannot hold '" + property + "' of type " +
+                        value.getClass().getName() + ", only " + TYPES.keySet());
+            }
+            cursor.putArray(property).add(tag).add(this.objectMapper.valueToTree(value));
+        });
+        try {
+            return this.objectMapper.writeValueAsString(cursor);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Failed to write keyset cursor of " + keys.keySet(), ex);
+        }
+    }
+
+    @Override
+    public @NotNull Map<String, Object> fromCursor(@NotNull String cursor) {
+        JsonNode node;
+        try {
+            node = this.objectMapper.readTree(cursor);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid keyset cursor", ex);
+        }
+        if (node == null || !node.isObject() || node.isEmpty() || node.size() > MAX_KEYS) {
+            throw new IllegalArgumentException("Invalid keyset cursor, expected an object of 1 to " + MAX_KEYS + " keys");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            keys.put(field.getKey(), readValue(field.getKey(), field.getValue()));
+        }
+        return keys;
+    }
+
+    private Object readValue(String property, JsonNode typedValue) {
+        Class<?> type = (typedValue.isArray() && typedValue.size() == 2 && typedValue.get(0).isTextual()) ?
+                TYPES.get(typedValue.get(0).asText()) : null;
+        if (type == null || typedValue.get(1).isNull() || typedValue.get(1).isContainerNode()) {
+            throw new IllegalArgumentException("Invalid keyset cursor value of '" + property + "'");
+        }
+        try {
+            return this.objectMapper.treeToValue(typedValue.get(1), type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid keyset cursor value of '" + property + "'", ex);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.filters;
+
+import java.util.List;
+
+/**
+ * The properties of one filter class with plain accessors, generated at compile time by the entity annotation
+ * processor and registered as a {@link java.util.ServiceLoader} service. Used by {@link FilterProperties} in place
+ * of reflecting over the filter class.
+ */
+public interface FilterAccessPlan {
+
+    Class<?> filterType();
+
+    /**
+     * @return the declared properties of the filter class, in declaration order
+     */
+    List<FilterProperty> properties();
+}
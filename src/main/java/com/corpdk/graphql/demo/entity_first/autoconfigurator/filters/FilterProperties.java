@@ -0,0 +1,75 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.filters;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import static graphql.util.StringKit.capitalize;
+
+/**
+ * Resolves the declared properties of a filter class into {@link FilterProperty} accessors, from its generated
+ * {@link FilterAccessPlan} if there is one. The result is computed once per class and cached, so callers on the
+ * request path never reflect.
+ */
+public final class FilterProperties {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final Map<Class<?>, FilterAccessPlan> ACCESS_PLANS = loadAccessPlans();
+
+    private static final ClassValue<List<FilterProperty>> PROPERTIES = new ClassValue<>() {
+        @Override
+        protected List<FilterProperty> computeValue(@NotNull Class<?> type) {
+            FilterAccessPlan accessPlan = ACCESS_PLANS.get(type);
+            return (accessPlan != null) ? List.copyOf(accessPlan.properties()) : resolve(type);
+        }
+    };
+
+    private FilterProperties() {
+    }
+
+    /**
+     * @return the declared (non-static) properties of the given class, in declaration order
+     */
+    public static List<FilterProperty> of(@NotNull Class<?> filterType) {
+        return PROPERTIES.get(filterType);
+    }
+
+    private static Map<Class<?>, FilterAccessPlan> loadAccessPlans() {
+        Map<Class<?>, FilterAccessPlan> accessPlans = new HashMap<>();
+        for (FilterAccessPlan accessPlan : ServiceLoader.load(FilterAccessPlan.class, FilterProperties.class.getClassLoader())) {
+            accessPlans.put(accessPlan.filterType(), accessPlan);
+        }
+        return Map.copyOf(accessPlans);
+    }
+
+    private static @NotNull List<FilterProperty> resolve(@NotNull Class<?> filterType) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        List<FilterProperty> properties = new ArrayList<>();
+
+        for (Field field : filterType.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            try {
+                Method getterMethod = filterType.getMethod("get" + capitalize(field.getName()));
+                MethodHandle getter = lookup.unreflect(getterMethod).asType(GETTER_TYPE);
+                properties.add(FilterProperty.of(field.getName(), field.getType(), getter));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException("Error accessing field " + field.getName() + " of " + filterType.getName(), e);
+            }
+        }
+
+        return List.copyOf(properties);
+    }
+}
@@ -0,0 +1,32 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.filters;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.util.function.Function;
+
+/**
+ * A single declared property of a filter class together with a pre-resolved accessor for its getter.
+ * Instances are created once per filter class by {@link FilterProperties} and shared by all requests.
+ */
+public record FilterProperty(String name, Class<?> type, Function<Object, Object> getter) {
+
+    /**
+     * @param getter a getter adapted to {@code (Object) -> Object}
+     */
+    static FilterProperty of(String name, Class<?> type, MethodHandle getter) {
+        return new FilterProperty(name, type, filter -> {
+            try {
+                return (Object) getter.invokeExact(filter);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Error accessing field " + name, ex);
+            }
+        });
+    }
+
+    public Object read(@NotNull Object filter) {
+        return this.getter.apply(filter);
+    }
+}
@@ -1,108 +1,99 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.validators;
 
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.FilterProperty;
 import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.ValidFilter;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import lombok.SneakyThrows;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.List;
 
 public class FilterValidator implements ConstraintValidator<ValidFilter, Object> {
     private static final Log logger = LogFactory.getLog(FilterValidator.class);
 
-    private static String capitalize(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
-    }
-
     @Override
     public void initialize(ValidFilter constraintAnnotation) {
         // No initialization needed
     }
 
-    @SneakyThrows
     @Override
     public boolean isValid(Object value, ConstraintValidatorContext context) {
         if (!(value instanceof BaseFilter<?> filter)) {
             return true;
         }
-        logger.debug("Running Custom Validator for class: " + filter.getClass().getSimpleName());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Running Custom Validator for class: " + filter.getClass().getSimpleName());
+        }
+        if (validateFilter(filter, null, null)) {
+            return true;
+        }
+        // Only an invalid filter pays for a second walk that builds property paths and messages
         return validateFilter(filter, context, "");
     }
 
-    private boolean validateFilter(@NotNull BaseFilter<?> filter, ConstraintValidatorContext context, String parentPath) throws IllegalAccessException {
+    /**
+     * @param context {@code null} to only check validity, stopping at the first violation without building paths
+     */
+    private boolean validateFilter(@NotNull BaseFilter<?> filter, @Nullable ConstraintValidatorContext context, @Nullable String parentPath) {
+        ValidationPlan plan = ValidationPlan.of(filter.getClass());
         boolean isValid = true;
-        boolean notIsDefined = filter.getNot() != null;
-
-        logger.debug("Validating: " + filter.getClass().getSimpleName());
-        for (Field field : filter.getClass().getDeclaredFields()) {
-            if ("sensitive".equals(field.getName())) {
-                continue;
-            }
-            try {
-                logger.debug("Iterating Field: " + field.getName());
-                String getterName = "get" + capitalize(field.getName());
 
-                Method getterMethod = filter.getClass().getMethod(getterName);
-
-                Object fieldValue = getterMethod.invoke(filter);
-
-                if (notIsDefined) {
-                    isValid = checkField(field, fieldValue, context, parentPath, isValid);
+        if (filter.getNot() != null) {
+            for (FilterProperty property : plan.exclusive) {
+                Object fieldValue = property.read(filter);
+                if (fieldValue != null && !isEmptyValue(fieldValue)) {
+                    if (context == null) {
+                        return false;
+                    }
+                    addValidationMessage(property.name(), context, parentPath);
+                    isValid = false;
                 }
+            }
+        }
 
-                if (fieldValue instanceof BaseFilter<?> nestedFilter) {
-                    String nestedPath = parentPath.isEmpty() ? field.getName() : parentPath + "." + field.getName();
-                    isValid = validateFilter(nestedFilter, context, nestedPath) && isValid;
+        for (FilterProperty property : plan.nested) {
+            if (property.read(filter) instanceof BaseFilter<?> nestedFilter) {
+                isValid = validateFilter(nestedFilter, context, nestedPath(parentPath, property.name(), context)) && isValid;
+                if (!isValid && context == null) {
+                    return false;
                 }
-            } catch (Exception e) {
-                throw new IllegalAccessException("Error accessing field " + field.getName());
             }
         }
 
-        isValid = checkBaseNestedFields(filter, context, parentPath, isValid);
-
-        return isValid;
+        return checkBaseNestedFields(filter, context, parentPath, isValid);
     }
 
-    private boolean checkBaseNestedFields(@NotNull BaseFilter<?> filter, ConstraintValidatorContext context, String parentPath, boolean isValid) throws IllegalAccessException {
+    private boolean checkBaseNestedFields(@NotNull BaseFilter<?> filter, @Nullable ConstraintValidatorContext context, @Nullable String parentPath, boolean isValid) {
         if (filter.getAnd() instanceof BaseFilter<?> nestedFilter) {
-            String nestedPath = parentPath.isEmpty() ? "and" : parentPath + ".and";
-            isValid = validateFilter(nestedFilter, context, nestedPath) && isValid;
+            isValid = validateFilter(nestedFilter, context, nestedPath(parentPath, "and", context)) && isValid;
         }
-        if (filter.getOr() instanceof BaseFilter<?> nestedFilter) {
-            String nestedPath = parentPath.isEmpty() ? "or" : parentPath + ".or";
-            isValid = validateFilter(nestedFilter, context, nestedPath) && isValid;
+        if (filter.getOr() instanceof BaseFilter<?> nestedFilter && (isValid || context != null)) {
+            isValid = validateFilter(nestedFilter, context, nestedPath(parentPath, "or", context)) && isValid;
         }
-        if (filter.getNot() instanceof BaseFilter<?> nestedFilter) {
-            String nestedPath = parentPath.isEmpty() ? "not" : parentPath + ".not";
-            isValid = validateFilter(nestedFilter, context, nestedPath) && isValid;
+        if (filter.getNot() instanceof BaseFilter<?> nestedFilter && (isValid || context != null)) {
+            isValid = validateFilter(nestedFilter, context, nestedPath(parentPath, "not", context)) && isValid;
         }
 
         return isValid;
     }
 
-    private boolean checkField(@NotNull Field field, Object fieldValue, ConstraintValidatorContext context, String parentPath, boolean isValid) {
-        if (!field.getName().equals("not") && fieldValue != null && !isEmptyValue(fieldValue)) {
-            addValidationMessage(field, context, parentPath);
-            isValid = false;
+    @Nullable
+    private String nestedPath(@Nullable String parentPath, String name, @Nullable ConstraintValidatorContext context) {
+        if (context == null || parentPath == null) {
+            return null;
         }
-        return isValid;
+        return parentPath.isEmpty() ? name : parentPath + "." + name;
     }
 
-    private void addValidationMessage(Field field, @NotNull ConstraintValidatorContext context, @NotNull String parentPath) {
+    private void addValidationMessage(String fieldName, @NotNull ConstraintValidatorContext context, @Nullable String parentPath) {
         context.disableDefaultConstraintViolation();
 
-        String fieldPath = parentPath.isEmpty() ? field.getName() : parentPath + "." + field.getName();
-        String notPath = parentPath.isEmpty() ? "not" : parentPath + ".not";
+        String fieldPath = nestedPath(parentPath, fieldName, context);
+        String notPath = nestedPath(parentPath, "not", context);
         String customMessage = String.format("Field '%s' must be empty if '%s' is not null.", fieldPath, notPath);
         context.buildConstraintViolationWithTemplate(customMessage)
                 .addPropertyNode(fieldPath)
@@ -118,4 +109,3 @@ public class FilterValidator implements ConstraintValidator<ValidFilter, Object>
         return false;
     }
 }
-
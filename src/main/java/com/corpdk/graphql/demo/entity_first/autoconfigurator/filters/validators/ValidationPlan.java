@@ -0,0 +1,50 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.validators;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.FilterProperties;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.FilterProperty;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Per-class validation plan: the properties taking part in the {@code not} exclusivity check and the
+ * properties that may hold a nested filter. Computed once per filter class.
+ */
+final class ValidationPlan {
+
+    private static final ClassValue<ValidationPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ValidationPlan computeValue(@NotNull Class<?> type) {
+            return new ValidationPlan(type);
+        }
+    };
+
+    /**
+     * Properties that must be empty when {@code not} is set.
+     */
+    final FilterProperty[] exclusive;
+
+    /**
+     * Properties whose declared type can hold a {@link BaseFilter}, checked for nested validation.
+     */
+    final FilterProperty[] nested;
+
+    private ValidationPlan(Class<?> filterType) {
+        List<FilterProperty> properties = FilterProperties.of(filterType).stream()
+                .filter(property -> !"sensitive".equals(property.name()))
+                .toList();
+
+        this.exclusive = properties.stream()
+                .filter(property -> !"not".equals(property.name()))
+                .toArray(FilterProperty[]::new);
+        this.nested = properties.stream()
+                .filter(property -> BaseFilter.class.isAssignableFrom(property.type()) ||
+                        property.type().isAssignableFrom(BaseFilter.class))
+                .toArray(FilterProperty[]::new);
+    }
+
+    static ValidationPlan of(@NotNull Class<?> filterType) {
+        return PLANS.get(filterType);
+    }
+}
@@ -0,0 +1,42 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
+
+import graphql.language.FieldDefinition;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ObjectTypeExtensionDefinition;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.execution.TypeDefinitionConfigurer;
+
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.INT_TYPE;
+
+/**
+ * Adds an optional {@code totalCount} field to every Connection type. Must be applied after the Connection types
+ * are generated, i.e. after {@link org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer}.
+ */
+public class ConnectionTotalCountConfigurer implements TypeDefinitionConfigurer {
+    private static final Log logger = LogFactory.getLog(ConnectionTotalCountConfigurer.class);
+
+    public static final String TOTAL_COUNT = "totalCount";
+
+    @Override
+    public void configure(@NotNull TypeDefinitionRegistry registry) {
+        for (ObjectTypeDefinition type : registry.getTypes(ObjectTypeDefinition.class)) {
+            if (!isConnectionType(type) || type.getFieldDefinitions().stream().anyMatch(field -> field.getName().equals(TOTAL_COUNT))) {
+                continue;
+            }
+            logger.debug("Adding " + TOTAL_COUNT + " to: " + type.getName());
+            registry.add(ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition()
+                    .name(type.getName())
+                    .fieldDefinition(FieldDefinition.newFieldDefinition().name(TOTAL_COUNT).type(INT_TYPE).build())
+                    .build());
+        }
+    }
+
+    private static boolean isConnectionType(ObjectTypeDefinition type) {
+        return type.getName().endsWith("Connection") &&
+                type.getFieldDefinitions().stream().anyMatch(field -> field.getName().equals("edges")) &&
+                type.getFieldDefinitions().stream().anyMatch(field -> field.getName().equals("pageInfo"));
+    }
+}
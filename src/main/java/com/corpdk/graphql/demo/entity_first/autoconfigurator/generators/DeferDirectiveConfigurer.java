@@ -0,0 +1,37 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
+
+import graphql.Directives;
+import graphql.language.BooleanValue;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.InputValueDefinition;
+import graphql.language.NonNullType;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.execution.TypeDefinitionConfigurer;
+
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.BOOLEAN_TYPE;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.STRING_TYPE;
+
+/**
+ * Declares the {@code @defer} directive executed by graphql-java's experimental incremental support, unless the
+ * schema resources already declare it.
+ */
+public class DeferDirectiveConfigurer implements TypeDefinitionConfigurer {
+
+    @Override
+    public void configure(@NotNull TypeDefinitionRegistry registry) {
+        String name = Directives.DeferDirective.getName();
+        if (registry.getDirectiveDefinition(name).isPresent()) {
+            return;
+        }
+        registry.add(DirectiveDefinition.newDirectiveDefinition()
+                .name(name)
+                .inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                        .name("if").type(new NonNullType(BOOLEAN_TYPE)).defaultValue(BooleanValue.of(true)).build())
+                .inputValueDefinition(InputValueDefinition.newInputValueDefinition().name("label").type(STRING_TYPE).build())
+                .directiveLocation(DirectiveLocation.newDirectiveLocation().name("FRAGMENT_SPREAD").build())
+                .directiveLocation(DirectiveLocation.newDirectiveLocation().name("INLINE_FRAGMENT").build())
+                .build());
+    }
+}
@@ -0,0 +1,65 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
+
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.TypeDefinition;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.io.Resource;
+import org.springframework.graphql.execution.TypeDefinitionConfigurer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Adds the schema generated from the entities at compile time by the entity annotation processor, in place of
+ * {@link GraphQLEntityTypesConfigurer}, {@link GraphQLFilterTypesConfigurer} and {@link GraphQLOperationsConfigurer}.
+ * The generated {@code Query} fields are merged into the {@code Query} type of the application schema, if any.
+ */
+public class GeneratedSchemaConfigurer implements TypeDefinitionConfigurer {
+    private static final Log logger = LogFactory.getLog(GeneratedSchemaConfigurer.class);
+
+    public static final String LOCATION = "classpath:META-INF/entity-first/schema.graphqls";
+
+    private final Resource schema;
+
+    public GeneratedSchemaConfigurer(@NotNull Resource schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public void configure(@NotNull TypeDefinitionRegistry registry) {
+        logger.info("Adding GraphQL Schema generated from the Entities: " + schema.getDescription());
+        merge(parse(schema), registry);
+    }
+
+    static TypeDefinitionRegistry parse(@NotNull Resource schema) {
+        try (Reader reader = new InputStreamReader(schema.getInputStream(), StandardCharsets.UTF_8)) {
+            return new SchemaParser().parse(reader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read " + schema.getDescription(), ex);
+        }
+    }
+
+    /**
+     * Adds the generated types to the registry, appending the fields of object types it already defines.
+     */
+    static void merge(@NotNull TypeDefinitionRegistry generated, @NotNull TypeDefinitionRegistry registry) {
+        for (TypeDefinition<?> type : generated.types().values()) {
+            if (type instanceof ObjectTypeDefinition objectType &&
+                    registry.getType(type.getName()).orElse(null) instanceof ObjectTypeDefinition existing) {
+                ObjectTypeDefinition merged = existing.transform(builder -> objectType.getFieldDefinitions().forEach(builder::fieldDefinition));
+                logger.debug("Updated " + type.getName() + " Type: " + merged);
+                registry.remove(existing);
+                registry.add(merged);
+            } else {
+                registry.add(type);
+            }
+        }
+    }
+}
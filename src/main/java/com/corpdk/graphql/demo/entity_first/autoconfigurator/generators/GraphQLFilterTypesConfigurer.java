@@ -1,5 +1,6 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
 
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
 import graphql.language.*;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import org.apache.commons.logging.Log;
@@ -7,8 +8,7 @@ import org.apache.commons.logging.LogFactory;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.graphql.execution.TypeDefinitionConfigurer;
 
-import java.lang.reflect.ParameterizedType;
-import java.util.*;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.*;
@@ -16,10 +16,10 @@ import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.*;
 public class GraphQLFilterTypesConfigurer implements TypeDefinitionConfigurer {
     private static final Log logger = LogFactory.getLog(GraphQLFilterTypesConfigurer.class);
 
-    private final String entityBasePackage;
+    private final EntityMetamodel entityMetamodel;
 
-    public GraphQLFilterTypesConfigurer(String entityBasePackage) {
-        this.entityBasePackage = entityBasePackage;
+    public GraphQLFilterTypesConfigurer(EntityMetamodel entityMetamodel) {
+        this.entityMetamodel = entityMetamodel;
     }
 
     @Override
@@ -31,35 +31,25 @@ public class GraphQLFilterTypesConfigurer implements TypeDefinitionConfigurer {
 
     private void addEntityFilterTypes(@NotNull TypeDefinitionRegistry registry) {
         logger.info("Generating GraphQL Type Filter Schema for all Entities");
-        Set<Class<?>> entityClasses = scanForEntities(entityBasePackage);
+        logger.debug("entityClasses: " + entityMetamodel.getEntities().stream().map(EntityMetamodel.EntityDescriptor::name)
+                .collect(Collectors.joining("; ")));
 
-        logger.debug("entityClasses: " + entityClasses.stream().map(Class::getSimpleName).collect(Collectors.joining("; ")));
-
-        entityClasses.forEach(aClass -> {
-            logger.debug("Class: " + aClass.getSimpleName());
+        entityMetamodel.getEntities().forEach(entity -> {
+            logger.debug("Class: " + entity.name());
             InputObjectTypeDefinition.Builder builder = InputObjectTypeDefinition.newInputObjectDefinition();
-            builder.name(aClass.getSimpleName() + "Filter");
-
-            Arrays.stream(aClass.getDeclaredFields()).forEach(field -> {
-                Class<?> fieldType = field.getType();
-                String name = field.getName();
-                logger.debug("\tField: " + name + "; Type: " + fieldType.getSimpleName());
-
-                TypeName typeName;
-
-                if (Collection.class.isAssignableFrom(fieldType)) {
-                    ParameterizedType listType = (ParameterizedType) field.getGenericType();
-                    Class<?> relatedEntityClass = (Class<?>) listType.getActualTypeArguments()[0];
-                    logger.debug("\t\tSub Type: " + relatedEntityClass.getSimpleName());
-                    typeName = mapJavaClassToGraphQLFilterType(relatedEntityClass, field);
-                } else {
-                    typeName = mapJavaClassToGraphQLFilterType(fieldType, field);
+            builder.name(entity.name() + "Filter");
+
+            entity.fields().forEach(field -> {
+                String name = field.name();
+                logger.debug("\tField: " + name + "; Type: " + field.type().getSimpleName());
+                if (field.collection()) {
+                    logger.debug("\t\tSub Type: " + field.elementType().getSimpleName());
                 }
 
-                addField(builder, name, typeName);
+                addField(builder, name, mapJavaClassToGraphQLFilterType(field.elementType(), field.field()));
             });
 
-            addFilterChain(builder, aClass.getSimpleName());
+            addFilterChain(builder, entity.name());
 
             InputObjectTypeDefinition definition = builder.build();
             registry.add(definition);
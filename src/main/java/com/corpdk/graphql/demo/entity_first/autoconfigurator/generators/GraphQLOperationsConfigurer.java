@@ -1,5 +1,7 @@
 package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
 
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.ConfigureFetchers;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
 import graphql.language.*;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import org.apache.commons.logging.Log;
@@ -8,9 +10,11 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.graphql.execution.TypeDefinitionConfigurer;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.*;
@@ -18,10 +22,12 @@ import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.*;
 public class GraphQLOperationsConfigurer implements TypeDefinitionConfigurer {
     private static final Log logger = LogFactory.getLog(GraphQLOperationsConfigurer.class);
 
-    private final String entityBasePackage;
+    private static final String SORT_DIRECTION = "SortDirection";
 
-    public GraphQLOperationsConfigurer(String entityBasePackage) {
-        this.entityBasePackage = entityBasePackage;
+    private final EntityMetamodel entityMetamodel;
+
+    public GraphQLOperationsConfigurer(EntityMetamodel entityMetamodel) {
+        this.entityMetamodel = entityMetamodel;
     }
 
     @Override
@@ -32,9 +38,8 @@ public class GraphQLOperationsConfigurer implements TypeDefinitionConfigurer {
     private void addEntityQueries(@NotNull TypeDefinitionRegistry registry) {
         logger.info("Generating GraphQL Query Type Schema for all Entities");
 
-        Set<Class<?>> entityClasses = scanForEntities(entityBasePackage);
-
-        logger.debug("entityClasses: " + entityClasses.stream().map(Class::getSimpleName).collect(Collectors.joining("; ")));
+        logger.debug("entityClasses: " + entityMetamodel.getEntities().stream().map(EntityMetamodel.EntityDescriptor::name)
+                .collect(Collectors.joining("; ")));
 
         Optional<?> optionalQueryType = registry.getType("Query");
         ObjectTypeDefinition queryType;
@@ -49,55 +54,141 @@ public class GraphQLOperationsConfigurer implements TypeDefinitionConfigurer {
 
         List<FieldDefinition> fieldDefinitions = new ArrayList<>();
 
-        entityClasses.forEach(aClass -> {
-            logger.debug("Class: " + aClass.getSimpleName());
-            String name = aClass.getSimpleName();
+        if (registry.getType(SORT_DIRECTION).isEmpty()) {
+            registry.add(EnumTypeDefinition.newEnumTypeDefinition()
+                    .name(SORT_DIRECTION)
+                    .enumValueDefinition(new EnumValueDefinition("ASC"))
+                    .enumValueDefinition(new EnumValueDefinition("DESC"))
+                    .build());
+        }
 
-            List<InputValueDefinition> inputValueDefinitions = new ArrayList<>();
+        entityMetamodel.getEntities().forEach(entity -> {
+            logger.debug("Class: " + entity.name());
 
-            InputValueDefinition filterInput = InputValueDefinition.newInputValueDefinition()
-                    .name("filter")
-                    .type(new TypeName(name + "Filter"))
-                    .build();
+            addOrderByType(registry, entity);
 
-            InputValueDefinition first = InputValueDefinition.newInputValueDefinition().name("first").type(INT_TYPE).build();
-            InputValueDefinition after = InputValueDefinition.newInputValueDefinition().name("after").type(STRING_TYPE).build();
-            InputValueDefinition last = InputValueDefinition.newInputValueDefinition().name("last").type(INT_TYPE).build();
-            InputValueDefinition before = InputValueDefinition.newInputValueDefinition().name("before").type(STRING_TYPE).build();
+            fieldDefinitions.addAll(entityQueries(entity).keySet());
+        });
 
-            inputValueDefinitions.add(filterInput);
-            inputValueDefinitions.add(first);
-            inputValueDefinitions.add(after);
-            inputValueDefinitions.add(last);
-            inputValueDefinitions.add(before);
+        ObjectTypeDefinition updatedQuery = queryType.transform(builder -> fieldDefinitions.forEach(builder::fieldDefinition));
 
-            FieldDefinition.Builder builderPaged = FieldDefinition.newFieldDefinition()
-                    .name(name.toLowerCase() + "s")
-                    .inputValueDefinitions(inputValueDefinitions)
-                    .type(new TypeName(name + "Connection"));
+        logger.debug("Updated Query Type: " + updatedQuery);
 
-            fieldDefinitions.add(builderPaged.build());
+        registry.remove(queryType);
+        registry.add(updatedQuery);
+    }
 
-            FieldDefinition.Builder builderCount = FieldDefinition.newFieldDefinition()
-                    .name("count" + name + "s")
-                    .inputValueDefinition(filterInput)
-                    .type(INT_TYPE);
+    /**
+     * The fetcher of each generated {@code Query} field, keyed by field name, so the wiring looks fields up instead of
+     * deriving the entity and the kind of fetcher from the names and types of the schema.
+     */
+    public static Map<String, ConfigureFetchers.QueryField> queryFields(@NotNull EntityMetamodel entityMetamodel) {
+        Map<String, ConfigureFetchers.QueryField> fields = new HashMap<>();
+        for (EntityMetamodel.EntityDescriptor entity : entityMetamodel.getEntities()) {
+            fields.putAll(queryFields(entity));
+        }
+        return fields;
+    }
 
-            fieldDefinitions.add(builderCount.build());
+    /**
+     * The fetcher of each generated {@code Query} field of one entity, keyed by field name.
+     */
+    public static Map<String, ConfigureFetchers.QueryField> queryFields(@NotNull EntityMetamodel.EntityDescriptor entity) {
+        Map<String, ConfigureFetchers.QueryField> fields = new HashMap<>();
+        entityQueries(entity).forEach((definition, field) -> fields.put(definition.getName(), field));
+        return fields;
+    }
 
-            FieldDefinition.Builder builderList = FieldDefinition.newFieldDefinition()
-                    .name("list" + name + "s")
-                    .inputValueDefinitions(inputValueDefinitions)
-                    .type(ListType.newListType(new TypeName(name)).build());
+    /**
+     * The generated {@code Query} fields of an entity, each with the fetcher it is wired to.
+     */
+    private static Map<FieldDefinition, ConfigureFetchers.QueryField> entityQueries(@NotNull EntityMetamodel.EntityDescriptor entity) {
+        String name = entity.name();
+        Map<FieldDefinition, ConfigureFetchers.QueryField> queries = new LinkedHashMap<>();
+
+        List<InputValueDefinition> inputValueDefinitions = new ArrayList<>();
+
+        InputValueDefinition filterInput = InputValueDefinition.newInputValueDefinition()
+                .name("filter")
+                .type(new TypeName(name + "Filter"))
+                .build();
+
+        InputValueDefinition first = InputValueDefinition.newInputValueDefinition().name("first").type(INT_TYPE).build();
+        InputValueDefinition after = InputValueDefinition.newInputValueDefinition().name("after").type(STRING_TYPE).build();
+        InputValueDefinition last = InputValueDefinition.newInputValueDefinition().name("last").type(INT_TYPE).build();
+        InputValueDefinition before = InputValueDefinition.newInputValueDefinition().name("before").type(STRING_TYPE).build();
+
+        inputValueDefinitions.add(filterInput);
+        inputValueDefinitions.add(first);
+        inputValueDefinitions.add(after);
+        inputValueDefinitions.add(last);
+        inputValueDefinitions.add(before);
+        inputValueDefinitions.add(InputValueDefinition.newInputValueDefinition()
+                .name("orderBy")
+                .type(ListType.newListType(NonNullType.newNonNullType(new TypeName(name + "OrderBy")).build()).build())
+                .build());
+
+        FieldDefinition.Builder builderPaged = FieldDefinition.newFieldDefinition()
+                .name(connectionField(name))
+                .inputValueDefinitions(inputValueDefinitions)
+                .type(new TypeName(name + "Connection"));
+
+        queries.put(builderPaged.build(), new ConfigureFetchers.QueryField(name, ConfigureFetchers.FetcherKind.SCROLLABLE));
+
+        FieldDefinition.Builder builderCount = FieldDefinition.newFieldDefinition()
+                .name(countField(name))
+                .inputValueDefinition(filterInput)
+                .inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                        .name("approximate")
+                        .type(BOOLEAN_TYPE)
+                        .defaultValue(BooleanValue.of(false))
+                        .build())
+                .type(INT_TYPE);
+
+        queries.put(builderCount.build(), new ConfigureFetchers.QueryField(name, ConfigureFetchers.FetcherKind.COUNT));
+
+        FieldDefinition.Builder builderList = FieldDefinition.newFieldDefinition()
+                .name(listField(name))
+                .inputValueDefinitions(inputValueDefinitions)
+                .type(ListType.newListType(new TypeName(name)).build());
+
+        queries.put(builderList.build(), new ConfigureFetchers.QueryField(name, ConfigureFetchers.FetcherKind.MANY));
+
+        return queries;
+    }
 
-            fieldDefinitions.add(builderList.build());
-        });
+    private static String connectionField(String name) {
+        return name.toLowerCase() + "s";
+    }
 
-        ObjectTypeDefinition updatedQuery = queryType.transform(builder -> fieldDefinitions.forEach(builder::fieldDefinition));
+    private static String countField(String name) {
+        return "count" + name + "s";
+    }
 
-        logger.debug("Updated Query Type: " + updatedQuery);
+    private static String listField(String name) {
+        return "list" + name + "s";
+    }
 
-        registry.remove(queryType);
-        registry.add(updatedQuery);
+    /**
+     * Adds {@code <Entity>OrderField}, an enum of the sortable scalar properties, and the {@code <Entity>OrderBy}
+     * input pairing one of them with a {@code SortDirection}.
+     */
+    private void addOrderByType(@NotNull TypeDefinitionRegistry registry, @NotNull EntityMetamodel.EntityDescriptor entity) {
+        String name = entity.name();
+
+        EnumTypeDefinition.Builder fields = EnumTypeDefinition.newEnumTypeDefinition().name(name + "OrderField");
+        entity.fields().stream()
+                .filter(field -> isBasicType(field.type()))
+                .forEach(field -> fields.enumValueDefinition(new EnumValueDefinition(field.name())));
+        registry.add(fields.build());
+
+        InputObjectTypeDefinition.Builder orderBy = InputObjectTypeDefinition.newInputObjectDefinition().name(name + "OrderBy");
+        addField(orderBy, "field", NonNullType.newNonNullType(new TypeName(name + "OrderField")).build());
+        orderBy.inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                .name("direction")
+                .type(new TypeName(SORT_DIRECTION))
+                .defaultValue(new EnumValue("ASC"))
+                .build());
+        registry.add(orderBy.build());
     }
 }
@@ -0,0 +1,83 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
+import graphql.language.*;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.graphql.execution.TypeDefinitionConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.ID_TYPE;
+
+/**
+ * Adds a change feed field per entity to the {@code Subscription} type, e.g.
+ * {@code employeeChanges(filter: EmployeeFilter): EmployeeChange!}, delivering an {@code <Entity>Change} with the
+ * {@code ChangeOperation}, the id and, unless deleted, the entity for every committed change matching the filter.
+ */
+public class GraphQLSubscriptionsConfigurer implements TypeDefinitionConfigurer {
+    private static final Log logger = LogFactory.getLog(GraphQLSubscriptionsConfigurer.class);
+
+    public static final String SUBSCRIPTION = "Subscription";
+
+    public static final String CHANGES = "Changes";
+
+    private static final String CHANGE_OPERATION = "ChangeOperation";
+
+    private final EntityMetamodel entityMetamodel;
+
+    public GraphQLSubscriptionsConfigurer(EntityMetamodel entityMetamodel) {
+        this.entityMetamodel = entityMetamodel;
+    }
+
+    @Override
+    public void configure(@NotNull TypeDefinitionRegistry registry) {
+        logger.info("Generating GraphQL Subscription Type Schema for all Entities");
+
+        ObjectTypeDefinition subscriptionType = registry.getType(SUBSCRIPTION)
+                .map(ObjectTypeDefinition.class::cast)
+                .orElseGet(() -> ObjectTypeDefinition.newObjectTypeDefinition().name(SUBSCRIPTION).build());
+
+        if (registry.getType(CHANGE_OPERATION).isEmpty()) {
+            registry.add(EnumTypeDefinition.newEnumTypeDefinition()
+                    .name(CHANGE_OPERATION)
+                    .enumValueDefinition(new EnumValueDefinition("INSERT"))
+                    .enumValueDefinition(new EnumValueDefinition("UPDATE"))
+                    .enumValueDefinition(new EnumValueDefinition("DELETE"))
+                    .build());
+        }
+
+        List<FieldDefinition> fieldDefinitions = new ArrayList<>();
+
+        entityMetamodel.getEntities().forEach(entity -> {
+            String name = entity.name();
+            logger.debug("Change feed for: " + name);
+
+            registry.add(ObjectTypeDefinition.newObjectTypeDefinition()
+                    .name(name + "Change")
+                    .fieldDefinition(new FieldDefinition("operation", NonNullType.newNonNullType(new TypeName(CHANGE_OPERATION)).build()))
+                    .fieldDefinition(new FieldDefinition("id", NonNullType.newNonNullType(ID_TYPE).build()))
+                    .fieldDefinition(new FieldDefinition("entity", new TypeName(name)))
+                    .build());
+
+            fieldDefinitions.add(FieldDefinition.newFieldDefinition()
+                    .name(name.toLowerCase() + CHANGES)
+                    .inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                            .name("filter")
+                            .type(new TypeName(name + "Filter"))
+                            .build())
+                    .type(NonNullType.newNonNullType(new TypeName(name + "Change")).build())
+                    .build());
+        });
+
+        ObjectTypeDefinition updatedSubscription = subscriptionType.transform(builder -> fieldDefinitions.forEach(builder::fieldDefinition));
+
+        logger.debug("Updated Subscription Type: " + updatedSubscription);
+
+        registry.remove(subscriptionType);
+        registry.add(updatedSubscription);
+    }
+}
@@ -0,0 +1,180 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers;
+import graphql.language.AstPrinter;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.errors.SchemaProblem;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.graphql.execution.TypeDefinitionConfigurer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the schema types of the given configurers once per entity model and keeps them as SDL in the snapshot
+ * directory, in {@code schema-<fingerprint>.graphqls}. The fingerprint covers the entities, see
+ * {@link EntityMetamodel#fingerprint()}, and the bytecode of the configurers, so a start with the same entities and
+ * autoconfigurator parses the snapshot instead of generating the types. The wiring needs nothing else, it is derived
+ * from the field names of the schema.
+ * <p>A missing directory is created accessible to its owner only. Snapshots are only read from and written to a
+ * directory that is owned by the user running the application and not writable by others, and only snapshot files
+ * that are as well; otherwise the types are generated without a snapshot.
+ */
+public class SchemaSnapshotConfigurer implements TypeDefinitionConfigurer {
+    private static final Log logger = LogFactory.getLog(SchemaSnapshotConfigurer.class);
+
+    private final EntityMetamodel entityMetamodel;
+
+    private final Path directory;
+
+    private final List<TypeDefinitionConfigurer> configurers;
+
+    public SchemaSnapshotConfigurer(@NotNull EntityMetamodel entityMetamodel, @NotNull Path directory,
+                                    @NotNull List<TypeDefinitionConfigurer> configurers) {
+        this.entityMetamodel = entityMetamodel;
+        this.directory = directory;
+        this.configurers = List.copyOf(configurers);
+    }
+
+    @Override
+    public void configure(@NotNull TypeDefinitionRegistry registry) {
+        Path snapshot = this.directory.resolve("schema-" + fingerprint() + ".graphqls");
+        boolean trusted = prepareDirectory();
+        if (trusted && Files.isRegularFile(snapshot, LinkOption.NOFOLLOW_LINKS)) {
+            if (!isTrusted(snapshot)) {
+                logger.warn("Ignoring schema snapshot " + snapshot + ", it is not owned by the current user or writable by others");
+            } else {
+                try {
+                    GeneratedSchemaConfigurer.merge(GeneratedSchemaConfigurer.parse(new FileSystemResource(snapshot)), registry);
+                    logger.info("Schema snapshot hit: " + snapshot);
+                    return;
+                } catch (UncheckedIOException | SchemaProblem ex) {
+                    logger.warn("Ignoring unreadable schema snapshot " + snapshot + ": " + ex.getMessage());
+                }
+            }
+        }
+
+        TypeDefinitionRegistry generated = new TypeDefinitionRegistry();
+        this.configurers.forEach(configurer -> configurer.configure(generated));
+        GeneratedSchemaConfigurer.merge(generated, registry);
+        if (!trusted) {
+            return;
+        }
+        try {
+            write(snapshot, generated);
+            logger.info("Schema snapshot miss, saved " + snapshot);
+        } catch (IOException ex) {
+            logger.warn("Schema snapshot miss, could not save " + snapshot + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Creates the directory, accessible to its owner only, if it does not exist.
+     *
+     * @return whether snapshots may be read from and written to the directory
+     */
+    private boolean prepareDirectory() {
+        try {
+            if (!Files.exists(this.directory, LinkOption.NOFOLLOW_LINKS)) {
+                if (isPosix()) {
+                    Files.createDirectories(this.directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+                } else {
+                    Files.createDirectories(this.directory);
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Schema snapshots disabled, could not create " + this.directory + ": " + ex.getMessage());
+            return false;
+        }
+        if (!Files.isDirectory(this.directory, LinkOption.NOFOLLOW_LINKS) || !isTrusted(this.directory)) {
+            logger.warn("Schema snapshots disabled, " + this.directory + " is not a directory owned by the current user " +
+                    "and not writable by others");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the file is no symbolic link, owned by the current user and, where POSIX permissions are
+     * supported, neither group nor others may write it
+     */
+    private boolean isTrusted(Path file) {
+        try {
+            if (Files.isSymbolicLink(file)) {
+                return false;
+            }
+            UserPrincipal currentUser = file.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!currentUser.equals(Files.getOwner(file, LinkOption.NOFOLLOW_LINKS))) {
+                return false;
+            }
+            if (isPosix()) {
+                Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file, LinkOption.NOFOLLOW_LINKS);
+                return !permissions.contains(PosixFilePermission.GROUP_WRITE) && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+            }
+            return true;
+        } catch (IOException | UnsupportedOperationException ex) {
+            return false;
+        }
+    }
+
+    private boolean isPosix() {
+        return this.directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    private String fingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(this.entityMetamodel.fingerprint().getBytes(StandardCharsets.UTF_8));
+            List<Class<?>> generators = new ArrayList<>(this.configurers.stream().<Class<?>>map(Object::getClass).toList());
+            generators.add(Helpers.class);
+            for (Class<?> generator : generators) {
+                try (InputStream bytecode = generator.getResourceAsStream(generator.getSimpleName() + ".class")) {
+                    if (bytecode != null) {
+                        digest.update(bytecode.readAllBytes());
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read the schema generators", ex);
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so that a concurrent start never reads a partial snapshot.
+     */
+    private void write(Path snapshot, TypeDefinitionRegistry generated) throws IOException {
+        Document document = Document.newDocument().definitions(new ArrayList<Definition>(generated.types().values())).build();
+        Path temporary = Files.createTempFile(this.directory, "schema-", ".tmp");
+        try {
+            Files.writeString(temporary, AstPrinter.printAst(document), StandardCharsets.UTF_8);
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
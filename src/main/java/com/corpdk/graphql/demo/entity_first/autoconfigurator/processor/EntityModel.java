@@ -0,0 +1,183 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@code @Entity} class as seen by the compiler, with each field classified the way
+ * {@code Helpers.mapJavaClassToGraphQLType} and {@code Helpers.mapJavaClassToGraphQLFilterType} classify it at runtime.
+ */
+record EntityModel(String name, String packageName, String qualifiedName, String idType, List<FieldModel> fields) {
+
+    static final String FILTERS = "com.corpdk.graphql.demo.entity_first.autoconfigurator.filters";
+
+    private static final String ID = "jakarta.persistence.Id";
+
+    private static final String COLUMN = "jakarta.persistence.Column";
+
+    private static final String JOIN_COLUMN = "jakarta.persistence.JoinColumn";
+
+    static EntityModel of(TypeElement entity, ProcessingEnvironment processingEnv) {
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror collectionType = types.erasure(processingEnv.getElementUtils().getTypeElement("java.util.Collection").asType());
+
+        List<FieldModel> fields = new ArrayList<>();
+        String idType = "java.lang.Object";
+        for (Element element : entity.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.FIELD || element.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            VariableElement field = (VariableElement) element;
+            boolean id = hasAnnotation(field, ID);
+            boolean nonNull = id || isNotNullable(field, COLUMN) || isNotNullable(field, JOIN_COLUMN);
+            TypeMirror type = field.asType();
+            boolean collection = type.getKind() == TypeKind.DECLARED && types.isAssignable(types.erasure(type), collectionType);
+            TypeMirror elementType = type;
+            if (collection) {
+                List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+                elementType = arguments.isEmpty() ? processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType() : arguments.get(0);
+            }
+            if (id) {
+                idType = type.getKind().isPrimitive() ?
+                        types.boxedClass((PrimitiveType) type).getQualifiedName().toString() : typeName(types, type);
+            }
+            fields.add(new FieldModel(field.getSimpleName().toString(), typeName(types, type), typeName(types, elementType),
+                    simpleName(types, elementType), collection, id, nonNull));
+        }
+
+        String qualifiedName = entity.getQualifiedName().toString();
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        return new EntityModel(entity.getSimpleName().toString(), packageName, qualifiedName, idType, List.copyOf(fields));
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationType) {
+        return findAnnotation(element, annotationType) != null;
+    }
+
+    private static boolean isNotNullable(Element element, String annotationType) {
+        AnnotationMirror annotation = findAnnotation(element, annotationType);
+        if (annotation == null) {
+            return false;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("nullable")) {
+                return Boolean.FALSE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The qualified name, which unlike {@link TypeMirror#toString()} leaves out type annotations such as Lombok's
+     * {@code @NonNull}.
+     */
+    private static String typeName(Types types, TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        }
+        return type.getKind().isPrimitive() ? type.getKind().name().toLowerCase() : types.erasure(type).toString();
+    }
+
+    private static String simpleName(Types types, TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType) type).asElement().getSimpleName().toString();
+        }
+        return types.erasure(type).toString();
+    }
+
+    /**
+     * @param type        the qualified name of the field type, erased
+     * @param elementType the qualified name of the element type of a collection, otherwise the field type
+     * @param elementName the simple name of the element type, the name of its GraphQL type if it is an entity
+     */
+    record FieldModel(String name, String type, String elementType, String elementName, boolean collection,
+                      boolean id, boolean nonNull) {
+
+        boolean isInteger() {
+            return this.elementType.equals("java.lang.Long") || this.elementType.equals("java.lang.Integer");
+        }
+
+        boolean isDecimal() {
+            return this.elementType.equals("java.lang.Double") || this.elementType.equals("java.lang.Float");
+        }
+
+        boolean isString() {
+            return this.elementType.equals("java.lang.String");
+        }
+
+        boolean isBoolean() {
+            return this.elementType.equals("java.lang.Boolean");
+        }
+
+        boolean isBasic() {
+            return !this.collection && (isInteger() || isDecimal() || isString() || isBoolean());
+        }
+
+        String graphQLType() {
+            if (this.id && (isInteger() || isDecimal() || isString() || isBoolean())) {
+                return "ID";
+            }
+            if (isInteger()) {
+                return "Int";
+            } else if (isDecimal()) {
+                return "Float";
+            } else if (isString()) {
+                return "String";
+            } else if (isBoolean()) {
+                return "Boolean";
+            }
+            return this.elementName;
+        }
+
+        String graphQLFilterType() {
+            if (this.id && isString()) {
+                return "IDFilter";
+            }
+            if (isInteger()) {
+                return "IntFilter";
+            } else if (isDecimal()) {
+                return "FloatFilter";
+            } else if (isString()) {
+                return "StringFilter";
+            } else if (isBoolean()) {
+                return "BooleanFilter";
+            }
+            return this.elementName + "Filter";
+        }
+
+        /**
+         * @return the type of the matching property of the generated filter class
+         */
+        String filterJavaType(String filtersPackage) {
+            return switch (graphQLFilterType()) {
+                case "IntFilter", "FloatFilter" -> FILTERS + ".NumericFilter<" + this.elementType + ">";
+                case "StringFilter", "IDFilter", "BooleanFilter" -> FILTERS + "." + graphQLFilterType();
+                default -> filtersPackage + "." + graphQLFilterType();
+            };
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates, for every {@code @Entity} class compiled with it:
+ * <ul>
+ *     <li>the {@code <Entity>Filter} class, unless it is written by hand,</li>
+ *     <li>the {@code <Entity>Repository}, a {@code @GraphQlRepository} {@code JpaSpecificationExecutor}, unless it is
+ *     written by hand,</li>
+ *     <li>a {@code FilterAccessPlan} for the filter class, so its properties are read without reflection,</li>
+ *     <li>the schema the entity, filter and operation configurers would generate, as one {@code .graphqls} resource
+ *     loaded by {@code GeneratedSchemaConfigurer}.</li>
+ * </ul>
+ * Filters and repositories are generated into the {@code filters} and {@code repositories} packages next to the
+ * entity package, unless the {@code entityfirst.filters.package} and {@code entityfirst.repositories.package}
+ * options say otherwise.
+ * <p>The entities of the schema are listed in {@link #ENTITIES_LOCATION}. An incremental compile only passes the
+ * changed entities to the processor, so the listed entities it did not see are read back from their compiled
+ * classes, and the schema and access plans are written for all of them rather than for the changed ones only.
+ */
+@SupportedAnnotationTypes(EntityProcessor.ENTITY)
+@SupportedOptions({EntityProcessor.FILTERS_PACKAGE, EntityProcessor.REPOSITORIES_PACKAGE})
+public class EntityProcessor extends AbstractProcessor {
+
+    static final String ENTITY = "jakarta.persistence.Entity";
+
+    static final String FILTERS_PACKAGE = "entityfirst.filters.package";
+
+    static final String REPOSITORIES_PACKAGE = "entityfirst.repositories.package";
+
+    /**
+     * Same as {@code GeneratedSchemaConfigurer.LOCATION}.
+     */
+    static final String SCHEMA_LOCATION = "META-INF/entity-first/schema.graphqls";
+
+    static final String ENTITIES_LOCATION = "META-INF/entity-first/entities";
+
+    static final String ACCESS_PLAN_SERVICE = "META-INF/services/" + EntityModel.FILTERS + ".FilterAccessPlan";
+
+    private static final String GENERATED = "@javax.annotation.processing.Generated(\"" + EntityProcessor.class.getName() + "\")\n";
+
+    private final Map<String, EntityModel> entities = new TreeMap<>();
+
+    private final Set<String> accessPlans = new TreeSet<>();
+
+    private final Set<String> sourceTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            this.sourceTypes.add(type.getQualifiedName().toString());
+        }
+
+        TypeElement entityAnnotation = this.processingEnv.getElementUtils().getTypeElement(ENTITY);
+        if (entityAnnotation != null) {
+            for (TypeElement entity : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(entityAnnotation))) {
+                EntityModel model = EntityModel.of(entity, this.processingEnv);
+                if (this.entities.putIfAbsent(model.qualifiedName(), model) == null) {
+                    generate(model, entity);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !this.entities.isEmpty()) {
+            addCompiledEntities();
+            writeResource(ENTITIES_LOCATION, String.join("\n", this.entities.keySet()) + "\n");
+            writeResource(SCHEMA_LOCATION, SchemaWriter.write(this.entities.values()));
+            writeResource(ACCESS_PLAN_SERVICE, String.join("\n", this.accessPlans) + "\n");
+        }
+        return false;
+    }
+
+    /**
+     * Adds the entities of the previous compile that were not compiled this time, as long as they are still
+     * compiled entities, along with their generated access plans.
+     */
+    private void addCompiledEntities() {
+        TypeElement entityAnnotation = this.processingEnv.getElementUtils().getTypeElement(ENTITY);
+        for (String qualifiedName : readResource(ENTITIES_LOCATION)) {
+            if (this.entities.containsKey(qualifiedName)) {
+                continue;
+            }
+            TypeElement entity = this.processingEnv.getElementUtils().getTypeElement(qualifiedName);
+            if (entity == null || entityAnnotation == null || entity.getAnnotationMirrors().stream()
+                    .noneMatch(annotation -> annotation.getAnnotationType().asElement().equals(entityAnnotation))) {
+                continue;
+            }
+            EntityModel model = EntityModel.of(entity, this.processingEnv);
+            this.entities.put(qualifiedName, model);
+            String accessPlanName = filterName(model) + "AccessPlan";
+            if (this.processingEnv.getElementUtils().getTypeElement(accessPlanName) != null) {
+                this.accessPlans.add(accessPlanName);
+            }
+        }
+    }
+
+    private String filtersPackage(EntityModel entity) {
+        return option(FILTERS_PACKAGE, siblingPackage(entity.packageName(), "filters"));
+    }
+
+    private String filterName(EntityModel entity) {
+        return filtersPackage(entity) + "." + entity.name() + "Filter";
+    }
+
+    private void generate(EntityModel entity, Element origin) {
+        String filtersPackage = filtersPackage(entity);
+        String repositoriesPackage = option(REPOSITORIES_PACKAGE, siblingPackage(entity.packageName(), "repositories"));
+        String filterName = filterName(entity);
+        String repositoryName = repositoriesPackage + "." + entity.name() + "Repository";
+
+        List<FilterField> filterFields = new ArrayList<>();
+        TypeElement handWrittenFilter = this.sourceTypes.contains(filterName) ?
+                this.processingEnv.getElementUtils().getTypeElement(filterName) : null;
+        if (handWrittenFilter != null) {
+            for (Element field : ElementFilter.fieldsIn(handWrittenFilter.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    Element fieldType = this.processingEnv.getTypeUtils().asElement(field.asType());
+                    filterFields.add(new FilterField(field.getSimpleName().toString(), (fieldType instanceof TypeElement typeElement) ?
+                            typeElement.getQualifiedName().toString() : this.processingEnv.getTypeUtils().erasure(field.asType()).toString()));
+                }
+            }
+        } else {
+            entity.fields().forEach(field -> filterFields.add(new FilterField(field.name(), field.filterJavaType(filtersPackage))));
+            writeSource(filterName, filterSource(entity, filtersPackage, filterFields), origin);
+        }
+
+        String accessPlanName = filterName + "AccessPlan";
+        writeSource(accessPlanName, accessPlanSource(entity, filtersPackage, filterFields), origin);
+        this.accessPlans.add(accessPlanName);
+
+        if (!this.sourceTypes.contains(repositoryName)) {
+            writeSource(repositoryName, repositorySource(entity, repositoriesPackage), origin);
+        }
+    }
+
+    private static String filterSource(EntityModel entity, String filtersPackage, List<FilterField> fields) {
+        StringBuilder source = new StringBuilder("package " + filtersPackage + ";\n\n");
+        source.append(GENERATED)
+                .append("@lombok.Data\n")
+                .append("@lombok.EqualsAndHashCode(callSuper = true)\n")
+                .append("@lombok.NoArgsConstructor\n")
+                .append("@lombok.ToString(callSuper = true)\n")
+                .append("public class ").append(entity.name()).append("Filter extends ").append(EntityModel.FILTERS)
+                .append(".BaseFilter<").append(entity.name()).append("Filter> {\n");
+        for (FilterField field : fields) {
+            source.append("    private ").append(field.type()).append(' ').append(field.name()).append(";\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static String accessPlanSource(EntityModel entity, String filtersPackage, List<FilterField> fields) {
+        String filter = entity.name() + "Filter";
+        StringBuilder source = new StringBuilder("package " + filtersPackage + ";\n\n");
+        source.append("import ").append(EntityModel.FILTERS).append(".FilterAccessPlan;\n")
+                .append("import ").append(EntityModel.FILTERS).append(".FilterProperty;\n\n")
+                .append("import java.util.List;\n\n")
+                .append(GENERATED)
+                .append("public final class ").append(filter).append("AccessPlan implements FilterAccessPlan {\n\n")
+                .append("    private static final List<FilterProperty> PROPERTIES = List.of(");
+        for (int i = 0; i < fields.size(); i++) {
+            FilterField field = fields.get(i);
+            String rawType = field.type().contains("<") ? field.type().substring(0, field.type().indexOf('<')) : field.type();
+            source.append((i == 0) ? "\n" : ",\n")
+                    .append("            new FilterProperty(\"").append(field.name()).append("\", ").append(rawType)
+                    .append(".class, filter -> ((").append(filter).append(") filter).get")
+                    .append(Character.toUpperCase(field.name().charAt(0))).append(field.name().substring(1)).append("())");
+        }
+        return source.append(");\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> filterType() {\n")
+                .append("        return ").append(filter).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public List<FilterProperty> properties() {\n")
+                .append("        return PROPERTIES;\n")
+                .append("    }\n")
+                .append("}\n").toString();
+    }
+
+    private static String repositorySource(EntityModel entity, String repositoriesPackage) {
+        return "package " + repositoriesPackage + ";\n\n" +
+                GENERATED +
+                "@org.springframework.graphql.data.GraphQlRepository\n" +
+                "public interface " + entity.name() + "Repository extends " +
+                "org.springframework.data.jpa.repository.JpaRepository<" + entity.qualifiedName() + ", " + entity.idType() + ">, " +
+                "org.springframework.data.jpa.repository.JpaSpecificationExecutor<" + entity.qualifiedName() + "> {\n" +
+                "}\n";
+    }
+
+    private void writeSource(String qualifiedName, String source, Element origin) {
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualifiedName, origin);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate " + qualifiedName + ": " + ex.getMessage(), origin);
+        }
+    }
+
+    private void writeResource(String location, String content) {
+        try {
+            FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+            try (Writer writer = file.openWriter()) {
+                writer.write(content);
+            }
+        } catch (IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate " + location + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * @return the lines of a resource written by an earlier compile, none if there is none
+     */
+    private List<String> readResource(String location) {
+        try {
+            FileObject file = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", location);
+            return file.getCharContent(true).toString().lines().filter(line -> !line.isBlank()).toList();
+        } catch (IOException | IllegalArgumentException ex) {
+            return List.of();
+        }
+    }
+
+    private String option(String name, String defaultValue) {
+        String value = this.processingEnv.getOptions().get(name);
+        return (value != null && !value.isBlank()) ? value : defaultValue;
+    }
+
+    private static String siblingPackage(String packageName, String name) {
+        int index = packageName.lastIndexOf('.');
+        return (index < 0) ? name : packageName.substring(0, index + 1) + name;
+    }
+
+    private record FilterField(String name, String type) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.processor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Renders the schema the entity, filter and operation configurers generate at runtime, as SDL. Must be kept in
+ * line with {@code GraphQLEntityTypesConfigurer}, {@code GraphQLFilterTypesConfigurer} and
+ * {@code GraphQLOperationsConfigurer}.
+ */
+final class SchemaWriter {
+
+    private final StringBuilder sdl = new StringBuilder();
+
+    private SchemaWriter() {
+    }
+
+    static String write(Collection<EntityModel> entities) {
+        SchemaWriter writer = new SchemaWriter();
+        entities.forEach(writer::entityType);
+        writer.defaultFilterTypes();
+        entities.forEach(writer::entityFilterType);
+        writer.sdl.append("\nenum SortDirection {\n    ASC\n    DESC\n}\n");
+        entities.forEach(writer::orderByType);
+        writer.queryType(entities);
+        return writer.sdl.toString();
+    }
+
+    private void entityType(EntityModel entity) {
+        this.sdl.append("\ntype ").append(entity.name()).append(" {\n");
+        for (EntityModel.FieldModel field : entity.fields()) {
+            String type = field.collection() ? "[" + field.graphQLType() + "]" : field.graphQLType();
+            field(field.name(), field.nonNull() ? type + "!" : type);
+        }
+        this.sdl.append("}\n");
+    }
+
+    private void defaultFilterTypes() {
+        this.sdl.append("\ninput StringFilter {\n");
+        field("in", "[String]");
+        field("nin", "[String]");
+        fields(List.of("eq", "ne", "li", "con", "sw", "ew"), "String");
+        field("len", "Int");
+        field("sensitive", "Boolean");
+        filterChain("String");
+        this.sdl.append("}\n");
+
+        this.sdl.append("\ninput IDFilter {\n");
+        field("in", "[ID]");
+        field("nin", "[ID]");
+        fields(List.of("eq", "ne"), "ID");
+        filterChain("ID");
+        this.sdl.append("}\n");
+
+        this.sdl.append("\ninput BooleanFilter {\n");
+        field("is", "Boolean");
+        this.sdl.append("}\n");
+
+        numericFilterType("Int");
+        numericFilterType("Float");
+    }
+
+    private void numericFilterType(String name) {
+        this.sdl.append("\ninput ").append(name).append("Filter {\n");
+        field("in", "[" + name + "]");
+        field("nin", "[" + name + "]");
+        fields(List.of("eq", "ne", "lt", "le", "gt", "ge"), name);
+        filterChain(name);
+        this.sdl.append("}\n");
+    }
+
+    private void entityFilterType(EntityModel entity) {
+        this.sdl.append("\ninput ").append(entity.name()).append("Filter {\n");
+        for (EntityModel.FieldModel field : entity.fields()) {
+            field(field.name(), field.graphQLFilterType());
+        }
+        filterChain(entity.name());
+        this.sdl.append("}\n");
+    }
+
+    private void orderByType(EntityModel entity) {
+        this.sdl.append("\nenum ").append(entity.name()).append("OrderField {\n");
+        for (EntityModel.FieldModel field : entity.fields()) {
+            if (field.isBasic()) {
+                this.sdl.append("    ").append(field.name()).append('\n');
+            }
+        }
+        this.sdl.append("}\n");
+
+        this.sdl.append("\ninput ").append(entity.name()).append("OrderBy {\n");
+        field("field", entity.name() + "OrderField!");
+        field("direction", "SortDirection = ASC");
+        this.sdl.append("}\n");
+    }
+
+    private void queryType(Collection<EntityModel> entities) {
+        this.sdl.append("\ntype Query {\n");
+        for (EntityModel entity : entities) {
+            String name = entity.name();
+            String arguments = "(filter: " + name + "Filter, first: Int, after: String, last: Int, before: String, orderBy: [" +
+                    name + "OrderBy!])";
+            field(name.toLowerCase() + "s" + arguments, name + "Connection");
+            field("count" + name + "s(filter: " + name + "Filter, approximate: Boolean = false)", "Int");
+            field("list" + name + "s" + arguments, "[" + name + "]");
+        }
+        this.sdl.append("}\n");
+    }
+
+    private void filterChain(String name) {
+        fields(List.of("and", "or", "not"), name + "Filter");
+    }
+
+    private void fields(List<String> names, String type) {
+        names.forEach(name -> field(name, type));
+    }
+
+    private void field(String name, String type) {
+        this.sdl.append("    ").append(name).append(": ").append(type).append('\n');
+    }
+}
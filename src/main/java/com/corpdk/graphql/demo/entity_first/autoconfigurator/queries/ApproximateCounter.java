@@ -0,0 +1,204 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Estimates counts without an exact {@code count} over the matching rows. Unfiltered counts are read from the
+ * table statistics of the database, where the dialect exposes them. Filtered counts are extrapolated from the
+ * share of matching rows among the rows hit by ids drawn uniformly from the id range, with the error bound of a
+ * 95% confidence interval. Entities without an integral id, and samples too small to bound, are counted exactly.
+ */
+public class ApproximateCounter {
+    private static final Log logger = LogFactory.getLog(ApproximateCounter.class);
+
+    private static final double CONFIDENCE = 0.95;
+
+    private static final double Z = 1.96;
+
+    /**
+     * Below this many sampled rows the interval is too wide to be useful, the exact count is returned instead.
+     */
+    static final int MIN_SAMPLE = 30;
+
+    /**
+     * Bounds the ids probed for sparse id ranges, as a multiple of the sample size.
+     */
+    static final int MAX_PROBES_PER_SAMPLE = 4;
+
+    private final EntityManager entityManager;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    @Nullable
+    private final String statisticsQuery;
+
+    private final int sampleSize;
+
+    public ApproximateCounter(@NotNull EntityManagerFactory entityManagerFactory, int sampleSize) {
+        Assert.isTrue(sampleSize > 0, "sampleSize must be greater than 0");
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statisticsQuery = statisticsQuery(this.sessionFactory.getJdbcServices().getDialect());
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * @param method     {@code statistics}, {@code sample} or {@code exact}
+     * @param errorBound half width of the confidence interval, {@code null} if the method cannot state one
+     * @param confidence the confidence level of the error bound, {@code null} without one: table statistics are
+     *                   unbounded
+     */
+    public record Estimate(long count, String method, @Nullable Long errorBound, @Nullable Double confidence) {
+    }
+
+    /**
+     * @param filtered whether the specification restricts the rows at all
+     */
+    public <T> @NotNull Estimate estimate(@NotNull JpaSpecificationExecutor<T> executor, @NotNull Class<T> domainType,
+                                          Specification<T> specification, boolean filtered) {
+        Long rows = tableRows(domainType);
+        if (!filtered) {
+            return (rows != null) ? new Estimate(rows, "statistics", null, null) :
+                    new Estimate(executor.count(specification), "exact", 0L, 1.0);
+        }
+
+        long total = (rows != null) ? rows : executor.count(Specification.where(null));
+        if (total <= this.sampleSize) {
+            return new Estimate(executor.count(specification), "exact", 0L, 1.0);
+        }
+
+        SingularAttribute<? super T, ?> id = idAttribute(domainType);
+        List<List<Object>> probes = sampleIds(domainType, id, total);
+        if (probes.isEmpty()) {
+            return new Estimate(executor.count(specification), "exact", 0L, 1.0);
+        }
+        long n = 0;
+        long matches = 0;
+        for (List<Object> ids : probes) {
+            Specification<T> inSample = (root, query, criteriaBuilder) -> root.get(id).in(ids);
+            n += executor.count(inSample);
+            matches += executor.count(specification.and(inSample));
+        }
+        if (n < MIN_SAMPLE) {
+            return new Estimate(executor.count(specification), "exact", 0L, 1.0);
+        }
+
+        double share = Math.min(1.0, (double) matches / n);
+        double finitePopulation = Math.max(0.0, (double) (total - n) / (total - 1));
+        long errorBound = (long) Math.ceil(Z * total * Math.sqrt(share * (1 - share) / n * finitePopulation));
+        return new Estimate(Math.round(share * total), "sample", errorBound, CONFIDENCE);
+    }
+
+    /**
+     * Ids drawn uniformly from the range between the lowest and the highest id, enough of them to hit about
+     * {@code sampleSize} rows at the average id density, in IN lists of at most {@code sampleSize} ids. Every row
+     * is equally likely to be hit, whatever its position, so the hits are a random sample. Empty when the id is
+     * not an integral number.
+     */
+    private List<List<Object>> sampleIds(Class<?> domainType, SingularAttribute<?, ?> id, long total) {
+        Class<?> idType = ClassUtils.resolvePrimitiveIfNecessary(id.getJavaType());
+        if (idType != Long.class && idType != Integer.class && idType != Short.class) {
+            return List.of();
+        }
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = criteriaBuilder.createQuery(Object[].class);
+        Root<?> root = query.from(domainType);
+        query.multiselect(criteriaBuilder.min(root.get(id.getName())), criteriaBuilder.max(root.get(id.getName())));
+        Object[] range = this.entityManager.createQuery(query).getSingleResult();
+        if (!(range[0] instanceof Number min) || !(range[1] instanceof Number max)) {
+            return List.of();
+        }
+        double span = (double) max.longValue() - min.longValue() + 1;
+        int count = (int) Math.min(span, Math.min((double) this.sampleSize * MAX_PROBES_PER_SAMPLE,
+                Math.ceil(this.sampleSize * span / Math.max(1, total))));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Long> ids = new HashSet<>();
+        while (ids.size() < count) {
+            ids.add((span > count) ? random.nextLong(min.longValue(), max.longValue() + 1) : min.longValue() + ids.size());
+        }
+        List<List<Object>> chunks = new ArrayList<>();
+        List<Object> chunk = new ArrayList<>();
+        for (Long value : ids) {
+            chunk.add((idType == Long.class) ? value : (idType == Integer.class) ? (Object) value.intValue() : (Object) value.shortValue());
+            if (chunk.size() == this.sampleSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    @Nullable
+    private Long tableRows(Class<?> domainType) {
+        if (this.statisticsQuery == null) {
+            return null;
+        }
+        EntityPersister persister = this.sessionFactory.getMappingMetamodel().getEntityDescriptor(domainType);
+        if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+            return null;
+        }
+        String table = entityPersister.getRootTableName();
+        table = table.substring(table.lastIndexOf('.') + 1);
+        try {
+            List<?> result = this.entityManager.createNativeQuery(this.statisticsQuery)
+                    .setParameter(1, table)
+                    .getResultList();
+            if (!result.isEmpty() && result.get(0) instanceof Number rows && rows.longValue() >= 0) {
+                return rows.longValue();
+            }
+        } catch (RuntimeException ex) {
+            logger.debug("Table statistics unavailable for " + table, ex);
+        }
+        return null;
+    }
+
+    private <T> SingularAttribute<? super T, ?> idAttribute(Class<T> domainType) {
+        EntityType<T> entityType = this.entityManager.getMetamodel().entity(domainType);
+        Assert.state(entityType.hasSingleIdAttribute(), "Sampled counts require a single id attribute");
+        return entityType.getId(entityType.getIdType().getJavaType());
+    }
+
+    @Nullable
+    private static String statisticsQuery(Dialect dialect) {
+        return switch (dialect) {
+            case H2Dialect ignored ->
+                    "select ROW_COUNT_ESTIMATE from INFORMATION_SCHEMA.TABLES where TABLE_SCHEMA = schema() and upper(TABLE_NAME) = upper(?1)";
+            case PostgreSQLDialect ignored -> "select cast(reltuples as bigint) from pg_class where oid = to_regclass(?1)";
+            case MySQLDialect ignored ->
+                    "select TABLE_ROWS from information_schema.TABLES where TABLE_SCHEMA = database() and TABLE_NAME = ?1";
+            default -> null;
+        };
+    }
+}
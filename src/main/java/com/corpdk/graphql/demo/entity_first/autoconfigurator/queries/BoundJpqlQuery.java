@@ -0,0 +1,39 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A cached {@link JpqlQueryPlan} together with the parameter values of the current request.
+ */
+public record BoundJpqlQuery(JpqlQueryPlan plan, List<Object> parameters) {
+
+    private static final String[] PARAMETER_NAMES = IntStream.range(0, 64).mapToObj(i -> "p" + i).toArray(String[]::new);
+
+    public <T> @NotNull TypedQuery<T> createQuery(@NotNull EntityManager entityManager, Class<T> domainType, @NotNull Sort sort) {
+        String select = sort.isSorted() ?
+                QueryUtils.applySorting(this.plan.select(), sort, FilterQueryPlanCache.ALIAS) : this.plan.select();
+        return bind(entityManager.createQuery(select, domainType));
+    }
+
+    public @NotNull TypedQuery<Long> createCountQuery(@NotNull EntityManager entityManager) {
+        return bind(entityManager.createQuery(this.plan.count(), Long.class));
+    }
+
+    private <R> TypedQuery<R> bind(TypedQuery<R> query) {
+        for (int i = 0; i < this.parameters.size(); i++) {
+            query.setParameter(parameterName(i), this.parameters.get(i));
+        }
+        return query;
+    }
+
+    static String parameterName(int index) {
+        return index < PARAMETER_NAMES.length ? PARAMETER_NAMES[index] : "p" + index;
+    }
+}
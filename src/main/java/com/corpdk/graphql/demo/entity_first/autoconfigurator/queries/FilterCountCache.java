@@ -0,0 +1,212 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.metamodel.Metamodel;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.reachableEntityTypes;
+
+/**
+ * Bounded cache of counts keyed by {@link FilterFingerprint}. A count is served as is for the time to live; for
+ * the following stale-while-revalidate period the stale count is served while Caffeine refreshes it once on the
+ * given refresh executor. Counts are invalidated once a change to the counted entity, or for nested filters to any
+ * entity reachable from it, has been committed.
+ */
+public class FilterCountCache implements MeterBinder {
+
+    private final Metamodel metamodel;
+
+    private final long timeToLive;
+
+    private final LoadingCache<CountKey, Entry> entries;
+
+    private final Map<Class<?>, Set<Class<?>>> reachableEntities = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on every invalidation; the generation of the last invalidation per changed entity type tells
+     * whether a count queried concurrently with a commit may already be stale.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Map<Class<?>, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder staleHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public FilterCountCache(@NotNull Metamodel metamodel, @NotNull Duration timeToLive, @NotNull Duration staleWhileRevalidate,
+                            int maxSize, @NotNull Executor refreshExecutor) {
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+        Assert.isTrue(timeToLive.isPositive(), "timeToLive must be positive");
+        Assert.isTrue(!staleWhileRevalidate.isNegative(), "staleWhileRevalidate must not be negative");
+        this.metamodel = metamodel;
+        this.timeToLive = timeToLive.toNanos();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive.plus(staleWhileRevalidate));
+        if (staleWhileRevalidate.isPositive()) {
+            builder.refreshAfterWrite(timeToLive);
+        }
+        this.entries = builder.build(new CacheLoader<>() {
+            @Override
+            public Entry load(CountKey key) {
+                return FilterCountCache.this.load(key);
+            }
+
+            /**
+             * Refresh queries run on the refresh executor, not on the one Caffeine also runs its maintenance on.
+             */
+            @Override
+            public CompletableFuture<Entry> asyncReload(CountKey key, Entry oldValue, Executor executor) {
+                return CompletableFuture.supplyAsync(() -> load(key), refreshExecutor);
+            }
+        });
+    }
+
+    /**
+     * @param loader runs the count query, possibly on the refresh executor
+     */
+    public long get(@NotNull Class<?> domainType, @NotNull FilterFingerprint fingerprint, @NotNull LongSupplier loader) {
+        CountKey key = new CountKey(fingerprint, domainType, loader);
+        Entry entry = this.entries.getIfPresent(key);
+        if (entry != null && isStale(entry)) {
+            this.entries.asMap().remove(key, entry);
+            entry = null;
+        }
+        if (entry != null) {
+            if (System.nanoTime() - entry.loadedAt < this.timeToLive) {
+                this.hits.increment();
+            } else {
+                this.staleHits.increment();
+            }
+            return entry.count;
+        }
+        this.misses.increment();
+        entry = this.entries.get(key);
+        if (isStale(entry)) {
+            this.entries.asMap().remove(key, entry);
+        }
+        return entry.count;
+    }
+
+    /**
+     * Drop every count that depends on the given entity type.
+     */
+    public void invalidate(@NotNull Class<?> entityType) {
+        this.invalidatedAt.put(entityType, this.generation.incrementAndGet());
+        this.entries.asMap().values().removeIf(entry -> {
+            boolean affected = entry.dependsOn(entityType);
+            if (affected) {
+                this.invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    private Entry load(CountKey key) {
+        long generation = this.generation.get();
+        long count = key.loader().getAsLong();
+        return new Entry(count, System.nanoTime(), generation,
+                key.fingerprint().isNested() ? reachableEntities(key.domainType()) : Set.of(key.domainType()));
+    }
+
+    /**
+     * Whether an entity type the count depends on was invalidated while the count was queried.
+     */
+    private boolean isStale(Entry entry) {
+        if (this.generation.get() == entry.generation) {
+            return false;
+        }
+        for (Map.Entry<Class<?>, Long> invalidation : this.invalidatedAt.entrySet()) {
+            if (invalidation.getValue() > entry.generation && entry.dependsOn(invalidation.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Class<?>> reachableEntities(Class<?> domainType) {
+        return this.reachableEntities.computeIfAbsent(domainType, type -> reachableEntityTypes(this.metamodel, type));
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getStaleHitCount() {
+        return this.staleHits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getInvalidationCount() {
+        return this.invalidations.sum();
+    }
+
+    public long size() {
+        return this.entries.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        FunctionCounter.builder("graphql.count.cache.hits", this, FilterCountCache::getHitCount)
+                .description("Counts answered from a fresh cached value").register(registry);
+        FunctionCounter.builder("graphql.count.cache.stale.hits", this, FilterCountCache::getStaleHitCount)
+                .description("Counts answered from a stale cached value while it is refreshed").register(registry);
+        FunctionCounter.builder("graphql.count.cache.misses", this, FilterCountCache::getMissCount)
+                .description("Counts queried from the database").register(registry);
+        FunctionCounter.builder("graphql.count.cache.invalidations", this, FilterCountCache::getInvalidationCount)
+                .description("Cached counts dropped after a committed change").register(registry);
+        Gauge.builder("graphql.count.cache.size", this, FilterCountCache::size)
+                .description("Counts currently cached").register(registry);
+    }
+
+    /**
+     * Equal by fingerprint only; the loader of the key that was stored is the one refreshes run.
+     */
+    private record CountKey(FilterFingerprint fingerprint, Class<?> domainType, LongSupplier loader) {
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof CountKey key && this.fingerprint.equals(key.fingerprint));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.fingerprint.hashCode();
+        }
+    }
+
+    /**
+     * @param generation the invalidation generation read before the count was queried
+     */
+    private record Entry(long count, long loadedAt, long generation, Set<Class<?>> dependencies) {
+
+        boolean dependsOn(Class<?> entityType) {
+            return this.dependencies.stream().anyMatch(type -> type.isAssignableFrom(entityType));
+        }
+    }
+}
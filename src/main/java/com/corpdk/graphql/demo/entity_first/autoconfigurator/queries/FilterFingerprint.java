@@ -0,0 +1,41 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Identity of a bound filter on one entity: its value-free shape together with the parameter values in the order
+ * the shape consumes them. Two filters with equal fingerprints select the same rows.
+ *
+ * @param shape      the entity name followed by the operators used on each path
+ * @param parameters the values bound to those operators
+ */
+public record FilterFingerprint(String shape, List<Object> parameters) {
+
+    public static @NotNull FilterFingerprint of(@NotNull Class<?> domainType, @Nullable BaseFilter<?> filter) {
+        StringBuilder shape = new StringBuilder(64).append(domainType.getName()).append(':');
+        FilterQueryRenderer fingerprint = new FilterQueryRenderer(shape);
+        if (filter != null) {
+            fingerprint.entity(filter, null, null);
+        }
+        return new FilterFingerprint(shape.toString(), fingerprint.getParameters());
+    }
+
+    /**
+     * @return whether the filter has no conditions at all
+     */
+    public boolean isEmpty() {
+        return this.shape.endsWith(":") || this.shape.endsWith(":{}");
+    }
+
+    /**
+     * @return whether the filter nests further filters, which includes all conditions on associated entities
+     */
+    public boolean isNested() {
+        int root = this.shape.indexOf('{');
+        return root >= 0 && this.shape.indexOf('{', root + 1) >= 0;
+    }
+}
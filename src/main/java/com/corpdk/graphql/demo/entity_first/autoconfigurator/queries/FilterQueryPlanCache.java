@@ -0,0 +1,95 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded cache of {@link JpqlQueryPlan}s keyed by the shape of a bound filter: which operators are used on which
+ * paths, ignoring their values. A request whose filter shape was seen before only binds its parameter values;
+ * Hibernate then also reuses its own interpretation of the identical JPQL string.
+ */
+public class FilterQueryPlanCache implements MeterBinder {
+    private static final Log logger = LogFactory.getLog(FilterQueryPlanCache.class);
+
+    static final String ALIAS = "e";
+
+    private final EntityManager entityManager;
+
+    private final Cache<String, JpqlQueryPlan> plans;
+
+    public FilterQueryPlanCache(EntityManager entityManager, int maxSize) {
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+        this.entityManager = entityManager;
+        this.plans = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    public EntityManager getEntityManager() {
+        return this.entityManager;
+    }
+
+    public @NotNull BoundJpqlQuery bind(@NotNull Class<?> domainType, @Nullable BaseFilter<?> filter) {
+        FilterFingerprint fingerprint = FilterFingerprint.of(domainType, filter);
+        String key = fingerprint.shape();
+
+        JpqlQueryPlan plan = this.plans.get(key, shape -> compile(domainType, filter));
+        return new BoundJpqlQuery(plan, fingerprint.parameters());
+    }
+
+    private @NotNull JpqlQueryPlan compile(Class<?> domainType, @Nullable BaseFilter<?> filter) {
+        EntityType<?> entityType = this.entityManager.getMetamodel().entity(domainType);
+        FilterQueryRenderer renderer = FilterQueryRenderer.rendering();
+        String condition = (filter != null) ? renderer.entity(filter, ALIAS, entityType) : null;
+
+        String joins = renderer.getJoinClause();
+        String from = " from " + entityType.getName() + " " + ALIAS + joins +
+                (condition != null ? " where " + condition : "");
+        // Hibernate returns distinct root entities for the select, so the count must not include join duplicates
+        String count = joins.isEmpty() ? "select count(" + ALIAS + ")" : "select count(distinct " + ALIAS + ")";
+        JpqlQueryPlan plan = new JpqlQueryPlan("select " + ALIAS + from, count + from, renderer.getParameters().size());
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Compiled query plan for " + domainType.getSimpleName() + ": " + plan.select());
+        }
+        return plan;
+    }
+
+    public long getHitCount() {
+        return this.plans.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return this.plans.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return this.plans.stats().evictionCount();
+    }
+
+    public long size() {
+        return this.plans.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        FunctionCounter.builder("graphql.filter.plan.cache.hits", this, FilterQueryPlanCache::getHitCount)
+                .description("Filter shapes answered from a cached query plan").register(registry);
+        FunctionCounter.builder("graphql.filter.plan.cache.misses", this, FilterQueryPlanCache::getMissCount)
+                .description("Filter shapes compiled into a new query plan").register(registry);
+        FunctionCounter.builder("graphql.filter.plan.cache.evictions", this, FilterQueryPlanCache::getEvictionCount)
+                .description("Query plans evicted to respect the maximum size").register(registry);
+        Gauge.builder("graphql.filter.plan.cache.size", this, FilterQueryPlanCache::size)
+                .description("Query plans currently cached").register(registry);
+    }
+}
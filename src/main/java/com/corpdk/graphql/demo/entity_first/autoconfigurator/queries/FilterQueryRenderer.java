@@ -0,0 +1,262 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications.StringSpecificationBuilder.LIKE_ESCAPE;
+import static com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications.StringSpecificationBuilder.escapeLike;
+
+/**
+ * Walks a bound filter in the same order as {@code SpecificationGenerator}, appending a value-free shape token
+ * for every operator and collecting the parameter values. When rendering, it additionally produces the
+ * equivalent parameterized JPQL condition, so the two walks always agree on parameter order.
+ */
+final class FilterQueryRenderer {
+
+    private static final String EMPTY = "";
+
+    private final StringBuilder shape;
+
+    private final List<Object> parameters = new ArrayList<>();
+
+    /**
+     * Collection-valued join path to alias, only present when rendering.
+     */
+    @Nullable
+    private final Map<String, String> joins;
+
+    FilterQueryRenderer(StringBuilder shape) {
+        this.shape = shape;
+        this.joins = null;
+    }
+
+    private FilterQueryRenderer(StringBuilder shape, Map<String, String> joins) {
+        this.shape = shape;
+        this.joins = joins;
+    }
+
+    static FilterQueryRenderer rendering() {
+        return new FilterQueryRenderer(new StringBuilder(), new LinkedHashMap<>());
+    }
+
+    List<Object> getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * @return the {@code join} clauses required by the rendered condition
+     */
+    String getJoinClause() {
+        if (this.joins == null || this.joins.isEmpty()) {
+            return EMPTY;
+        }
+        StringBuilder clause = new StringBuilder();
+        this.joins.forEach((path, alias) -> clause.append(" join ").append(path).append(' ').append(alias));
+        return clause.toString();
+    }
+
+    private boolean isRendering() {
+        return this.joins != null;
+    }
+
+    /**
+     * @param type the managed type of {@code path}; only required when rendering
+     * @return the JPQL condition when rendering, a non-null marker when fingerprinting, or {@code null} if empty
+     */
+    @Nullable
+    String entity(@NotNull BaseFilter<?> filter, @Nullable String path, @Nullable ManagedType<?> type) {
+        this.shape.append('{');
+        String clause = null;
+
+        for (FilterProperty property : FilterProperties.of(filter.getClass())) {
+            Object value = property.read(filter);
+            if (value == null) {
+                continue;
+            }
+            this.shape.append(property.name());
+            clause = and(clause, field(value, property.name(), path, type));
+        }
+
+        if (filter.getAnd() instanceof BaseFilter<?> nested) {
+            this.shape.append("&");
+            clause = and(clause, entity(nested, path, type));
+        }
+        if (filter.getOr() instanceof BaseFilter<?> nested) {
+            this.shape.append("|");
+            clause = or(clause, entity(nested, path, type));
+        }
+        if (filter.getNot() instanceof BaseFilter<?> nested) {
+            this.shape.append("!");
+            clause = and(clause, not(entity(nested, path, type)));
+        }
+
+        this.shape.append('}');
+        return clause;
+    }
+
+    @Nullable
+    private String field(Object value, String name, @Nullable String path, @Nullable ManagedType<?> type) {
+        String fieldPath = isRendering() ? path + "." + name : null;
+        return switch (value) {
+            case StringFilter filter -> string(filter, fieldPath);
+            case NumericFilter<?> filter -> numeric(filter, fieldPath);
+            case IDFilter filter -> id(filter, fieldPath);
+            case BooleanFilter filter -> bool(filter, fieldPath);
+            case BaseFilter<?> filter -> nestedEntity(filter, name, path, type);
+            default -> null;
+        };
+    }
+
+    @Nullable
+    private String nestedEntity(BaseFilter<?> filter, String name, @Nullable String path, @Nullable ManagedType<?> type) {
+        if (!isRendering() || type == null) {
+            return entity(filter, null, null);
+        }
+        Attribute<?, ?> attribute = type.getAttribute(name);
+        String nestedPath;
+        ManagedType<?> nestedType;
+        if (attribute instanceof PluralAttribute<?, ?, ?> plural) {
+            // Mirrors the implicit inner join that Criteria creates (and reuses) for a collection-valued path
+            nestedPath = this.joins.computeIfAbsent(path + "." + name, joinPath -> "j" + this.joins.size());
+            nestedType = (ManagedType<?>) plural.getElementType();
+        } else {
+            nestedPath = path + "." + name;
+            nestedType = (ManagedType<?>) ((SingularAttribute<?, ?>) attribute).getType();
+        }
+        return entity(filter, nestedPath, nestedType);
+    }
+
+    @Nullable
+    private String string(@NotNull StringFilter filter, @Nullable String path) {
+        boolean sensitive = Boolean.TRUE.equals(filter.getSensitive());
+        this.shape.append(sensitive ? "s(" : "i(");
+        String expression = (path == null || sensitive) ? path : "lower(" + path + ")";
+        String clause = null;
+
+        if (filter.getEq() != null) clause = and(clause, compare("eq", expression, "=", caseOf(filter.getEq(), sensitive)));
+        if (filter.getNe() != null) clause = and(clause, compare("ne", expression, "<>", caseOf(filter.getNe(), sensitive)));
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) clause = and(clause, compare("in", expression, "in", caseOf(filter.getIn(), sensitive)));
+        if (filter.getNin() != null && !filter.getNin().isEmpty()) clause = and(clause, compare("nin", expression, "not in", caseOf(filter.getNin(), sensitive)));
+        if (filter.getCon() != null) clause = and(clause, compare("con", expression, "like", caseOf("%" + escapeLike(filter.getCon()) + "%", sensitive)));
+        if (filter.getSw() != null) clause = and(clause, compare("sw", expression, "like", caseOf(escapeLike(filter.getSw()) + "%", sensitive)));
+        if (filter.getEw() != null) clause = and(clause, compare("ew", expression, "like", caseOf("%" + escapeLike(filter.getEw()), sensitive)));
+        if (filter.getLen() != null) clause = and(clause, compare("len", path != null ? "length(" + path + ")" : null, "=", filter.getLen()));
+
+        if (filter.getAnd() != null) clause = and(clause, string(filter.getAnd(), path));
+        if (filter.getOr() != null) clause = or(clause, string(filter.getOr(), path));
+        if (filter.getNot() != null) clause = and(clause, not(string(filter.getNot(), path)));
+
+        this.shape.append(')');
+        return clause;
+    }
+
+    @Nullable
+    private String numeric(@NotNull NumericFilter<?> filter, @Nullable String path) {
+        this.shape.append("n(");
+        String clause = null;
+
+        if (filter.getEq() != null) clause = and(clause, compare("eq", path, "=", filter.getEq()));
+        if (filter.getNe() != null) clause = and(clause, compare("ne", path, "<>", filter.getNe()));
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) clause = and(clause, compare("in", path, "in", filter.getIn()));
+        if (filter.getNin() != null && !filter.getNin().isEmpty()) clause = and(clause, compare("nin", path, "not in", filter.getNin()));
+        if (filter.getGt() != null) clause = and(clause, compare("gt", path, ">", filter.getGt()));
+        if (filter.getGe() != null) clause = and(clause, compare("ge", path, ">=", filter.getGe()));
+        if (filter.getLt() != null) clause = and(clause, compare("lt", path, "<", filter.getLt()));
+        if (filter.getLe() != null) clause = and(clause, compare("le", path, "<=", filter.getLe()));
+
+        if (filter.getAnd() != null) clause = and(clause, numeric(filter.getAnd(), path));
+        if (filter.getOr() != null) clause = or(clause, numeric(filter.getOr(), path));
+        if (filter.getNot() != null) clause = and(clause, not(numeric(filter.getNot(), path)));
+
+        this.shape.append(')');
+        return clause;
+    }
+
+    @Nullable
+    private String id(@NotNull IDFilter filter, @Nullable String path) {
+        this.shape.append("d(");
+        String clause = null;
+
+        if (filter.getEq() != null) clause = and(clause, compare("eq", path, "=", filter.getEq()));
+        if (filter.getNe() != null) clause = and(clause, compare("ne", path, "<>", filter.getNe()));
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) clause = and(clause, compare("in", path, "in", filter.getIn()));
+        if (filter.getNin() != null && !filter.getNin().isEmpty()) clause = and(clause, compare("nin", path, "not in", filter.getNin()));
+
+        if (filter.getAnd() != null) clause = and(clause, id(filter.getAnd(), path));
+        if (filter.getOr() != null) clause = or(clause, id(filter.getOr(), path));
+        if (filter.getNot() != null) clause = and(clause, not(id(filter.getNot(), path)));
+
+        this.shape.append(')');
+        return clause;
+    }
+
+    @Nullable
+    private String bool(@NotNull BooleanFilter filter, @Nullable String path) {
+        this.shape.append("b(");
+        String clause = (filter.getIs() != null) ? compare("is", path, "=", filter.getIs()) : null;
+        this.shape.append(')');
+        return clause;
+    }
+
+    private String compare(String token, @Nullable String expression, String operator, Object value) {
+        this.shape.append(token).append(',');
+        this.parameters.add(value);
+        if (!isRendering()) {
+            return EMPTY;
+        }
+        String parameter = ":" + BoundJpqlQuery.parameterName(this.parameters.size() - 1);
+        if (operator.endsWith("in")) {
+            return expression + " " + operator + " (" + parameter + ")";
+        }
+        return operator.equals("like") ?
+                expression + " like " + parameter + " escape '" + LIKE_ESCAPE + "'" :
+                expression + " " + operator + " " + parameter;
+    }
+
+    @Nullable
+    private String and(@Nullable String left, @Nullable String right) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        }
+        return isRendering() ? "(" + left + " and " + right + ")" : EMPTY;
+    }
+
+    @Nullable
+    private String or(@Nullable String left, @Nullable String right) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        }
+        return isRendering() ? "(" + left + " or " + right + ")" : EMPTY;
+    }
+
+    @Nullable
+    private String not(@Nullable String clause) {
+        if (clause == null) {
+            return null;
+        }
+        return isRendering() ? "not (" + clause + ")" : EMPTY;
+    }
+
+    private static Object caseOf(String value, boolean sensitive) {
+        return sensitive ? value : value.toLowerCase();
+    }
+
+    private static Object caseOf(Collection<String> values, boolean sensitive) {
+        return sensitive ? values : values.stream().map(String::toLowerCase).toList();
+    }
+}
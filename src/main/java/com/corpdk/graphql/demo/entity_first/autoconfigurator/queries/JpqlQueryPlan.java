@@ -0,0 +1,11 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+/**
+ * Parameterized JPQL compiled for one filter shape of one entity.
+ *
+ * @param select      the entity query, without ordering
+ * @param count       the equivalent count query
+ * @param parameterCount number of {@code :pN} parameters both queries expect
+ */
+public record JpqlQueryPlan(String select, String count, int parameterCount) {
+}
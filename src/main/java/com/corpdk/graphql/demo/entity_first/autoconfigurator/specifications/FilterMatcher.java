@@ -0,0 +1,217 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.*;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory counterpart of {@link SpecificationGenerator}: evaluates a filter against the properties of an entity
+ * with the clauses the generated {@link org.springframework.data.jpa.domain.Specification} applies. A path through
+ * a collection matches if any of its elements does, and a {@code null} property matches no comparison.
+ * {@code con}, {@code sw} and {@code ew} match their value literally, as the generated like patterns escape its
+ * wildcards, see {@link StringSpecificationBuilder#escapeLike(String)}.
+ */
+public final class FilterMatcher {
+
+    private static final FilterMatcher MATCH_ALL = new FilterMatcher(properties -> true);
+
+    private final Predicate<Function<String, Object>> predicate;
+
+    private FilterMatcher(Predicate<Function<String, Object>> predicate) {
+        this.predicate = predicate;
+    }
+
+    public static FilterMatcher of(@Nullable BaseFilter<?> filter) {
+        return (filter != null) ? new FilterMatcher(compile(filter, null)) : MATCH_ALL;
+    }
+
+    public boolean matches(@NotNull Object entity) {
+        return matches(name -> read(entity, name));
+    }
+
+    /**
+     * @param properties the root properties of the entity by name, e.g. the state before an update
+     */
+    public boolean matches(@NotNull Function<String, Object> properties) {
+        return this.predicate.test(properties);
+    }
+
+    private static Predicate<Function<String, Object>> compile(@NotNull BaseFilter<?> filter, @Nullable String parentPath) {
+        Predicate<Function<String, Object>> result = properties -> true;
+
+        for (FilterProperty property : FilterProperties.of(filter.getClass())) {
+            Object fieldValue = property.read(filter);
+            if (fieldValue == null) {
+                continue;
+            }
+
+            String path = (parentPath != null) ? parentPath + "." + property.name() : property.name();
+            Predicate<Function<String, Object>> clause = switch (fieldValue) {
+                case StringFilter stringFilter -> anyValue(path, stringMatcher(stringFilter));
+                case NumericFilter<?> numericFilter -> anyValue(path, numericMatcher(numericFilter));
+                case IDFilter idFilter -> anyValue(path, idMatcher(idFilter));
+                case BooleanFilter booleanFilter -> anyValue(path, booleanMatcher(booleanFilter));
+                case BaseFilter<?> nestedFilter -> compile(nestedFilter, path);
+                default -> null;
+            };
+            if (clause != null) {
+                result = result.and(clause);
+            }
+        }
+
+        if (filter.getAnd() instanceof BaseFilter<?> baseFilter) {
+            result = result.and(compile(baseFilter, parentPath));
+        }
+
+        if (filter.getOr() instanceof BaseFilter<?> baseFilter) {
+            result = result.or(compile(baseFilter, parentPath));
+        }
+
+        if (filter.getNot() instanceof BaseFilter<?> baseFilter) {
+            result = result.and(compile(baseFilter, parentPath).negate());
+        }
+
+        return result;
+    }
+
+    private static Predicate<Function<String, Object>> anyValue(String path, Predicate<Object> matcher) {
+        String[] segments = path.split("\\.");
+        return properties -> {
+            for (Object value : resolve(properties, segments)) {
+                if (matcher.test(value)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static Predicate<Object> stringMatcher(@NotNull StringFilter filter) {
+        boolean sensitive = Boolean.TRUE.equals(filter.getSensitive());
+        Predicate<Object> result = value -> value != null;
+
+        if (filter.getEq() != null) result = result.and(value -> normalize(value, sensitive).equals(normalize(filter.getEq(), sensitive)));
+        if (filter.getNe() != null) result = result.and(value -> !normalize(value, sensitive).equals(normalize(filter.getNe(), sensitive)));
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) result = result.and(value -> containsString(filter.getIn(), value, sensitive));
+        if (filter.getNin() != null && !filter.getNin().isEmpty()) result = result.and(value -> !containsString(filter.getNin(), value, sensitive));
+        if (filter.getCon() != null) result = result.and(value -> normalize(value, sensitive).contains(normalize(filter.getCon(), sensitive)));
+        if (filter.getSw() != null) result = result.and(value -> normalize(value, sensitive).startsWith(normalize(filter.getSw(), sensitive)));
+        if (filter.getEw() != null) result = result.and(value -> normalize(value, sensitive).endsWith(normalize(filter.getEw(), sensitive)));
+        if (filter.getLen() != null) result = result.and(value -> value.toString().length() == filter.getLen());
+
+        if (filter.getAnd() != null) result = result.and(stringMatcher(filter.getAnd()));
+        if (filter.getOr() != null) result = result.or(stringMatcher(filter.getOr()));
+        if (filter.getNot() != null) result = result.and(stringMatcher(filter.getNot()).negate());
+
+        return result;
+    }
+
+    private static <N extends Number & Comparable<N>> Predicate<Object> numericMatcher(@NotNull NumericFilter<N> filter) {
+        Predicate<Object> result = value -> value instanceof Number;
+
+        if (filter.getEq() != null) result = result.and(value -> compare(value, filter.getEq()) == 0);
+        if (filter.getNe() != null) result = result.and(value -> compare(value, filter.getNe()) != 0);
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) result = result.and(value -> containsNumber(filter.getIn(), value));
+        if (filter.getNin() != null && !filter.getNin().isEmpty()) result = result.and(value -> !containsNumber(filter.getNin(), value));
+        if (filter.getGt() != null) result = result.and(value -> compare(value, filter.getGt()) > 0);
+        if (filter.getGe() != null) result = result.and(value -> compare(value, filter.getGe()) >= 0);
+        if (filter.getLt() != null) result = result.and(value -> compare(value, filter.getLt()) < 0);
+        if (filter.getLe() != null) result = result.and(value -> compare(value, filter.getLe()) <= 0);
+
+        if (filter.getAnd() != null) result = result.and(numericMatcher(filter.getAnd()));
+        if (filter.getOr() != null) result = result.or(numericMatcher(filter.getOr()));
+        if (filter.getNot() != null) result = result.and(numericMatcher(filter.getNot()).negate());
+
+        return result;
+    }
+
+    private static Predicate<Object> idMatcher(@NotNull IDFilter filter) {
+        Predicate<Object> result = value -> value != null;
+
+        if (filter.getEq() != null) result = result.and(value -> value.toString().equals(filter.getEq()));
+        if (filter.getNe() != null) result = result.and(value -> !value.toString().equals(filter.getNe()));
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) result = result.and(value -> filter.getIn().contains(value.toString()));
+        if (filter.getNin() != null && !filter.getNin().isEmpty()) result = result.and(value -> !filter.getNin().contains(value.toString()));
+
+        if (filter.getAnd() != null) result = result.and(idMatcher(filter.getAnd()));
+        if (filter.getOr() != null) result = result.or(idMatcher(filter.getOr()));
+        if (filter.getNot() != null) result = result.and(idMatcher(filter.getNot()).negate());
+
+        return result;
+    }
+
+    private static Predicate<Object> booleanMatcher(@NotNull BooleanFilter filter) {
+        return (filter.getIs() != null) ? value -> filter.getIs().equals(value) : value -> true;
+    }
+
+    private static String normalize(Object value, boolean sensitive) {
+        return sensitive ? value.toString() : value.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean containsString(List<String> values, Object value, boolean sensitive) {
+        String normalized = normalize(value, sensitive);
+        return values.stream().anyMatch(candidate -> normalize(candidate, sensitive).equals(normalized));
+    }
+
+    private static boolean containsNumber(List<? extends Number> values, Object value) {
+        return values.stream().anyMatch(candidate -> compare(value, candidate) == 0);
+    }
+
+    private static int compare(Object value, Number operand) {
+        return new BigDecimal(value.toString()).compareTo(new BigDecimal(operand.toString()));
+    }
+
+    /**
+     * @return the values at the end of the path, one per element of the collections on the way
+     */
+    private static List<Object> resolve(Function<String, Object> properties, String[] segments) {
+        List<Object> values = new ArrayList<>();
+        values.add(properties.apply(segments[0]));
+        for (int i = 1; i < segments.length; i++) {
+            String segment = segments[i];
+            List<Object> next = new ArrayList<>();
+            for (Object value : values) {
+                if (value instanceof Collection<?> elements) {
+                    elements.forEach(element -> next.add(read(element, segment)));
+                } else if (value != null) {
+                    next.add(read(value, segment));
+                }
+            }
+            values = next;
+        }
+        List<Object> leaves = new ArrayList<>();
+        for (Object value : values) {
+            if (value instanceof Collection<?> elements) {
+                leaves.addAll(elements);
+            } else {
+                leaves.add(value);
+            }
+        }
+        return leaves;
+    }
+
+    @Nullable
+    private static Object read(@Nullable Object bean, String name) {
+        if (bean == null) {
+            return null;
+        }
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(bean.getClass(), name);
+        Method getter = (descriptor != null) ? descriptor.getReadMethod() : null;
+        if (getter == null) {
+            throw new IllegalArgumentException("No property '" + name + "' on " + bean.getClass().getName());
+        }
+        return ReflectionUtils.invokeMethod(getter, bean);
+    }
+}
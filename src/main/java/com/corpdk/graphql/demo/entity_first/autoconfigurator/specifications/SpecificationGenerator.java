@@ -6,11 +6,6 @@ import org.apache.commons.logging.LogFactory;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
-import static graphql.util.StringKit.capitalize;
-
 public class SpecificationGenerator {
     private static final Log logger = LogFactory.getLog(SpecificationGenerator.class);
 
@@ -25,32 +20,7 @@ public class SpecificationGenerator {
         if (filter == null) {
             return null;
         }
-        logger.info("Building Specification for: " + filter.getClass().getSimpleName());
-        Specification<E> resultSpec = Specification.where(null); // Base specification
-
-        for (Field field : filter.getClass().getDeclaredFields()) {
-            logger.debug("Iterating Field: " + field.getName());
-
-            Method getterMethod;
-            Object fieldValue;
-            try {
-                String getterName = "get" + capitalize(field.getName());
-                getterMethod = filter.getClass().getMethod(getterName);
-                fieldValue = getterMethod.invoke(filter);
-            } catch (Exception e) {
-                throw new IllegalAccessException("Error accessing field " + field.getName());
-            }
-
-            if (fieldValue == null) {
-                continue;
-            }
-
-            String fieldName = parentPath != null ? parentPath + "." + field.getName() : field.getName();
-            resultSpec = callRequiredSpecificationCreator(resultSpec, fieldValue, fieldName);
-        }
-
-        resultSpec = applyLogicalFields(filter, resultSpec, parentPath);
-        return resultSpec;
+        return SpecificationPlan.forPath(filter.getClass(), parentPath).apply(filter);
     }
 
     public static <E> Specification<E> callRequiredSpecificationCreator(Specification<E> resultSpec, @NotNull Object fieldValue, String fieldName) throws IllegalAccessException {
@@ -78,23 +48,7 @@ public class SpecificationGenerator {
         return resultSpec;
     }
 
-    private static <E> Specification<E> applyLogicalFields(@NotNull BaseFilter<?> filter, Specification<E> resultSpec, String parentPath) throws IllegalAccessException {
-        if (filter.getAnd() != null && filter.getAnd() instanceof BaseFilter<?> baseFilter) {
-            resultSpec = resultSpec.and(buildSpecification(baseFilter, parentPath));
-        }
-
-        if (filter.getOr() != null && filter.getOr() instanceof BaseFilter<?> baseFilter) {
-            resultSpec = resultSpec.or(buildSpecification(baseFilter, parentPath));
-        }
-
-        if (filter.getNot() != null && filter.getNot() instanceof BaseFilter<?> baseFilter) {
-            resultSpec = resultSpec.and(Specification.not(buildSpecification(baseFilter, parentPath)));
-        }
-
-        return resultSpec;
-    }
-
-    private static <E> Specification<E> buildStringSpecification(String fieldName, @NotNull StringFilter filter) {
+    static <E> Specification<E> buildStringSpecification(String fieldName, @NotNull StringFilter filter) {
         logger.debug("String Specification Builder for field: " + fieldName);
         StringSpecificationBuilder<E> builder = new StringSpecificationBuilder<>(fieldName);
 
@@ -114,7 +68,7 @@ public class SpecificationGenerator {
         return builder.build();
     }
 
-    private static <E, N extends Number & Comparable<N>> Specification<E> buildNumericSpecification(String fieldName, @NotNull NumericFilter<N> filter) {
+    static <E, N extends Number & Comparable<N>> Specification<E> buildNumericSpecification(String fieldName, @NotNull NumericFilter<N> filter) {
         logger.debug("Numeric Specification Builder for field: " + fieldName);
         NumericSpecificationBuilder<E, N> builder = new NumericSpecificationBuilder<>(fieldName);
 
@@ -134,7 +88,7 @@ public class SpecificationGenerator {
         return builder.build();
     }
 
-    private static <E> Specification<E> buildIDSpecification(String fieldName, @NotNull IDFilter filter) {
+    static <E> Specification<E> buildIDSpecification(String fieldName, @NotNull IDFilter filter) {
         logger.debug("ID Specification Builder for field: " + fieldName);
         IDSpecificationBuilder<E> builder = new IDSpecificationBuilder<>(fieldName);
 
@@ -150,7 +104,7 @@ public class SpecificationGenerator {
         return builder.build();
     }
 
-    private static <E> Specification<E> buildBooleanSpecification(String fieldName, @NotNull BooleanFilter filter) {
+    static <E> Specification<E> buildBooleanSpecification(String fieldName, @NotNull BooleanFilter filter) {
         logger.debug("Boolean Specification Builder for field: " + fieldName);
         BooleanSpecificationBuilder<E> builder = new BooleanSpecificationBuilder<>(fieldName);
         if (filter.getIs() != null) builder.is(filter.getIs());
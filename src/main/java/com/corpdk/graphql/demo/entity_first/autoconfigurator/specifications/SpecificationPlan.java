@@ -0,0 +1,139 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.*;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pre-compiled walk over a filter class bound to a property path. Field kinds are dispatched on the declared
+ * type once, and child plans (with their already concatenated paths) are created lazily and then reused.
+ */
+final class SpecificationPlan {
+    private static final Log logger = LogFactory.getLog(SpecificationPlan.class);
+
+    private static final ClassValue<SpecificationPlan> ROOT_PLANS = new ClassValue<>() {
+        @Override
+        protected SpecificationPlan computeValue(@NotNull Class<?> type) {
+            return new SpecificationPlan(type, null);
+        }
+    };
+
+    private final Class<?> filterType;
+
+    @Nullable
+    private final String path;
+
+    private final FilterProperty[] properties;
+
+    private final Kind[] kinds;
+
+    private final String[] paths;
+
+    private final AtomicReferenceArray<SpecificationPlan> nestedPlans;
+
+    private SpecificationPlan(Class<?> filterType, @Nullable String path) {
+        List<FilterProperty> filterProperties = FilterProperties.of(filterType);
+        int size = filterProperties.size();
+
+        this.filterType = filterType;
+        this.path = path;
+        this.properties = filterProperties.toArray(new FilterProperty[0]);
+        this.kinds = new Kind[size];
+        this.paths = new String[size];
+        this.nestedPlans = new AtomicReferenceArray<>(size);
+
+        for (int i = 0; i < size; i++) {
+            FilterProperty property = this.properties[i];
+            this.kinds[i] = Kind.of(property.type());
+            this.paths[i] = path != null ? path + "." + property.name() : property.name();
+        }
+    }
+
+    static SpecificationPlan forRoot(@NotNull Class<?> filterType) {
+        return ROOT_PLANS.get(filterType);
+    }
+
+    static SpecificationPlan forPath(@NotNull Class<?> filterType, @Nullable String path) {
+        return path == null ? forRoot(filterType) : new SpecificationPlan(filterType, path);
+    }
+
+    <E> Specification<E> apply(@NotNull BaseFilter<?> filter) throws IllegalAccessException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Building Specification for: " + this.filterType.getSimpleName());
+        }
+        Specification<E> resultSpec = Specification.where(null);
+
+        for (int i = 0; i < this.properties.length; i++) {
+            Object fieldValue = this.properties[i].read(filter);
+            if (fieldValue == null) {
+                continue;
+            }
+
+            String fieldName = this.paths[i];
+            resultSpec = switch (this.kinds[i]) {
+                case STRING -> resultSpec.and(SpecificationGenerator.buildStringSpecification(fieldName, (StringFilter) fieldValue));
+                case NUMERIC -> resultSpec.and(SpecificationGenerator.buildNumericSpecification(fieldName, (NumericFilter<?>) fieldValue));
+                case ID -> resultSpec.and(SpecificationGenerator.buildIDSpecification(fieldName, (IDFilter) fieldValue));
+                case BOOLEAN -> resultSpec.and(SpecificationGenerator.buildBooleanSpecification(fieldName, (BooleanFilter) fieldValue));
+                case NESTED -> resultSpec.and(nested(i, fieldValue.getClass()).apply((BaseFilter<?>) fieldValue));
+                case DYNAMIC -> SpecificationGenerator.callRequiredSpecificationCreator(resultSpec, fieldValue, fieldName);
+            };
+        }
+
+        return applyLogicalFields(filter, resultSpec);
+    }
+
+    private <E> Specification<E> applyLogicalFields(@NotNull BaseFilter<?> filter, Specification<E> resultSpec) throws IllegalAccessException {
+        if (filter.getAnd() instanceof BaseFilter<?> baseFilter) {
+            resultSpec = resultSpec.and(sibling(baseFilter).apply(baseFilter));
+        }
+
+        if (filter.getOr() instanceof BaseFilter<?> baseFilter) {
+            resultSpec = resultSpec.or(sibling(baseFilter).apply(baseFilter));
+        }
+
+        if (filter.getNot() instanceof BaseFilter<?> baseFilter) {
+            resultSpec = resultSpec.and(Specification.not(sibling(baseFilter).apply(baseFilter)));
+        }
+
+        return resultSpec;
+    }
+
+    private SpecificationPlan sibling(@NotNull BaseFilter<?> filter) {
+        return filter.getClass() == this.filterType ? this : forPath(filter.getClass(), this.path);
+    }
+
+    private SpecificationPlan nested(int index, Class<?> type) {
+        SpecificationPlan plan = this.nestedPlans.get(index);
+        if (plan == null || plan.filterType != type) {
+            plan = new SpecificationPlan(type, this.paths[index]);
+            this.nestedPlans.set(index, plan);
+        }
+        return plan;
+    }
+
+    private enum Kind {
+        STRING, NUMERIC, ID, BOOLEAN, NESTED, DYNAMIC;
+
+        static Kind of(Class<?> type) {
+            if (StringFilter.class.isAssignableFrom(type)) {
+                return STRING;
+            } else if (NumericFilter.class.isAssignableFrom(type)) {
+                return NUMERIC;
+            } else if (IDFilter.class.isAssignableFrom(type)) {
+                return ID;
+            } else if (BooleanFilter.class.isAssignableFrom(type)) {
+                return BOOLEAN;
+            } else if (BaseFilter.class.isAssignableFrom(type)) {
+                return NESTED;
+            }
+            return DYNAMIC;
+        }
+    }
+}
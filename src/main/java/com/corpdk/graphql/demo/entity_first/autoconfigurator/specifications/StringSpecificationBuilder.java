@@ -15,6 +15,8 @@ import static com.corpdk.graphql.demo.entity_first.autoconfigurator.Helpers.getP
 public class StringSpecificationBuilder<E> extends SpecificationBuilder<E> {
     private static final Log logger = LogFactory.getLog(StringSpecificationBuilder.class);
 
+    public static final char LIKE_ESCAPE = '\\';
+
     public StringSpecificationBuilder(String field) {
         super(field);
     }
@@ -94,17 +96,43 @@ public class StringSpecificationBuilder<E> extends SpecificationBuilder<E> {
 
     public StringSpecificationBuilder<E> con(String value, Boolean caseSensitive) {
         logger.debug("Adding clause 'contains' for Field: " + field);
-        return li("%" + value + "%", caseSensitive);
+        return literalLike("%" + escapeLike(value) + "%", caseSensitive);
     }
 
     public StringSpecificationBuilder<E> sw(String value, Boolean caseSensitive) {
         logger.debug("Adding clause 'starts with' for Field: " + field);
-        return li(value + "%", caseSensitive);
+        return literalLike(escapeLike(value) + "%", caseSensitive);
     }
 
     public StringSpecificationBuilder<E> ew(String value, Boolean caseSensitive) {
         logger.debug("Adding clause 'ends with' for Field: " + field);
-        return li("%" + value, caseSensitive);
+        return literalLike("%" + escapeLike(value), caseSensitive);
+    }
+
+    private StringSpecificationBuilder<E> literalLike(String pattern, Boolean caseSensitive) {
+        this.specification = this.specification.and((root, query, cb) -> {
+            Sensitivity criteria = applyCaseSensitivity(getPath(root, field), pattern, caseSensitive, cb);
+            return cb.like(criteria.path(), criteria.value(), LIKE_ESCAPE);
+        });
+        return this;
+    }
+
+    /**
+     * Escapes the wildcards of a {@code con}, {@code sw} or {@code ew} value, which matches literally, the same
+     * as in memory, see {@link FilterMatcher}.
+     *
+     * @return the value to be used in a like pattern with {@link #LIKE_ESCAPE}
+     */
+    public static @NotNull String escapeLike(@NotNull String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
     }
 
     public StringSpecificationBuilder<E> len(Long length) {
@@ -1,15 +1,142 @@
 package com.corpdk.graphql.demo.entity_first;
 
-import org.junit.jupiter.api.Assertions;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.repositories.DepartmentRepository;
+import com.corpdk.graphql.demo.entity_first.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class EntityFirstApplicationTests {
 
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@Autowired
+	private DepartmentRepository departments;
+
+	private GraphQlTester graphQlTester;
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+	}
+
 	@Test
 	void contextLoads() {
-		Assertions.fail("Not Implemented");
+		this.graphQlTester.document("{ __schema { queryType { name } } }")
+				.execute()
+				.path("__schema.queryType.name").entity(String.class).isEqualTo("Query");
+	}
+
+	@Test
+	void listFilteredById() {
+		this.graphQlTester.document("{ listEmployees(filter: {id: {eq: 2}}) { id name department { name } } }")
+				.execute()
+				.path("listEmployees[*].name").entityList(String.class).containsExactly("Bob")
+				.path("listEmployees[0].department.name").entity(String.class).isEqualTo("IT");
+	}
+
+	@Test
+	void listFilteredByRelationship() {
+		this.graphQlTester.document("""
+						{ listEmployees(filter: {department: {name: {eq: "HR"}}}, orderBy: [{field: name}]) { name } }""")
+				.execute()
+				.path("listEmployees[*].name").entityList(String.class).containsExactly("Alice", "Dave");
+	}
+
+	@Test
+	void listsAreUnboundedByDefault() {
+		this.graphQlTester.document("{ listEmployees { id } }")
+				.execute()
+				.path("listEmployees").entityList(Object.class).hasSize(6)
+				.path("$.extensions.truncated").pathDoesNotExist();
+	}
+
+	@Test
+	void connectionPages() {
+		String endCursor = this.graphQlTester.document("""
+						{ employees(first: 2, orderBy: [{field: name}]) {
+						    edges { node { name } } pageInfo { hasNextPage endCursor } } }""")
+				.execute()
+				.path("employees.edges[*].node.name").entityList(String.class).containsExactly("Alice", "Bob")
+				.path("employees.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true)
+				.path("employees.pageInfo.endCursor").entity(String.class).get();
+
+		this.graphQlTester.document("""
+						query Next($after: String) { employees(first: 2, after: $after, orderBy: [{field: name}]) {
+						    edges { node { name } } } }""")
+				.variable("after", endCursor)
+				.execute()
+				.path("employees.edges[*].node.name").entityList(String.class).containsExactly("Carol", "Dave");
+	}
+
+	@Test
+	void typedCursorIsRejected() {
+		String cursor = Base64.getEncoder().encodeToString("""
+				K_["java.util.HashMap",{"id":["java.util.Timer",{}]}]""".getBytes(StandardCharsets.UTF_8));
+
+		this.graphQlTester.document("""
+						query Next($after: String) { employees(first: 2, after: $after) { edges { node { name } } } }""")
+				.variable("after", cursor)
+				.execute()
+				.errors().satisfy(errors -> assertThat(errors).isNotEmpty());
+	}
+
+	@Test
+	void countWithFilter() {
+		Long count = this.graphQlTester.document("{ countEmployees(filter: {name: {sw: \"D\"}}) }")
+				.execute()
+				.path("countEmployees").entity(Long.class).get();
+		assertThat(count).isEqualTo(1);
+	}
+
+	@Test
+	void wildcardsInStringFiltersMatchLiterally() {
+		Employee employee = new Employee();
+		employee.setName("Under_score");
+		employee.setDepartment(this.departments.findById(1L).orElseThrow());
+		this.employees.save(employee);
+		try {
+			this.graphQlTester.document("""
+							{ listEmployees(filter: {name: {con: "_"}}) { name }
+							  countEmployees(filter: {name: {sw: "%"}}) }""")
+					.execute()
+					.path("listEmployees[*].name").entityList(String.class).containsExactly("Under_score")
+					.path("countEmployees").entity(Long.class).isEqualTo(0L);
+		} finally {
+			this.employees.delete(employee);
+		}
+	}
+
+	@Test
+	void queryLimitsAreOnlyReportedByDefault() {
+		this.graphQlTester.document("{ listEmployees { department { employees { projects { projectName } } } } }")
+				.execute()
+				.path("listEmployees").entityList(Object.class).hasSize(6)
+				.path("$.extensions.cost.violations[0]").entity(String.class).isEqualTo("cost 11200 > 10000");
+	}
+
+	@Test
+	void invalidFilterIsReported() {
+		this.graphQlTester.document("{ listEmployees(filter: {nope: {eq: 1}}) { id } }")
+				.execute()
+				.errors().satisfy(errors -> assertThat(errors).isNotEmpty());
 	}
 
 }
@@ -0,0 +1,65 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ConfigureFetchersTests.EmployeeController.class)
+class ConfigureFetchersTests {
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	private GraphQlTester graphQlTester;
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+	}
+
+	@Test
+	void explicitMappingTakesPrecedence() {
+		this.graphQlTester.document("{ listEmployees { id } }")
+				.execute()
+				.path("listEmployees").entityList(Object.class).hasSize(0)
+				.path("countEmployees").pathDoesNotExist();
+	}
+
+	@Test
+	void generatedFieldsWithoutMappingAreAutoRegistered() {
+		this.graphQlTester.document("{ countEmployees employees(first: 1) { edges { node { id } } } }")
+				.execute()
+				.path("countEmployees").entity(Long.class).isEqualTo(6L)
+				.path("employees.edges").entityList(Object.class).hasSize(1);
+	}
+
+	@Test
+	void schemaFieldReturningAnEntityIsAutoRegistered() {
+		this.graphQlTester.document("{ employee { name } }")
+				.execute()
+				.path("employee.name").hasValue();
+	}
+
+	@Controller
+	static class EmployeeController {
+
+		@QueryMapping
+		List<Employee> listEmployees() {
+			return List.of();
+		}
+	}
+
+}
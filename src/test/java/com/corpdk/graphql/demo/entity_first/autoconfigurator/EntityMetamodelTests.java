@@ -0,0 +1,112 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityMetamodelTests {
+
+	private static final String PACKAGE = "com.example.fingerprint";
+
+	@Autowired
+	private EntityMetamodel entityMetamodel;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void fingerprintIsStableAcrossIntrospections() {
+		EntityMetamodel introspected = EntityMetamodel.of(this.entityManagerFactory.getMetamodel(), null);
+
+		assertThat(introspected.getEntities()).extracting(EntityMetamodel.EntityDescriptor::name)
+				.containsExactly("Department", "Employee", "Project");
+		assertThat(introspected.fingerprint()).hasSize(64)
+				.isEqualTo(this.entityMetamodel.fingerprint())
+				.isEqualTo(introspected.fingerprint());
+	}
+
+	@Test
+	void fingerprintDoesNotDependOnEntityOrder() {
+		Class<?> widget = entity("Widget", builder -> builder.defineField("name", String.class, Visibility.PRIVATE));
+		Class<?> gadget = entity("Gadget", builder -> builder.defineField("size", Integer.class, Visibility.PRIVATE));
+
+		assertThat(fingerprint(widget, gadget)).isEqualTo(fingerprint(gadget, widget));
+	}
+
+	@Test
+	void fingerprintChangesWithTheEntityFields() {
+		String original = fingerprint(entity("Widget", builder -> builder.defineField("name", String.class, Visibility.PRIVATE)));
+
+		assertThat(fingerprint(entity("Widget", builder -> builder.defineField("name", String.class, Visibility.PRIVATE))))
+				.isEqualTo(original);
+		assertThat(fingerprint(entity("Widget", builder -> builder.defineField("title", String.class, Visibility.PRIVATE))))
+				.isNotEqualTo(original);
+		assertThat(fingerprint(entity("Widget", builder -> builder.defineField("name", Long.class, Visibility.PRIVATE))))
+				.isNotEqualTo(original);
+		assertThat(fingerprint(entity("Widget", builder -> builder.defineField("name", String.class, Visibility.PRIVATE)
+				.annotateField(AnnotationDescription.Builder.ofType(Column.class).define("nullable", false).build()))))
+				.isNotEqualTo(original);
+		assertThat(fingerprint(entity("Widget", builder -> builder.defineField("name", String.class, Visibility.PRIVATE)
+				.defineField("size", Integer.class, Visibility.PRIVATE))))
+				.isNotEqualTo(original);
+	}
+
+	/**
+	 * An entity class named {@code Widget} or the like with an id and the given fields, in a class loader of its own
+	 * so every variant can have the same name.
+	 */
+	private static Class<?> entity(String name, UnaryOperator<DynamicType.Builder<Object>> fields) {
+		DynamicType.Builder<Object> builder = new ByteBuddy().subclass(Object.class)
+				.name(PACKAGE + "." + name)
+				.annotateType(AnnotationDescription.Builder.ofType(Entity.class).build())
+				.defineField("id", Long.class, Visibility.PRIVATE)
+				.annotateField(AnnotationDescription.Builder.ofType(Id.class).build());
+		try (DynamicType.Unloaded<Object> type = fields.apply(builder).make()) {
+			return type.load(EntityMetamodelTests.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST).getLoaded();
+		}
+	}
+
+	private static String fingerprint(Class<?>... entities) {
+		Set<EntityType<?>> entityTypes = new LinkedHashSet<>();
+		for (Class<?> entity : entities) {
+			entityTypes.add((EntityType<?>) Proxy.newProxyInstance(EntityMetamodelTests.class.getClassLoader(),
+					new Class<?>[]{EntityType.class}, (proxy, method, args) -> switch (method.getName()) {
+						case "getJavaType" -> entity;
+						case "getName" -> entity.getSimpleName();
+						case "hashCode" -> System.identityHashCode(proxy);
+						case "equals" -> proxy == args[0];
+						default -> throw new UnsupportedOperationException(method.getName());
+					}));
+		}
+		Metamodel metamodel = (Metamodel) Proxy.newProxyInstance(EntityMetamodelTests.class.getClassLoader(),
+				new Class<?>[]{Metamodel.class}, (proxy, method, args) -> switch (method.getName()) {
+					case "getEntities" -> entityTypes;
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+		EntityMetamodel entityMetamodel = EntityMetamodel.of(metamodel, PACKAGE);
+		assertThat(entityMetamodel.getEntities()).hasSize(entities.length);
+		return entityMetamodel.fingerprint();
+	}
+
+}
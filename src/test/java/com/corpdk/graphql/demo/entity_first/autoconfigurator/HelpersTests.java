@@ -0,0 +1,83 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.models.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class HelpersTests {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void fetchJoinsAreLeftJoinsOnToOnePaths() {
+		CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Project> query = criteriaBuilder.createQuery(Project.class);
+		Root<Project> root = query.from(Project.class);
+
+		Specification<Project> fetchJoins = Helpers.fetchJoins(List.of("projectName", "employee.name", "employee.department.name", "employee.projects.projectName"));
+		assertThat(fetchJoins.toPredicate(root, query, criteriaBuilder)).isNull();
+
+		assertThat(root.getFetches()).singleElement().satisfies(employee -> {
+			assertThat(employee.getAttribute().getName()).isEqualTo("employee");
+			assertThat(employee.getJoinType()).isEqualTo(JoinType.LEFT);
+			assertThat(employee.getFetches()).singleElement().satisfies(department -> {
+				assertThat(department.getAttribute().getName()).isEqualTo("department");
+				assertThat(department.getJoinType()).isEqualTo(JoinType.LEFT);
+				assertThat(department.getFetches()).isEmpty();
+			});
+		});
+
+		List<Project> projects = this.entityManager.createQuery(query.select(root)).getResultList();
+		this.entityManager.clear();
+		assertThat(projects).hasSize(4).allSatisfy(project -> {
+			assertThat(Hibernate.isInitialized(project.getEmployee())).isTrue();
+			assertThat(Hibernate.isInitialized(project.getEmployee().getDepartment())).isTrue();
+			assertThat(Hibernate.isInitialized(project.getEmployee().getProjects())).isFalse();
+		});
+	}
+
+	@Test
+	void fetchJoinsAreSkippedForCountQueries() {
+		CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+		Root<Employee> root = query.from(Employee.class);
+
+		Specification<Employee> fetchJoins = Helpers.fetchJoins(List.of("department.name"));
+		assertThat(fetchJoins.toPredicate(root, query, criteriaBuilder)).isNull();
+
+		assertThat(root.getFetches()).isEmpty();
+		assertThat(this.entityManager.createQuery(query.select(criteriaBuilder.count(root))).getSingleResult()).isEqualTo(6L);
+	}
+
+	@Test
+	void noPathsNoFetches() {
+		CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+		Root<Employee> root = query.from(Employee.class);
+
+		Helpers.<Employee>fetchJoins(List.of()).toPredicate(root, query, criteriaBuilder);
+		Helpers.<Employee>fetchJoins(List.of("name", "projects.projectName")).toPredicate(root, query, criteriaBuilder);
+
+		assertThat(root.getFetches()).isEmpty();
+	}
+
+}
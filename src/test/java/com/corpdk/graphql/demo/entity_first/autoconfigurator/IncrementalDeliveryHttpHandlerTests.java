@@ -0,0 +1,94 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"application.graphql.incremental-delivery.enabled=true",
+		"application.graphql.incremental-delivery.batch-window=20ms",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class IncrementalDeliveryHttpHandlerTests {
+
+	private static final String PROJECTS_QUERY = "select p.id, c from Employee p join p.projects c where p.id in :keys";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statistics.clear();
+	}
+
+	private HttpResponse<String> post(String document) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + "/graphql"))
+				.timeout(Duration.ofSeconds(20))
+				.header("Content-Type", "application/json")
+				.header("Accept", "multipart/mixed;deferSpec=20220824, application/json")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"query\": \"" + document.replace("\"", "\\\"") + "\"}"))
+				.build();
+		return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	@Test
+	void deferredFragmentsAreWrittenAsPartsAndBatched() throws Exception {
+		String document = """
+				{ employees(first: 6, orderBy: [{field: name}]) { edges { node { name ... @defer { projects { projectName } } } } } }""";
+		post(document);
+		this.statistics.clear();
+
+		HttpResponse<String> response = post(document);
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type ->
+				assertThat(type).startsWith("multipart/mixed"));
+		String[] parts = response.body().split("\r\n---");
+		assertThat(parts[parts.length - 1]).isEqualTo("--\r\n");
+		assertThat(parts[1]).contains("\"hasNext\":true").contains("Alice").doesNotContain("Payroll");
+		assertThat(Arrays.stream(parts).skip(2).anyMatch(part -> part.contains("Payroll"))).isTrue();
+		assertThat(response.body()).contains("Intranet").contains("Backup").contains("Hiring").contains("\"hasNext\":false");
+		assertThat(this.statistics.getQueryStatistics(PROJECTS_QUERY).getExecutionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void relationshipsBesideDeferredFragmentsAreStillBatched() throws Exception {
+		HttpResponse<String> response = post("""
+				{ employees(first: 6) { edges { node { name projects { projectName } ... @defer { department { name } } } } } }""");
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).contains("Payroll").contains("\"hasNext\":false");
+		assertThat(this.statistics.getQueryStatistics(PROJECTS_QUERY).getExecutionCount()).isLessThanOrEqualTo(1);
+	}
+
+	@Test
+	void resultsWithoutDeferredFragmentsAreJson() throws Exception {
+		HttpResponse<String> response = post("{ countEmployees }");
+
+		assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type ->
+				assertThat(type).startsWith("application/json"));
+		assertThat(response.body()).contains("\"countEmployees\":6");
+	}
+}
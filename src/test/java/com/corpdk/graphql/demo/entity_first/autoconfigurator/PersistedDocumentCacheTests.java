@@ -0,0 +1,106 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PersistedDocumentCacheTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private PersistedDocumentCache documentCache;
+
+	@Test
+	void hashOnlyRequestIsNotFoundUntilTheQueryIsRegistered() throws Exception {
+		String query = "{ apq: countEmployees }";
+		String hash = PersistedDocumentCache.sha256(query);
+
+		JsonNode notFound = post(null, hash);
+		assertThat(notFound.at("/errors/0/message").asText()).isEqualTo("PersistedQueryNotFound");
+		assertThat(notFound.at("/data").isMissingNode() || notFound.at("/data").isNull()).isTrue();
+
+		JsonNode registered = post(query, hash);
+		assertThat(registered.at("/errors").isMissingNode()).isTrue();
+		assertThat(registered.at("/data/apq").asLong()).isEqualTo(6);
+
+		JsonNode persisted = post(null, hash);
+		assertThat(persisted.at("/errors").isMissingNode()).isTrue();
+		assertThat(persisted.at("/data/apq").asLong()).isEqualTo(6);
+	}
+
+	@Test
+	void hashNotMatchingTheQueryIsRejected() throws Exception {
+		String query = "{ mismatched: countEmployees }";
+		String hash = PersistedDocumentCache.sha256("{ other: countEmployees }");
+
+		JsonNode invalid = post(query, hash);
+		assertThat(invalid.at("/errors/0/message").asText()).isEqualTo("PersistedQueryIdInvalid");
+		assertThat(invalid.at("/data/mismatched").isMissingNode()).isTrue();
+
+		assertThat(post(null, hash).at("/errors/0/message").asText()).isEqualTo("PersistedQueryNotFound");
+	}
+
+	@Test
+	void documentsWithErrorsAreNotCached() throws Exception {
+		long size = this.documentCache.size();
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(post("{ invalidField }", null).at("/errors/0/extensions/classification").asText())
+					.isEqualTo("ValidationError");
+		}
+		assertThat(this.documentCache.size()).isEqualTo(size);
+
+		String query = "{ invalidPersisted }";
+		String hash = PersistedDocumentCache.sha256(query);
+		assertThat(post(query, hash).at("/errors/0/extensions/classification").asText()).isEqualTo("ValidationError");
+		assertThat(post(null, hash).at("/errors/0/message").asText()).isEqualTo("PersistedQueryNotFound");
+		assertThat(this.documentCache.size()).isEqualTo(size);
+	}
+
+	@Test
+	void validDocumentsAreCachedOnce() throws Exception {
+		long size = this.documentCache.size();
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(post("{ cachedOnce: countEmployees }", null).at("/data/cachedOnce").asLong()).isEqualTo(6);
+		}
+		assertThat(this.documentCache.size()).isEqualTo(size + 1);
+	}
+
+	private JsonNode post(String query, String hash) throws Exception {
+		Map<String, Object> body = new LinkedHashMap<>();
+		if (query != null) {
+			body.put("query", query);
+		}
+		if (hash != null) {
+			body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+		}
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + "/graphql"))
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/graphql-response+json")
+				.POST(HttpRequest.BodyPublishers.ofString(this.objectMapper.writeValueAsString(body)))
+				.build();
+		HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+		return this.objectMapper.readTree(response.body());
+	}
+
+}
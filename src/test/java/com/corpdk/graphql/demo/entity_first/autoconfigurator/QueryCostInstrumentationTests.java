@@ -0,0 +1,122 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.execution.ErrorType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCostInstrumentationTests {
+
+	private static final GraphQLSchema SCHEMA = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("""
+			type Query {
+			    employees(first: Int, last: Int, filter: EmployeeFilter): EmployeeConnection
+			    listEmployees(filter: EmployeeFilter): [Employee]
+			    countEmployees(filter: EmployeeFilter): Int
+			}
+			type EmployeeConnection { edges: [EmployeeEdge] pageInfo: PageInfo totalCount: Int }
+			type EmployeeEdge { node: Employee cursor: String }
+			type PageInfo { hasNextPage: Boolean }
+			type Employee { id: ID name: String department: Department projects: [Project] }
+			type Department { name: String employees: [Employee] }
+			type Project { name: String }
+			input EmployeeFilter { name: StringFilter id: IdFilter and: [EmployeeFilter] }
+			input StringFilter { eq: String sw: String }
+			input IdFilter { in: [ID] }
+			"""), RuntimeWiring.MOCKED_WIRING);
+
+	private static final QueryCostInstrumentation.Estimates ESTIMATES = new QueryCostInstrumentation.Estimates(20, 100, 10);
+
+	private static final QueryCostInstrumentation.Limits LIMITS = new QueryCostInstrumentation.Limits(10000, 12, 50, 4);
+
+	@Test
+	void connectionCostsItsFirstOrLastOrThePageSize() {
+		assertThat(cost("{ employees(first: 5) { edges { node { name } } } }")).containsEntry("cost", 5L);
+		assertThat(cost("{ employees(last: 7) { edges { node { name } } } }")).containsEntry("cost", 7L);
+		assertThat(cost("{ employees { edges { node { name } } pageInfo { hasNextPage } } }")).containsEntry("cost", 20L);
+	}
+
+	@Test
+	void listsAndRelationshipsMultiplyWithTheirParents() {
+		// 100 employees, 100 departments, 100 * 10 employees, 1000 * 10 projects
+		Map<String, Object> cost = cost("{ listEmployees { department { employees { projects { name } } } } }");
+
+		assertThat(cost).containsEntry("cost", 11200L).containsEntry("hops", 3).containsEntry("depth", 5);
+	}
+
+	@Test
+	void connectionWrappersAreNotCountedAsObjectsOrHops() {
+		Map<String, Object> cost = cost("{ employees(first: 2) { edges { node { projects { name } } } } }");
+
+		assertThat(cost).containsEntry("cost", 22L).containsEntry("hops", 1).containsEntry("depth", 5);
+	}
+
+	@Test
+	void rootScalarsCostOne() {
+		assertThat(cost("{ countEmployees }")).containsEntry("cost", 1L);
+	}
+
+	@Test
+	void breadthIsTheWidestSelection() {
+		Map<String, Object> cost = cost("{ listEmployees { id name department { name } } countEmployees }");
+
+		assertThat(cost).containsEntry("breadth", 3);
+	}
+
+	@Test
+	void filterNodesAndInValuesAreCounted() {
+		Map<String, Object> cost = cost("""
+				{ countEmployees(filter: {id: {in: [1, 2, 3, 4]}, and: [{name: {sw: "A"}}, {name: {eq: "Bob"}}]}) }""");
+
+		assertThat(cost).containsEntry("filterSize", 6L).containsEntry("cost", 7L);
+	}
+
+	@Test
+	void operationsOverTheLimitsAreReportedUnlessEnforced() {
+		ExecutionResult result = execute(new QueryCostInstrumentation(LIMITS, ESTIMATES, false),
+				"{ listEmployees { department { employees { projects { name } } } } }");
+
+		assertThat(result.getErrors()).isEmpty();
+		assertThat(costOf(result)).containsEntry("violations", List.of("cost 11200 > 10000"));
+	}
+
+	@Test
+	void enforcedLimitsRejectTheOperation() {
+		QueryCostInstrumentation.Limits limits = new QueryCostInstrumentation.Limits(100, 3, 50, 1);
+		ExecutionResult result = execute(new QueryCostInstrumentation(limits, ESTIMATES, true),
+				"{ listEmployees { department { employees { name } } } }");
+
+		assertThat(result.getErrors()).hasSize(1);
+		GraphQLError error = result.getErrors().get(0);
+		assertThat(error.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+		assertThat(error.getMessage()).contains("cost 1200 > 100", "depth 4 > 3", "relationship hops 2 > 1");
+		assertThat(error.getExtensions()).containsKeys("cost", "limits");
+		assertThat(error.getExtensions().get("limits")).isEqualTo(Map.of("cost", 100L, "depth", 3, "breadth", 50, "hops", 1));
+		assertThat(result.isDataPresent()).isFalse();
+	}
+
+	private static Map<String, Object> cost(String query) {
+		ExecutionResult result = execute(new QueryCostInstrumentation(LIMITS, ESTIMATES, false), query);
+		assertThat(result.getErrors()).isEmpty();
+		return costOf(result);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> costOf(ExecutionResult result) {
+		return (Map<String, Object>) result.getExtensions().get(QueryCostInstrumentation.EXTENSION);
+	}
+
+	private static ExecutionResult execute(QueryCostInstrumentation instrumentation, String query) {
+		return GraphQL.newGraphQL(SCHEMA).instrumentation(instrumentation).build().execute(query);
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.graphql.server.webmvc.GraphQlSseHandler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"application.graphql.change-feed.sse-timeout=500ms",
+		"spring.mvc.async.request-timeout=30s"
+})
+@ActiveProfiles("test")
+class SubscriptionSseHandlerTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private GraphQlSseHandler sseHandler;
+
+	@Test
+	void subscriptionStreamsHaveTheirOwnTimeout() throws Exception {
+		assertThat(this.sseHandler).isInstanceOf(SubscriptionSseHandler.class);
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + "/graphql"))
+				.timeout(Duration.ofSeconds(20))
+				.header("Content-Type", "application/json")
+				.header("Accept", "text/event-stream")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"query\": \"subscription { employeeChanges { operation id } }\"}"))
+				.build();
+
+		long start = System.nanoTime();
+		HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+		assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type ->
+				assertThat(type).startsWith("text/event-stream"));
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isBetween(Duration.ofMillis(400), Duration.ofSeconds(10));
+	}
+
+}
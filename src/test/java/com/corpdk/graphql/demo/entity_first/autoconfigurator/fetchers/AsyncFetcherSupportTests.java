@@ -0,0 +1,59 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AsyncFetcherSupportTests {
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectProvider<AsyncFetcherSupport> asyncFetcherSupport;
+
+	@Test
+	void asynchronousFetchersAreOffByDefault() {
+		assertThat(this.asyncFetcherSupport.getIfAvailable()).isNull();
+	}
+
+	@Test
+	void connectionExecutorSharesTheFetcherPermits() throws InterruptedException {
+		try (AsyncFetcherSupport support = new AsyncFetcherSupport(this.transactionManager, 1, null)) {
+			Executor executor = support.connectionExecutor();
+			CountDownLatch release = new CountDownLatch(1);
+			AtomicBoolean second = new AtomicBoolean();
+
+			executor.execute(() -> {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			await().atMost(Duration.ofSeconds(5)).until(() -> support.getActiveConnections() == 1);
+			executor.execute(() -> second.set(true));
+			Thread.sleep(100);
+			assertThat(second).isFalse();
+
+			release.countDown();
+			await().atMost(Duration.ofSeconds(5)).untilTrue(second);
+			await().atMost(Duration.ofSeconds(5)).until(() -> support.getActiveConnections() == 0);
+		}
+	}
+
+}
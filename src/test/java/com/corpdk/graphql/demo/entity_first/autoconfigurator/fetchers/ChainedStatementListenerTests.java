@@ -0,0 +1,57 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session.events.auto=" +
+		"com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers.ChainedStatementListenerTests$CountingListener")
+@ActiveProfiles("test")
+class ChainedStatementListenerTests {
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void configuredListenerKeepsRunningNextToTheMetrics() {
+		int statements = CountingListener.statements.get();
+		long timed = sql().count();
+
+		ExecutionGraphQlServiceTester.create(this.graphQlService)
+				.document("{ listEmployees(filter: {name: {sw: \"Da\"}}) { name } }")
+				.execute()
+				.path("listEmployees[*].name").entityList(String.class).containsExactly("Dave");
+
+		assertThat(CountingListener.statements.get()).isGreaterThan(statements);
+		assertThat(sql().count()).isEqualTo(timed + 1);
+	}
+
+	private Timer sql() {
+		return this.meterRegistry.get("graphql.fetcher.stage")
+				.tags("entity", "Employee", "kind", "many", "stage", "sql").timer();
+	}
+
+	public static class CountingListener implements SessionEventListener {
+
+		static final AtomicInteger statements = new AtomicInteger();
+
+		@Override
+		public void jdbcExecuteStatementStart() {
+			statements.incrementAndGet();
+		}
+	}
+
+}
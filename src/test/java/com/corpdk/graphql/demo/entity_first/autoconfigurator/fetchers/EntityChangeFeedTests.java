@@ -0,0 +1,83 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.models.Department;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "application.graphql.change-feed.coalesce-window=200ms")
+@ActiveProfiles("test")
+class EntityChangeFeedTests {
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	@Autowired
+	private EntityChangeFeed changeFeed;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private GraphQlTester graphQlTester;
+
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+		this.transactionTemplate = new TransactionTemplate(this.transactionManager);
+	}
+
+	@Test
+	void changesCarryTheCommittedState() throws Exception {
+		CompletableFuture<GraphQlTester.Response> change = this.graphQlTester.document("""
+						subscription { employeeChanges(filter: {name: {sw: "Zed"}}) { operation id entity { name department { name } } } }""")
+				.executeSubscription()
+				.toFlux()
+				.next()
+				.toFuture();
+		await().atMost(Duration.ofSeconds(5)).until(() -> this.changeFeed.getSubscriberCount(Employee.class) == 1);
+
+		Employee employee = this.transactionTemplate.execute(status -> {
+			Employee zed = new Employee();
+			zed.setName("Zed");
+			zed.setDepartment(this.entityManager.find(Department.class, 1L));
+			this.entityManager.persist(zed);
+			return zed;
+		});
+		// Changed after the commit, before the change is delivered at the end of the coalescing window
+		employee.setName("Changed after commit");
+		try {
+			change.get(5, TimeUnit.SECONDS)
+					.path("employeeChanges.operation").entity(String.class).isEqualTo("INSERT")
+					.path("employeeChanges.id").entity(String.class).isEqualTo(employee.getId().toString())
+					.path("employeeChanges.entity.name").entity(String.class).isEqualTo("Zed")
+					.path("employeeChanges.entity.department.name").entity(String.class).isEqualTo("HR");
+		} finally {
+			this.transactionTemplate.executeWithoutResult(status ->
+					this.entityManager.remove(this.entityManager.find(Employee.class, employee.getId())));
+		}
+		await().atMost(Duration.ofSeconds(5)).until(() -> this.changeFeed.getSubscriberCount(Employee.class) == 0);
+		assertThat(employee.getName()).isEqualTo("Changed after commit");
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.filters.EmployeeFilter;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import graphql.GraphQL;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.util.TypeInformation;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class FetcherMetadataTests {
+
+	private static final String SCHEMA = """
+			type Query { employee: Employee employees: EmployeeConnection }
+			type EmployeeConnection { edges: [EmployeeEdge] }
+			type EmployeeEdge { node: Employee cursor: String }
+			type Employee { id: ID name: String department: Department projects: [Project] }
+			type Department { id: ID name: String }
+			type Project { projectName: String }
+			""";
+
+	private static final String FILTERS_PACKAGE = EmployeeFilter.class.getPackageName();
+
+	private final FetcherMetadata<Employee> metadata = FetcherMetadata.resolve(TypeInformation.of(Employee.class), FILTERS_PACKAGE);
+
+	@Test
+	void filterAndIdPropertyAreResolvedOnce() throws Exception {
+		assertThat(this.metadata.getDomainType().getType()).isEqualTo(Employee.class);
+		assertThat(this.metadata.getFilterClass()).isEqualTo(EmployeeFilter.class);
+		assertThat(this.metadata.getFilterType().resolve()).isEqualTo(EmployeeFilter.class);
+		assertThat(this.metadata.getIdProperty()).isEqualTo("id");
+		assertThat(this.metadata.requiresProjection(Employee.class)).isFalse();
+		assertThat(this.metadata.requiresProjection(Object.class)).isTrue();
+
+		FetcherMetadata<Employee> unfiltered = FetcherMetadata.resolve(TypeInformation.of(Employee.class), "com.example.missing");
+		assertThat(unfiltered.getFilterClass()).isNull();
+		assertThatExceptionOfType(ClassNotFoundException.class).isThrownBy(unfiltered::getFilterType)
+				.withMessage("com.example.missing.EmployeeFilter");
+	}
+
+	@Test
+	void fetchPathsStopAtToManyAssociations() {
+		DataFetchingFieldSelectionSet selectionSet = selectionSet("{ employee { id name department { name } projects { projectName } } }");
+
+		assertThat(this.metadata.getPropertyPaths(selectionSet))
+				.containsExactly("id", "name", "department.name", "projects.projectName");
+		assertThat(this.metadata.getFetchPaths(selectionSet)).containsExactly("id", "name", "department.name");
+		assertThat(this.metadata.getScalarColumns(selectionSet)).isNull();
+	}
+
+	@Test
+	void scalarColumnsForRootAndConnectionNodeSelections() {
+		DataFetchingFieldSelectionSet root = selectionSet("{ employee { id name __typename } }");
+		DataFetchingFieldSelectionSet connection = selectionSet("{ employees { edges { cursor node { name } } } }");
+
+		assertThat(this.metadata.getScalarColumns(root)).containsExactly("id", "name");
+		assertThat(this.metadata.getPropertyPaths(connection)).containsExactly("name");
+		assertThat(this.metadata.getScalarColumns(connection)).containsExactly("name");
+	}
+
+	@Test
+	void pathsAreMemoizedPerSelectionShape() {
+		DataFetchingFieldSelectionSet first = selectionSet("{ employee { name department { name } } }");
+		DataFetchingFieldSelectionSet second = selectionSet("{ employee { name department { name } } }");
+		DataFetchingFieldSelectionSet other = selectionSet("{ employee { department { name } name } }");
+
+		assertThat(this.metadata.getPropertyPaths(second)).isSameAs(this.metadata.getPropertyPaths(first));
+		assertThat(this.metadata.getFetchPaths(second)).isSameAs(this.metadata.getFetchPaths(first));
+		assertThat(this.metadata.getPropertyPaths(other)).isNotSameAs(this.metadata.getPropertyPaths(first))
+				.containsExactlyInAnyOrderElementsOf(this.metadata.getPropertyPaths(first));
+	}
+
+	@Test
+	void nullabilityFollowsTheColumnsOnThePath() {
+		assertThat(this.metadata.isNullable("id")).isFalse();
+		assertThat(this.metadata.isNullable("name")).isFalse();
+		assertThat(this.metadata.isNullable("department.name")).isFalse();
+		assertThat(this.metadata.isNullable("projects")).isTrue();
+		assertThat(this.metadata.isNullable("unknown")).isTrue();
+	}
+
+	private static DataFetchingFieldSelectionSet selectionSet(String query) {
+		AtomicReference<DataFetchingFieldSelectionSet> selectionSet = new AtomicReference<>();
+		RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+				.type("Query", type -> type
+						.dataFetcher("employee", environment -> {
+							selectionSet.set(environment.getSelectionSet());
+							return null;
+						})
+						.dataFetcher("employees", environment -> {
+							selectionSet.set(environment.getSelectionSet());
+							return null;
+						}))
+				.build();
+		GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+		GraphQL.newGraphQL(schema).build().execute(query);
+		return selectionSet.get();
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "application.graphql.result-cache.enabled=true")
+@ActiveProfiles("test")
+class FetcherMetricsTests {
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private GraphQlTester graphQlTester;
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+	}
+
+	@Test
+	void resultCacheHitsAreTimedAsCacheStage() {
+		long cached = stage("many", "cache").count();
+		long rows = rowsRecorded("many");
+		for (int i = 0; i < 2; i++) {
+			this.graphQlTester.document("{ listEmployees(filter: {name: {sw: \"Car\"}}) { name } }")
+					.execute()
+					.path("listEmployees[*].name").entityList(String.class).containsExactly("Carol");
+		}
+
+		assertThat(stage("many", "cache").count()).isEqualTo(cached + 1);
+		assertThat(rowsRecorded("many")).isEqualTo(rows + 2);
+	}
+
+	@Test
+	void countCacheHitsAreTimedAsCacheStage() {
+		long cached = stage("count", "cache").count();
+		for (int i = 0; i < 2; i++) {
+			this.graphQlTester.document("{ countEmployees(filter: {name: {sw: \"Fr\"}}) }")
+					.execute()
+					.path("countEmployees").entity(Long.class).isEqualTo(1L);
+		}
+
+		assertThat(stage("count", "cache").count()).isEqualTo(cached + 1);
+	}
+
+	@Test
+	void concurrentTotalCountIsTimedOnTheConnection() {
+		long counted = stage("scrollable", "total_count").count();
+		this.graphQlTester.document("{ employees(first: 1, filter: {name: {sw: \"Er\"}}) { totalCount } }")
+				.execute()
+				.path("employees.totalCount").entity(Long.class).isEqualTo(1L);
+
+		assertThat(stage("scrollable", "total_count").count()).isEqualTo(counted + 1);
+	}
+
+	@Test
+	void histogramsAreOffByDefault() {
+		this.graphQlTester.document("{ listEmployees { id } }").execute();
+
+		assertThat(stage("many", "hydration").takeSnapshot().histogramCounts()).isEmpty();
+	}
+
+	private Timer stage(String kind, String stage) {
+		return this.meterRegistry.get("graphql.fetcher.stage")
+				.tags("entity", "Employee", "kind", kind, "stage", stage).timer();
+	}
+
+	private long rowsRecorded(String kind) {
+		return this.meterRegistry.get("graphql.fetcher.rows").tags("entity", "Employee", "kind", kind).summary().count();
+	}
+
+}
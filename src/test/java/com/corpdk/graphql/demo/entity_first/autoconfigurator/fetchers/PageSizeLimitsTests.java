@@ -0,0 +1,54 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"application.graphql.page-size.enabled=true",
+		"application.graphql.page-size.default-size=2",
+		"application.graphql.page-size.max-size=3"
+})
+@ActiveProfiles("test")
+class PageSizeLimitsTests {
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	private GraphQlTester graphQlTester;
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+	}
+
+	@Test
+	void truncationIsReportedByPath() {
+		this.graphQlTester.document("""
+						{ a: listEmployees(orderBy: [{field: name}]) { name }
+						  b: employees(first: 5) { edges { node { name } } } }""")
+				.execute()
+				.path("a[*].name").entityList(String.class).containsExactly("Alice", "Bob")
+				.path("b.edges").entityList(Object.class).hasSize(3)
+				.path("$.extensions.truncated['/a'].returned").entity(Integer.class).isEqualTo(2)
+				.path("$.extensions.truncated['/b'].requested").entity(Integer.class).isEqualTo(5)
+				.path("$.extensions.truncated['/b'].limit").entity(Integer.class).isEqualTo(3);
+	}
+
+	@Test
+	void listsAreUnboundedUnlessEnabled() {
+		PageSizeLimits limits = PageSizeLimits.of(2, 3);
+		assertThat(limits.forType(Object.class).maxSize()).isEqualTo(3);
+		assertThat(new PageSizeLimits(limits.getDefaults(), Map.of("Employee", new PageSizeLimits.PageSize(1, 1)))
+				.forType(String.class)).isEqualTo(limits.getDefaults());
+	}
+}
@@ -0,0 +1,92 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"application.graphql.result-cache.enabled=true",
+		"application.graphql.result-cache.off-heap.enabled=true",
+		"application.graphql.result-cache.off-heap.min-bytes=1KB"
+})
+@ActiveProfiles("test")
+class QueryResultCacheTests {
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private GraphQlTester graphQlTester;
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+	}
+
+	@Test
+	void aliasedSelectionsOfOneFieldAreAllCached() {
+		String document = """
+				{ employees(first: 5, filter: {id: {eq: 1}}) {
+				    edges { node { name a: department { id } b: department { name } } } } }""";
+		for (int i = 0; i < 2; i++) {
+			this.graphQlTester.document(document)
+					.execute()
+					.path("employees.edges[0].node.name").entity(String.class).isEqualTo("Alice")
+					.path("employees.edges[0].node.a.id").entity(String.class).isEqualTo("1")
+					.path("employees.edges[0].node.b.name").entity(String.class).isEqualTo("HR");
+		}
+		assertThat(hits("graphql.result.cache")).isPositive();
+	}
+
+	@Test
+	void largePagesAreReadBackFromTheOffHeapTier() {
+		String document = """
+				{ employees(first: 10, orderBy: [{field: name}]) {
+				    edges { cursor node { id name department { id name } } } } }""";
+		for (int i = 0; i < 2; i++) {
+			this.graphQlTester.document(document)
+					.execute()
+					.path("employees.edges[*].node.name").entityList(String.class)
+					.containsExactly("Alice", "Bob", "Carol", "Dave", "Erin", "Frank")
+					.path("employees.edges[3].node.department.name").entity(String.class).isEqualTo("HR");
+		}
+		assertThat(hits("graphql.result.cache.offheap")).isPositive();
+	}
+
+	@Test
+	void onlyPlainPagesGoOffHeap() {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("name", "Alice");
+		row.put("hired", LocalDate.of(2024, 1, 2));
+		row.put("projects", List.of(Map.of("projectName", "Payroll")));
+		CachedPage page = new CachedPage(new ArrayList<>(List.of(row)), null, false, 1L, null);
+
+		CachedPage.OffHeap offHeap = page.toOffHeap();
+
+		assertThat(offHeap).isNotNull();
+		assertThat(offHeap.toPage().rows()).containsExactly(row);
+		assertThat(page.estimatedSize()).isLessThan(new CachedPage(List.of(row, row), null, false, null, null).estimatedSize());
+		assertThat(new CachedPage(List.of(Map.of("value", new Object())), null, false, null, null).toOffHeap()).isNull();
+	}
+
+	private double hits(String cache) {
+		return this.meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count();
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import graphql.GraphQLContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RelationshipBatchLoadersTests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void chunksArePaddedToPowersOfTwoUpToTheMaximum() {
+		List<Object> keys = new ArrayList<>(LongStream.rangeClosed(1, 11).boxed().toList());
+
+		List<List<Object>> chunks = RelationshipBatchLoaders.chunks(keys, 8);
+
+		assertThat(chunks).extracting(List::size).containsExactly(8, 4);
+		assertThat(chunks.get(0)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+		assertThat(chunks.get(1)).containsExactly(9L, 10L, 11L, 11L);
+		assertThat(RelationshipBatchLoaders.chunks(List.of(1L), 8)).containsExactly(List.of(1L));
+		assertThat(RelationshipBatchLoaders.chunks(List.of(), 8)).isEmpty();
+	}
+
+	@Test
+	void batchLargerThanTheMaximumIsLoadedInChunks() {
+		DefaultBatchLoaderRegistry batchLoaderRegistry = new DefaultBatchLoaderRegistry();
+		new RelationshipBatchLoaders(this.entityManagerFactory, 2).register(batchLoaderRegistry);
+		DataLoaderRegistry dataLoaderRegistry = DataLoaderRegistry.newRegistry().build();
+		batchLoaderRegistry.registerDataLoaders(dataLoaderRegistry, GraphQLContext.newContext().build());
+		DataLoader<Object, List<Employee>> employees = dataLoaderRegistry.getDataLoader("Department.employees");
+
+		Map<Long, CompletableFuture<List<Employee>>> loaded = Map.of(1L, employees.load(1L), 2L, employees.load(2L), 3L, employees.load(3L));
+		employees.dispatchAndJoin();
+
+		assertThat(loaded.get(1L).join()).extracting(Employee::getName).containsExactlyInAnyOrder("Alice", "Dave");
+		assertThat(loaded.get(2L).join()).extracting(Employee::getName).containsExactlyInAnyOrder("Bob", "Carol", "Erin", "Frank");
+		assertThat(loaded.get(3L).join()).isEmpty();
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "application.graphql.total-count.window-function=true")
+@ActiveProfiles("test")
+class TotalCountSupportTests {
+
+	private static final Sort BY_NAME = Sort.by("name");
+
+	private static final Specification<Employee> ALL = Specification.where(null);
+
+	private static final Specification<Employee> HR =
+			(root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("department").get("id"), 1L);
+
+	private static final Specification<Employee> NONE =
+			(root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("name"), "Nobody");
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	private GraphQlTester graphQlTester;
+
+	private ExecutorService executor;
+
+	private final AtomicInteger submitted = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+		this.executor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void countsRunOnTheExecutorOrTheCallingThread() throws Exception {
+		TotalCountSupport concurrent = new TotalCountSupport(this.entityManagerFactory, command -> {
+			this.submitted.incrementAndGet();
+			this.executor.execute(command);
+		}, false);
+		TotalCountSupport sequential = new TotalCountSupport(this.entityManagerFactory, null, false);
+
+		assertThat(concurrent.usesWindowFunction()).isFalse();
+		assertThat(concurrent.count(this.employees, ALL).get(5, TimeUnit.SECONDS)).isEqualTo(6L);
+		assertThat(concurrent.count(this.employees, HR).get(5, TimeUnit.SECONDS)).isEqualTo(2L);
+		assertThat(this.submitted).hasValue(2);
+
+		CompletableFuture<Long> count = sequential.count(this.employees, HR);
+		assertThat(count).isCompletedWithValue(2L);
+	}
+
+	@Test
+	@Transactional
+	void windowFunctionCountsTheOffsetPageInOneStatement() {
+		TotalCountSupport windowFunction = new TotalCountSupport(this.entityManagerFactory, this.executor, true);
+		assertThat(windowFunction.usesWindowFunction()).isTrue();
+
+		CompletableFuture<Long> totalCount = new CompletableFuture<>();
+		Window<Employee> page = windowFunction.scroll(this.employees, Employee.class, ALL, BY_NAME, ScrollPosition.offset(1), 2, totalCount);
+		assertThat(page.getContent()).extracting(Employee::getName).containsExactly("Carol", "Dave");
+		assertThat(page.hasNext()).isTrue();
+		assertThat(page.positionAt(1)).isEqualTo(ScrollPosition.offset(3));
+		assertThat(totalCount).isCompletedWithValue(6L);
+
+		CompletableFuture<Long> hrCount = new CompletableFuture<>();
+		Window<Employee> hrPage = windowFunction.scroll(this.employees, Employee.class, HR, BY_NAME, ScrollPosition.offset(), 5, hrCount);
+		assertThat(hrPage.getContent()).extracting(Employee::getName).containsExactly("Alice", "Dave");
+		assertThat(hrPage.hasNext()).isFalse();
+		assertThat(hrCount).isCompletedWithValue(2L);
+	}
+
+	@Test
+	@Transactional
+	void emptyWindowsAreCountedSeparately() throws Exception {
+		TotalCountSupport windowFunction = new TotalCountSupport(this.entityManagerFactory, this.executor, true);
+
+		CompletableFuture<Long> none = new CompletableFuture<>();
+		assertThat(windowFunction.scroll(this.employees, Employee.class, NONE, BY_NAME, ScrollPosition.offset(), 2, none).isEmpty()).isTrue();
+		assertThat(none).isCompletedWithValue(0L);
+
+		CompletableFuture<Long> pastTheEnd = new CompletableFuture<>();
+		assertThat(windowFunction.scroll(this.employees, Employee.class, ALL, BY_NAME, ScrollPosition.offset(10), 2, pastTheEnd).isEmpty()).isTrue();
+		assertThat(pastTheEnd.get(5, TimeUnit.SECONDS)).isEqualTo(6L);
+	}
+
+	@Test
+	void connectionTotalCountMatchesTheFilter() {
+		this.graphQlTester.document("""
+						{ all: employees(first: 2) { totalCount edges { node { name } } }
+						  hr: employees(first: 1, filter: {department: {name: {eq: "HR"}}}) { totalCount } }""")
+				.execute()
+				.path("all.totalCount").entity(Long.class).isEqualTo(6L)
+				.path("all.edges").entityList(Object.class).hasSize(2)
+				.path("hr.totalCount").entity(Long.class).isEqualTo(2L);
+	}
+
+}
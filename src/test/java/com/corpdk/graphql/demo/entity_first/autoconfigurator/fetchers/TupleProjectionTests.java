@@ -0,0 +1,95 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "application.graphql.tuple-projection.enabled=true")
+@ActiveProfiles("test")
+class TupleProjectionTests {
+
+	private static final Sort BY_NAME = Sort.by("name");
+
+	@Autowired
+	private TupleProjection tupleProjection;
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	private GraphQlTester graphQlTester;
+
+	@BeforeEach
+	void setUp() {
+		this.graphQlTester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+	}
+
+	@Test
+	void onlyBasicAttributesAreSupported() {
+		assertThat(this.tupleProjection.supports(Employee.class, List.of("id", "name"))).isTrue();
+		assertThat(this.tupleProjection.supports(Employee.class, List.of("name", "department"))).isFalse();
+	}
+
+	@Test
+	@Transactional
+	void scrollMatchesTheRepositoryOffsetsAndHasNext() {
+		Specification<Employee> all = Specification.where(null);
+
+		Window<Map<String, Object>> first = scroll(all, ScrollPosition.offset(), 2);
+		assertThat(first.getContent()).extracting(row -> row.get("name")).containsExactly("Alice", "Bob");
+		assertThat(first.getContent()).first().satisfies(row -> assertThat(row).containsOnlyKeys("id", "name"));
+		assertThat(first.hasNext()).isTrue();
+		assertThat(first.positionAt(1)).isEqualTo(ScrollPosition.offset(1));
+
+		OffsetScrollPosition afterBob = (OffsetScrollPosition) first.positionAt(1);
+		Window<Map<String, Object>> second = scroll(all, afterBob, 2);
+		Window<Employee> expected = this.employees.findBy(all, query -> query.sortBy(BY_NAME).limit(2).scroll(afterBob));
+		assertThat(second.getContent()).extracting(row -> row.get("name"))
+				.containsExactly("Carol", "Dave")
+				.containsExactlyElementsOf(expected.getContent().stream().map(Employee::getName).toList());
+		assertThat(second.hasNext()).isEqualTo(expected.hasNext()).isTrue();
+		assertThat(second.positionAt(1)).isEqualTo(expected.positionAt(1));
+
+		Window<Map<String, Object>> last = scroll(all, (OffsetScrollPosition) second.positionAt(1), 2);
+		assertThat(last.getContent()).extracting(row -> row.get("name")).containsExactly("Erin", "Frank");
+		assertThat(last.hasNext()).isFalse();
+
+		Specification<Employee> hr = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("department").get("id"), 1L);
+		Window<Map<String, Object>> filtered = scroll(hr, ScrollPosition.offset(), 2);
+		assertThat(filtered.getContent()).extracting(row -> row.get("name")).containsExactly("Alice", "Dave");
+		assertThat(filtered.hasNext()).isFalse();
+	}
+
+	@Test
+	void scalarListsAreReadThroughTuples() {
+		this.graphQlTester.document("{ listEmployees(orderBy: [{field: name}]) { id name } }")
+				.execute()
+				.path("listEmployees[*].name").entityList(String.class)
+				.containsExactly("Alice", "Bob", "Carol", "Dave", "Erin", "Frank");
+	}
+
+	private Window<Map<String, Object>> scroll(Specification<Employee> specification, OffsetScrollPosition position, int limit) {
+		return this.tupleProjection.scroll(Employee.class, specification, List.of("id", "name"), BY_NAME, position, limit);
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.fetchers;
+
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.models.Project;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class TypedKeysetCursorStrategyTests {
+
+	private final TypedKeysetCursorStrategy strategy = new TypedKeysetCursorStrategy();
+
+	@Test
+	void keysKeepTheirTypes() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("name", "Alice");
+		keys.put("id", 42L);
+		keys.put("salary", new BigDecimal("1234.50"));
+		keys.put("hired", LocalDate.of(2024, 2, 29));
+		keys.put("updated", OffsetDateTime.parse("2024-03-01T10:15:30+01:00"));
+		keys.put("token", UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301"));
+
+		Map<String, Object> read = this.strategy.fromCursor(this.strategy.toCursor(keys));
+
+		assertThat(read).containsExactlyEntriesOf(keys);
+		assertThat(read.get("id")).isInstanceOf(Long.class);
+	}
+
+	@Test
+	void scrollPositionsRoundTripThroughBase64() {
+		CursorStrategy<ScrollPosition> cursors = JpaSpecificationDataFetcher.keysetCursorStrategy();
+		KeysetScrollPosition position = ScrollPosition.forward(Map.of("id", 7L));
+
+		assertThat(cursors.fromCursor(cursors.toCursor(position))).isEqualTo(position);
+	}
+
+	@Test
+	void typesOutsideTheAllowlistAreRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.fromCursor("""
+				{"t": ["java.util.Timer", {}]}"""));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.fromCursor("""
+				["java.util.HashMap", {"t": ["java.util.Timer", {}]}]"""));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.fromCursor("""
+				{"t": ["String", {"@class": "java.util.Timer"}]}"""));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.toCursor(Map.of("t", new Object())));
+	}
+
+	@Test
+	void nullKeysAreRejected() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("name", null);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.toCursor(keys));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.fromCursor("""
+				{"name": ["String", null]}"""));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.strategy.fromCursor("{}"));
+	}
+
+	@Test
+	void nullableSortPropertiesFollowTheMapping() {
+		FetcherMetadata<Project> projects = FetcherMetadata.resolve(TypeInformation.of(Project.class), "none");
+		FetcherMetadata<Employee> employees = FetcherMetadata.resolve(TypeInformation.of(Employee.class), "none");
+
+		assertThat(projects.isNullable("id")).isFalse();
+		assertThat(projects.isNullable("projectName")).isFalse();
+		assertThat(projects.isNullable("employee.name")).isTrue();
+		assertThat(projects.isNullable("unknown")).isTrue();
+		assertThat(employees.isNullable("department.name")).isFalse();
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.validators;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.FilterProperty;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.NumericFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.StringFilter;
+import com.corpdk.graphql.demo.entity_first.filters.DepartmentFilter;
+import com.corpdk.graphql.demo.entity_first.filters.EmployeeFilter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static graphql.util.StringKit.capitalize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilterValidatorTests {
+
+	private static ValidatorFactory validatorFactory;
+
+	private static Validator validator;
+
+	@BeforeAll
+	static void createValidator() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		validator = validatorFactory.getValidator();
+	}
+
+	@AfterAll
+	static void closeValidator() {
+		validatorFactory.close();
+	}
+
+	@Test
+	void planCoversTheDeclaredPropertiesExceptSensitiveAndNot() {
+		ValidationPlan stringPlan = ValidationPlan.of(StringFilter.class);
+		ValidationPlan employeePlan = ValidationPlan.of(EmployeeFilter.class);
+
+		assertThat(stringPlan.exclusive).extracting(FilterProperty::name)
+				.containsExactly("in", "nin", "eq", "ne", "li", "con", "sw", "ew", "len");
+		assertThat(stringPlan.nested).isEmpty();
+		assertThat(employeePlan.exclusive).extracting(FilterProperty::name)
+				.containsExactly("id", "name", "department", "projects");
+		assertThat(employeePlan.nested).extracting(FilterProperty::name)
+				.containsExactly("id", "name", "department", "projects");
+		assertThat(ValidationPlan.of(EmployeeFilter.class)).isSameAs(employeePlan);
+	}
+
+	@Test
+	void validFiltersHaveNoViolations() {
+		EmployeeFilter filter = new EmployeeFilter();
+		filter.setName(stringFilter("Alice"));
+		DepartmentFilter department = new DepartmentFilter();
+		department.setName(stringFilter("HR"));
+		filter.setDepartment(department);
+		EmployeeFilter not = new EmployeeFilter();
+		not.setName(stringFilter("Bob"));
+		filter.setOr(not);
+
+		assertThat(validator.validate(filter)).isEmpty();
+		assertThat(reflectiveViolations(filter, "")).isEmpty();
+	}
+
+	@Test
+	void violationsMatchTheReflectiveWalk() {
+		StringFilter name = stringFilter("Alice");
+		name.setIn(List.of());
+		name.setNot(stringFilter("Bob"));
+
+		StringFilter departmentName = stringFilter("HR");
+		departmentName.setNot(stringFilter("IT"));
+		DepartmentFilter department = new DepartmentFilter();
+		department.setName(departmentName);
+
+		NumericFilter<Long> id = new NumericFilter<>();
+		id.setEq(1L);
+		EmployeeFilter notEmployee = new EmployeeFilter();
+		notEmployee.setName(name);
+
+		EmployeeFilter filter = new EmployeeFilter();
+		filter.setId(id);
+		filter.setDepartment(department);
+		filter.setNot(notEmployee);
+
+		List<String> messages = validator.validate(filter).stream().map(ConstraintViolation::getMessage).toList();
+		List<String> paths = validator.validate(filter).stream().map(violation -> violation.getPropertyPath().toString()).toList();
+
+		assertThat(messages).containsExactlyInAnyOrderElementsOf(reflectiveViolations(filter, ""));
+		assertThat(messages).contains("Field 'not.name.eq' must be empty if 'not.name.not' is not null.");
+		assertThat(paths).containsExactlyInAnyOrder("id", "department", "department.name.eq", "not.name.eq");
+	}
+
+	/**
+	 * The messages the validator reported before the plans, by reflecting over the declared fields of every filter.
+	 */
+	private static List<String> reflectiveViolations(BaseFilter<?> filter, String parentPath) {
+		List<String> violations = new ArrayList<>();
+		for (Field field : filter.getClass().getDeclaredFields()) {
+			if ("sensitive".equals(field.getName())) {
+				continue;
+			}
+			Object fieldValue = read(filter, field.getName());
+			String fieldPath = parentPath.isEmpty() ? field.getName() : parentPath + "." + field.getName();
+			if (filter.getNot() != null && fieldValue != null && !isEmptyValue(fieldValue)) {
+				String notPath = parentPath.isEmpty() ? "not" : parentPath + ".not";
+				violations.add(String.format("Field '%s' must be empty if '%s' is not null.", fieldPath, notPath));
+			}
+			if (fieldValue instanceof BaseFilter<?> nestedFilter) {
+				violations.addAll(reflectiveViolations(nestedFilter, fieldPath));
+			}
+		}
+		for (String logical : List.of("and", "or", "not")) {
+			if (read(filter, logical) instanceof BaseFilter<?> nestedFilter) {
+				violations.addAll(reflectiveViolations(nestedFilter, parentPath.isEmpty() ? logical : parentPath + "." + logical));
+			}
+		}
+		return violations;
+	}
+
+	private static boolean isEmptyValue(Object value) {
+		return value instanceof List<?> list && list.isEmpty() || value instanceof String string && string.isEmpty();
+	}
+
+	private static Object read(Object filter, String name) {
+		try {
+			return filter.getClass().getMethod("get" + capitalize(name)).invoke(filter);
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static StringFilter stringFilter(String eq) {
+		StringFilter filter = new StringFilter();
+		filter.setEq(eq);
+		return filter;
+	}
+
+}
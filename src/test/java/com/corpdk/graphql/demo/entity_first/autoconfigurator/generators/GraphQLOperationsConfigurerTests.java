@@ -0,0 +1,42 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.ConfigureFetchers;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
+import graphql.language.FieldDefinition;
+import graphql.language.ObjectTypeDefinition;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GraphQLOperationsConfigurerTests {
+
+	@Autowired
+	private EntityMetamodel entityMetamodel;
+
+	@Test
+	void everyGeneratedQueryFieldIsWired() {
+		TypeDefinitionRegistry registry = new TypeDefinitionRegistry();
+		new GraphQLOperationsConfigurer(this.entityMetamodel).configure(registry);
+		ObjectTypeDefinition query = registry.getType("Query", ObjectTypeDefinition.class).orElseThrow();
+
+		Map<String, ConfigureFetchers.QueryField> queryFields = GraphQLOperationsConfigurer.queryFields(this.entityMetamodel);
+
+		assertThat(query.getFieldDefinitions()).extracting(FieldDefinition::getName)
+				.containsExactlyInAnyOrderElementsOf(queryFields.keySet());
+		assertThat(queryFields).containsEntry("employees",
+						new ConfigureFetchers.QueryField("Employee", ConfigureFetchers.FetcherKind.SCROLLABLE))
+				.containsEntry("countEmployees",
+						new ConfigureFetchers.QueryField("Employee", ConfigureFetchers.FetcherKind.COUNT))
+				.containsEntry("listEmployees",
+						new ConfigureFetchers.QueryField("Employee", ConfigureFetchers.FetcherKind.MANY));
+	}
+
+}
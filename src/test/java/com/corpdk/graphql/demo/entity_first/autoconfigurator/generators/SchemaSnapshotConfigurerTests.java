@@ -0,0 +1,87 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.generators;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.EntityMetamodel;
+import graphql.language.FieldDefinition;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.TypeName;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.execution.TypeDefinitionConfigurer;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaSnapshotConfigurerTests {
+
+	@Autowired
+	private EntityMetamodel entityMetamodel;
+
+	@TempDir
+	private Path directory;
+
+	private final AtomicInteger generated = new AtomicInteger();
+
+	private final TypeDefinitionConfigurer configurer = registry -> {
+		this.generated.incrementAndGet();
+		registry.add(ObjectTypeDefinition.newObjectTypeDefinition().name("Snapshotted")
+				.fieldDefinition(new FieldDefinition("name", new TypeName("String"))).build());
+	};
+
+	@Test
+	void snapshotsAreKeptInAnOwnerOnlyDirectory() throws IOException {
+		Path snapshots = this.directory.resolve("snapshots");
+
+		configure(snapshots);
+		TypeDefinitionRegistry registry = configure(snapshots);
+
+		assertThat(this.generated).hasValue(1);
+		assertThat(registry.getType("Snapshotted")).isPresent();
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(snapshots))).isEqualTo("rwx------");
+	}
+
+	@Test
+	void directoryWritableByOthersIsNotUsed() throws IOException {
+		Path snapshots = this.directory.resolve("snapshots");
+		configure(snapshots);
+		Files.setPosixFilePermissions(snapshots, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+		TypeDefinitionRegistry registry = configure(snapshots);
+
+		assertThat(this.generated).hasValue(2);
+		assertThat(registry.getType("Snapshotted")).isPresent();
+	}
+
+	@Test
+	void snapshotWritableByOthersIsNotLoaded() throws IOException {
+		Path snapshots = this.directory.resolve("snapshots");
+		configure(snapshots);
+		try (var files = Files.list(snapshots)) {
+			for (Path snapshot : files.toList()) {
+				Files.setPosixFilePermissions(snapshot, PosixFilePermissions.fromString("rw-rw-rw-"));
+			}
+		}
+
+		configure(snapshots);
+
+		assertThat(this.generated).hasValue(2);
+	}
+
+	private TypeDefinitionRegistry configure(Path snapshots) {
+		TypeDefinitionRegistry registry = new TypeDefinitionRegistry();
+		new SchemaSnapshotConfigurer(this.entityMetamodel, snapshots, List.of(this.configurer)).configure(registry);
+		return registry;
+	}
+
+}
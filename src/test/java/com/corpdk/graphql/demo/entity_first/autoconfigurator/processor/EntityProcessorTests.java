@@ -0,0 +1,81 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityProcessorTests {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void incrementalCompileKeepsTheEntitiesItDidNotSee() throws IOException {
+		Path author = source("Author", "String name;");
+		Path book = source("Book", "String title;");
+		Path classes = Files.createDirectories(this.directory.resolve("classes"));
+		compile(classes, "-proc:none", author, book);
+		compile(classes, "-proc:only", author, book);
+		assertThat(schema(classes)).contains("type Author {", "type Book {");
+
+		Files.writeString(book, Files.readString(book).replace("String title;", "String title;\n    Integer pages;"));
+		compile(classes, "-proc:only", book);
+
+		assertThat(schema(classes)).contains("type Author {", "type Book {", "pages: Int");
+		assertThat(Files.readAllLines(classes.resolve(EntityProcessor.ENTITIES_LOCATION)))
+				.containsExactly("library.Author", "library.Book");
+	}
+
+	@Test
+	void removedEntitiesAreDropped() throws IOException {
+		Path author = source("Author", "String name;");
+		Path book = source("Book", "String title;");
+		Path classes = Files.createDirectories(this.directory.resolve("classes"));
+		compile(classes, "-proc:only", author, book);
+
+		compile(classes, "-proc:only", author);
+
+		assertThat(schema(classes)).contains("type Author {").doesNotContain("type Book {");
+	}
+
+	private Path source(String name, String fields) throws IOException {
+		Path file = this.directory.resolve("src/library/" + name + ".java");
+		Files.createDirectories(file.getParent());
+		return Files.writeString(file, """
+				package library;
+
+				@jakarta.persistence.Entity
+				public class %s {
+				    @jakarta.persistence.Id
+				    Long id;
+				    %s
+				}
+				""".formatted(name, fields));
+	}
+
+	private void compile(Path classes, String proc, Path... sources) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		List<String> arguments = new ArrayList<>(List.of(proc, "-d", classes.toString(),
+				"-s", this.directory.resolve("generated").toString(),
+				"-classpath", classes + System.getProperty("path.separator") + System.getProperty("java.class.path"),
+				"-processor", EntityProcessor.class.getName()));
+		for (Path source : sources) {
+			arguments.add(source.toString());
+		}
+		assertThat(compiler.run(null, null, null, arguments.toArray(new String[0]))).isZero();
+	}
+
+	private static String schema(Path classes) throws IOException {
+		return Files.readString(classes.resolve(EntityProcessor.SCHEMA_LOCATION));
+	}
+
+}
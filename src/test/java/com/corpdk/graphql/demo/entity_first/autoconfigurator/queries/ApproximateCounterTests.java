@@ -0,0 +1,98 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import com.corpdk.graphql.demo.entity_first.models.Department;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ApproximateCounterTests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@Autowired
+	private ExecutionGraphQlService graphQlService;
+
+	@Test
+	void smallSamplesAreCountedExactly() {
+		ApproximateCounter counter = new ApproximateCounter(this.entityManagerFactory, 2);
+
+		ApproximateCounter.Estimate estimate = counter.estimate(this.employees, Employee.class, nameStartingWith("D"), true);
+
+		assertThat(estimate.method()).isEqualTo("exact");
+		assertThat(estimate.count()).isEqualTo(1);
+		assertThat(estimate.errorBound()).isZero();
+		assertThat(estimate.confidence()).isEqualTo(1.0);
+	}
+
+	@Test
+	void tableStatisticsHaveNoErrorBoundOrConfidence() {
+		ApproximateCounter counter = new ApproximateCounter(this.entityManagerFactory, 2);
+
+		ApproximateCounter.Estimate estimate = counter.estimate(this.employees, Employee.class, Specification.where(null), false);
+
+		assertThat(estimate.method()).isEqualTo("statistics");
+		assertThat(estimate.count()).isNotNegative();
+		assertThat(estimate.errorBound()).isNull();
+		assertThat(estimate.confidence()).isNull();
+	}
+
+	@Test
+	void filteredCountIsEstimatedFromARandomSample() {
+		Department department = this.entityManager.find(Department.class, 1L);
+		for (int i = 0; i < 2000; i++) {
+			Employee employee = new Employee();
+			employee.setName(((i % 4 == 0) ? "Sampled " : "Other ") + i);
+			employee.setDepartment(department);
+			this.entityManager.persist(employee);
+		}
+		this.entityManager.flush();
+		ApproximateCounter counter = new ApproximateCounter(this.entityManagerFactory, 400);
+
+		ApproximateCounter.Estimate estimate = counter.estimate(this.employees, Employee.class, nameStartingWith("Sampled"), true);
+
+		assertThat(estimate.method()).isEqualTo("sample");
+		assertThat(estimate.errorBound()).isPositive();
+		assertThat(estimate.confidence()).isEqualTo(0.95);
+		assertThat(estimate.count()).isBetween(500 - 3 * estimate.errorBound(), 500 + 3 * estimate.errorBound());
+	}
+
+	@Test
+	void countEstimatesLeaveOutTheBoundOfStatistics() {
+		ExecutionGraphQlServiceTester.create(this.graphQlService)
+				.document("{ all: countEmployees(approximate: true) some: countEmployees(approximate: true, filter: {name: {sw: \"D\"}}) }")
+				.execute()
+				.path("some").entity(Long.class).isEqualTo(1L)
+				.path("$.extensions.countEstimates.all.method").entity(String.class).isEqualTo("statistics")
+				.path("$.extensions.countEstimates.all.errorBound").pathDoesNotExist()
+				.path("$.extensions.countEstimates.all.confidence").pathDoesNotExist()
+				.path("$.extensions.countEstimates.some.method").entity(String.class).isEqualTo("exact")
+				.path("$.extensions.countEstimates.some.errorBound").entity(Long.class).isEqualTo(0L)
+				.path("$.extensions.countEstimates.some.confidence").entity(Double.class).isEqualTo(1.0);
+	}
+
+	private static Specification<Employee> nameStartingWith(String prefix) {
+		return (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("name"), prefix + "%");
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.StringFilter;
+import com.corpdk.graphql.demo.entity_first.filters.EmployeeFilter;
+import com.corpdk.graphql.demo.entity_first.models.Department;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FilterCountCacheTests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void countsAreCachedUntilInvalidated() {
+		FilterCountCache cache = newCache(Duration.ofMinutes(1), Duration.ZERO, 16);
+		FilterFingerprint fingerprint = FilterFingerprint.of(Employee.class, nameStartingWith("A"));
+		AtomicLong queries = new AtomicLong();
+
+		assertThat(cache.get(Employee.class, fingerprint, () -> 10 + queries.getAndIncrement())).isEqualTo(10);
+		assertThat(cache.get(Employee.class, fingerprint, () -> 10 + queries.getAndIncrement())).isEqualTo(10);
+		cache.invalidate(Department.class);
+		assertThat(cache.get(Employee.class, fingerprint, () -> 10 + queries.getAndIncrement())).isEqualTo(10);
+		cache.invalidate(Employee.class);
+		assertThat(cache.get(Employee.class, fingerprint, () -> 10 + queries.getAndIncrement())).isEqualTo(11);
+
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getInvalidationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void countInvalidatedWhileQueriedIsNotKept() {
+		FilterCountCache cache = newCache(Duration.ofMinutes(1), Duration.ZERO, 16);
+		FilterFingerprint fingerprint = FilterFingerprint.of(Employee.class, null);
+
+		assertThat(cache.get(Employee.class, fingerprint, () -> {
+			cache.invalidate(Employee.class);
+			return 1;
+		})).isEqualTo(1);
+		assertThat(cache.get(Employee.class, fingerprint, () -> 2)).isEqualTo(2);
+		assertThat(cache.get(Employee.class, fingerprint, () -> 3)).isEqualTo(2);
+	}
+
+	@Test
+	void staleCountIsServedWhileRefreshed() throws InterruptedException {
+		Queue<Runnable> refreshes = new ConcurrentLinkedQueue<>();
+		FilterCountCache cache = new FilterCountCache(this.entityManagerFactory.getMetamodel(), Duration.ofMillis(50),
+				Duration.ofMinutes(1), 16, refreshes::add);
+		FilterFingerprint fingerprint = FilterFingerprint.of(Employee.class, null);
+		AtomicLong count = new AtomicLong(1);
+
+		assertThat(cache.get(Employee.class, fingerprint, count::get)).isEqualTo(1);
+		count.set(2);
+		Thread.sleep(100);
+
+		assertThat(cache.get(Employee.class, fingerprint, () -> -1)).isEqualTo(1);
+		assertThat(cache.getStaleHitCount()).isEqualTo(1);
+		refreshes.forEach(Runnable::run);
+		assertThat(cache.get(Employee.class, fingerprint, () -> -1)).isEqualTo(2);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void sizeIsBounded() {
+		FilterCountCache cache = newCache(Duration.ofMinutes(1), Duration.ZERO, 2);
+		for (String prefix : new String[]{"A", "B", "C", "D", "E"}) {
+			cache.get(Employee.class, FilterFingerprint.of(Employee.class, nameStartingWith(prefix)), () -> 1);
+		}
+
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(cache.size()).isLessThanOrEqualTo(2));
+	}
+
+	private FilterCountCache newCache(Duration timeToLive, Duration staleWhileRevalidate, int maxSize) {
+		return new FilterCountCache(this.entityManagerFactory.getMetamodel(), timeToLive, staleWhileRevalidate, maxSize,
+				Runnable::run);
+	}
+
+	private static EmployeeFilter nameStartingWith(String prefix) {
+		StringFilter name = new StringFilter();
+		name.setSw(prefix);
+		EmployeeFilter filter = new EmployeeFilter();
+		filter.setName(name);
+		return filter;
+	}
+
+}
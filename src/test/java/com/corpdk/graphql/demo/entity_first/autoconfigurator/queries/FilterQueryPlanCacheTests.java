@@ -0,0 +1,70 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.queries;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.StringFilter;
+import com.corpdk.graphql.demo.entity_first.filters.EmployeeFilter;
+import com.corpdk.graphql.demo.entity_first.models.Department;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.models.Project;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FilterQueryPlanCacheTests {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void filtersOfTheSameShapeShareAPlan() {
+		FilterQueryPlanCache cache = new FilterQueryPlanCache(this.entityManager, 16);
+
+		BoundJpqlQuery alice = cache.bind(Employee.class, nameStartingWith("A"));
+		BoundJpqlQuery bob = cache.bind(Employee.class, nameStartingWith("B"));
+
+		assertThat(bob.plan()).isSameAs(alice.plan());
+		assertThat(bob.parameters()).isNotEqualTo(alice.parameters());
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(bob.createQuery(this.entityManager, Employee.class, Sort.by("name")).getResultList())
+				.extracting(Employee::getName).containsExactly("Bob");
+	}
+
+	@Test
+	void sizeIsBounded() {
+		FilterQueryPlanCache cache = new FilterQueryPlanCache(this.entityManager, 2);
+
+		for (int round = 0; round < 3; round++) {
+			cache.bind(Employee.class, null);
+			cache.bind(Department.class, null);
+			cache.bind(Project.class, null);
+			cache.bind(Employee.class, nameStartingWith("A"));
+		}
+
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+			assertThat(cache.size()).isLessThanOrEqualTo(2);
+			assertThat(cache.getEvictionCount()).isPositive();
+		});
+		assertThat(cache.bind(Project.class, null).createCountQuery(this.entityManager).getSingleResult()).isEqualTo(4);
+	}
+
+	private static EmployeeFilter nameStartingWith(String prefix) {
+		StringFilter name = new StringFilter();
+		name.setSw(prefix);
+		EmployeeFilter filter = new EmployeeFilter();
+		filter.setName(name);
+		return filter;
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.StringFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.queries.FilterQueryPlanCache;
+import com.corpdk.graphql.demo.entity_first.filters.EmployeeFilter;
+import com.corpdk.graphql.demo.entity_first.models.Department;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FilterMatcherTests {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@BeforeEach
+	void setUp() {
+		Department department = this.entityManager.find(Department.class, 1L);
+		for (String name : List.of("A_b%c", "Ab\\c")) {
+			Employee employee = new Employee();
+			employee.setName(name);
+			employee.setDepartment(department);
+			this.entityManager.persist(employee);
+		}
+		this.entityManager.flush();
+	}
+
+	@Test
+	void wildcardsMatchLiterallyInMemoryAndInQueries() throws Exception {
+		assertAllMatch(name -> name.setSw("A_"), "A_b%c");
+		assertAllMatch(name -> name.setCon("%"), "A_b%c");
+		assertAllMatch(name -> name.setEw("_"));
+		assertAllMatch(name -> name.setCon("b\\c"), "Ab\\c");
+		assertAllMatch(name -> {
+			name.setSw("a");
+			name.setSensitive(false);
+		}, "A_b%c", "Ab\\c", "Alice");
+	}
+
+	private void assertAllMatch(Consumer<StringFilter> nameFilter, String... expected) throws Exception {
+		StringFilter name = new StringFilter();
+		nameFilter.accept(name);
+		EmployeeFilter filter = new EmployeeFilter();
+		filter.setName(name);
+
+		Specification<Employee> specification = SpecificationGenerator.buildSpecification(filter);
+		List<String> queried = this.employees.findAll(specification, Sort.by("name")).stream().map(Employee::getName).toList();
+		List<String> planned = new FilterQueryPlanCache(this.entityManager, 4).bind(Employee.class, filter)
+				.createQuery(this.entityManager, Employee.class, Sort.by("name")).getResultList().stream().map(Employee::getName).toList();
+		FilterMatcher matcher = FilterMatcher.of(filter);
+		List<String> matched = this.employees.findAll(Sort.by("name")).stream().filter(matcher::matches).map(Employee::getName).toList();
+
+		assertThat(queried).containsExactly(expected);
+		assertThat(planned).containsExactly(expected);
+		assertThat(matched).containsExactly(expected);
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.corpdk.graphql.demo.entity_first.autoconfigurator.specifications;
+
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.BaseFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.FilterProperties;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.FilterProperty;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.NumericFilter;
+import com.corpdk.graphql.demo.entity_first.autoconfigurator.filters.StringFilter;
+import com.corpdk.graphql.demo.entity_first.filters.DepartmentFilter;
+import com.corpdk.graphql.demo.entity_first.filters.EmployeeFilter;
+import com.corpdk.graphql.demo.entity_first.filters.ProjectFilter;
+import com.corpdk.graphql.demo.entity_first.models.Employee;
+import com.corpdk.graphql.demo.entity_first.repositories.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+
+import static graphql.util.StringKit.capitalize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SpecificationPlanTests {
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@Test
+	void generatedAccessPlanMatchesDeclaredGetters() throws Exception {
+		EmployeeFilter filter = employeeFilter();
+		List<FilterProperty> properties = FilterProperties.of(EmployeeFilter.class);
+		List<Field> fields = Arrays.stream(EmployeeFilter.class.getDeclaredFields()).toList();
+
+		assertThat(properties).extracting(FilterProperty::name).containsExactlyElementsOf(fields.stream().map(Field::getName).toList());
+		assertThat(properties).extracting(FilterProperty::type).containsExactlyElementsOf(fields.stream().map(Field::getType).toList());
+		for (FilterProperty property : properties) {
+			Object expected = EmployeeFilter.class.getMethod("get" + capitalize(property.name())).invoke(filter);
+			assertThat(property.read(filter)).isSameAs(expected);
+		}
+		assertThat(FilterProperties.of(EmployeeFilter.class)).isSameAs(properties);
+	}
+
+	@Test
+	void plannedSpecificationsMatchTheReflectiveWalk() throws Exception {
+		EmployeeFilter nested = new EmployeeFilter();
+		nested.setDepartment(departmentNamed("IT"));
+		nested.setProjects(projectNamed("Backup"));
+
+		EmployeeFilter or = new EmployeeFilter();
+		or.setName(stringFilter("Alice"));
+		EmployeeFilter logical = new EmployeeFilter();
+		logical.setDepartment(departmentNamed("IT"));
+		logical.setOr(or);
+		EmployeeFilter not = new EmployeeFilter();
+		not.setName(stringFilter("Bob"));
+		logical.setNot(not);
+
+		EmployeeFilter deep = new EmployeeFilter();
+		DepartmentFilter department = new DepartmentFilter();
+		EmployeeFilter colleagues = new EmployeeFilter();
+		colleagues.setProjects(projectNamed("Hiring"));
+		department.setEmployees(colleagues);
+		deep.setDepartment(department);
+
+		assertSameRows(nested, "Bob");
+		assertSameRows(logical, "Alice", "Carol", "Erin", "Frank");
+		assertSameRows(deep, "Alice", "Dave");
+		assertSameRows(employeeFilter(), "Bob");
+		// The second walk reuses the cached root and nested plans
+		assertSameRows(nested, "Bob");
+	}
+
+	private void assertSameRows(EmployeeFilter filter, String... expected) throws Exception {
+		Specification<Employee> planned = SpecificationGenerator.buildSpecification(filter);
+		Specification<Employee> reflective = reflectiveSpecification(filter, null);
+
+		List<String> plannedNames = names(planned);
+		assertThat(plannedNames).containsExactly(expected);
+		assertThat(plannedNames).isEqualTo(names(reflective));
+	}
+
+	private List<String> names(Specification<Employee> specification) {
+		return this.employees.findAll(specification, Sort.by("name")).stream().map(Employee::getName).distinct().toList();
+	}
+
+	/**
+	 * The per-request walk {@link SpecificationGenerator} did before the plans: reflect over the declared fields and
+	 * call each getter by name.
+	 */
+	private static <E> Specification<E> reflectiveSpecification(BaseFilter<?> filter, String parentPath) throws Exception {
+		Specification<E> resultSpec = Specification.where(null);
+		for (Field field : filter.getClass().getDeclaredFields()) {
+			Object fieldValue = filter.getClass().getMethod("get" + capitalize(field.getName())).invoke(filter);
+			if (fieldValue == null) {
+				continue;
+			}
+			String fieldName = parentPath != null ? parentPath + "." + field.getName() : field.getName();
+			resultSpec = fieldValue instanceof BaseFilter<?> nested && nested.getClass().getPackage() == EmployeeFilter.class.getPackage()
+					? resultSpec.and(reflectiveSpecification(nested, fieldName))
+					: SpecificationGenerator.callRequiredSpecificationCreator(resultSpec, fieldValue, fieldName);
+		}
+		if (filter.getAnd() instanceof BaseFilter<?> and) {
+			resultSpec = resultSpec.and(reflectiveSpecification(and, parentPath));
+		}
+		if (filter.getOr() instanceof BaseFilter<?> or) {
+			resultSpec = resultSpec.or(reflectiveSpecification(or, parentPath));
+		}
+		if (filter.getNot() instanceof BaseFilter<?> not) {
+			resultSpec = resultSpec.and(Specification.not(reflectiveSpecification(not, parentPath)));
+		}
+		return resultSpec;
+	}
+
+	private static EmployeeFilter employeeFilter() {
+		NumericFilter<Long> id = new NumericFilter<>();
+		id.setIn(List.of(1L, 2L, 3L));
+		EmployeeFilter filter = new EmployeeFilter();
+		filter.setId(id);
+		filter.setName(stringFilter("Bob"));
+		filter.setDepartment(departmentNamed("IT"));
+		return filter;
+	}
+
+	private static DepartmentFilter departmentNamed(String name) {
+		DepartmentFilter department = new DepartmentFilter();
+		department.setName(stringFilter(name));
+		return department;
+	}
+
+	private static ProjectFilter projectNamed(String name) {
+		ProjectFilter project = new ProjectFilter();
+		project.setProjectName(stringFilter(name));
+		return project;
+	}
+
+	private static StringFilter stringFilter(String eq) {
+		StringFilter filter = new StringFilter();
+		filter.setEq(eq);
+		return filter;
+	}
+
+}
@@ -0,0 +1,14 @@
+INSERT INTO department (name) VALUES ('HR');
+INSERT INTO department (name) VALUES ('IT');
+
+INSERT INTO employee (name, department_id) VALUES ('Alice', 1);
+INSERT INTO employee (name, department_id) VALUES ('Bob', 2);
+INSERT INTO employee (name, department_id) VALUES ('Carol', 2);
+INSERT INTO employee (name, department_id) VALUES ('Dave', 1);
+INSERT INTO employee (name, department_id) VALUES ('Erin', 2);
+INSERT INTO employee (name, department_id) VALUES ('Frank', 2);
+
+INSERT INTO project (project_name, employee_id) VALUES ('Payroll', 1);
+INSERT INTO project (project_name, employee_id) VALUES ('Intranet', 2);
+INSERT INTO project (project_name, employee_id) VALUES ('Backup', 2);
+INSERT INTO project (project_name, employee_id) VALUES ('Hiring', 4);